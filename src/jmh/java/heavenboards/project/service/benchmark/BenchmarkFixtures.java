@@ -0,0 +1,196 @@
+package heavenboards.project.service.benchmark;
+
+import heavenboards.project.service.project.cache.ProjectCacheInvalidator;
+import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.domain.ProjectRepository;
+import heavenboards.project.service.project.domain.ProjectUserEntity;
+import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.mapping.ProjectMapper;
+import heavenboards.project.service.project.mapping.ProjectMapperImpl;
+import heavenboards.project.service.project.membership.MembershipIndexProperties;
+import heavenboards.project.service.project.membership.ProjectMembershipIndex;
+import heavenboards.project.service.project.service.ProjectMembershipService;
+import heavenboards.project.service.user.cache.UserCache;
+import heavenboards.project.service.user.config.UserApiProperties;
+import heavenboards.project.service.user.service.UserBatchLoader;
+import heavenboards.project.service.user.service.UserDegradation;
+import heavenboards.project.service.user.service.UserResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.user.UserTo;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Синтетические данные и заглушки в памяти для бенчмарков.
+ * Сервис пользователей и репозитории заменены заглушками, поэтому бенчмарки
+ * измеряют только маппинг и сравнение участников без сети и базы.
+ */
+final class BenchmarkFixtures {
+    /**
+     * Utility-класс.
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Создать пользователей со случайными идентификаторами.
+     *
+     * @param count - количество пользователей
+     * @return пользователи по идентификатору в порядке создания
+     */
+    static Map<UUID, UserTo> users(final int count) {
+        Map<UUID, UserTo> users = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            users.put(id, UserTo.builder()
+                .id(id)
+                .username("user-" + i)
+                .build());
+        }
+
+        return users;
+    }
+
+    /**
+     * Создать сохраненный проект с участниками.
+     *
+     * @param userIds - идентификаторы участников
+     * @return проект
+     */
+    static ProjectEntity project(final Collection<UUID> userIds) {
+        ProjectEntity project = ProjectEntity.builder()
+            .id(UUID.randomUUID())
+            .name("benchmark")
+            .positionWeight(1000)
+            .version(0)
+            .build();
+        project.setUsers(projectUsers(project, userIds));
+        return project;
+    }
+
+    /**
+     * Создать записи участников проекта.
+     *
+     * @param project - проект
+     * @param userIds - идентификаторы участников
+     * @return записи участников
+     */
+    static List<ProjectUserEntity> projectUsers(final ProjectEntity project,
+                                                final Collection<UUID> userIds) {
+        List<ProjectUserEntity> projectUsers = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            projectUsers.add(ProjectUserEntity.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .project(project)
+                .build());
+        }
+
+        return projectUsers;
+    }
+
+    /**
+     * Маппер проектов с заглушками сервиса пользователей и репозиториев.
+     *
+     * @param users - пользователи, известные заглушке сервиса пользователей
+     * @return маппер проектов
+     */
+    static ProjectMapper projectMapper(final Map<UUID, UserTo> users) {
+        ProjectMapperImpl mapper = new ProjectMapperImpl();
+        mapper.setUserResolver(userResolver(users));
+        mapper.setProjectMembershipService(membershipService());
+        return mapper;
+    }
+
+    /**
+     * Сервис изменения участников с заглушками репозиториев.
+     * Индекс участников выключен, сброс кеша второго уровня ничего не делает.
+     *
+     * @return сервис изменения участников
+     */
+    static ProjectMembershipService membershipService() {
+        ProjectUserRepository projectUserRepository = stub(ProjectUserRepository.class,
+            (method, args) -> switch (method.getName()) {
+                case "deleteAllByIdInBatch" -> null;
+                case "saveAll" -> args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        MembershipIndexProperties indexProperties = new MembershipIndexProperties();
+        indexProperties.setEnabled(false);
+
+        return new ProjectMembershipService(
+            projectUserRepository,
+            stub(ProjectRepository.class, (method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            }),
+            new ProjectMembershipIndex(indexProperties, null, null, projectUserRepository,
+                null),
+            new ProjectCacheInvalidator(null, null) {
+                @Override
+                public void evictProjectUsersAfterCommit(final UUID projectId) {
+                }
+            });
+    }
+
+    /**
+     * Получение пользователей из заглушки сервиса пользователей без кеша.
+     * Загрузчик вызывает заглушку напрямую в текущем потоке: ограничитель с передачей
+     * вызова в другой поток и таймаутом измерялся бы вместе с маппингом.
+     *
+     * @param users - пользователи, известные заглушке
+     * @return получение пользователей
+     */
+    private static UserResolver userResolver(final Map<UUID, UserTo> users) {
+        UserApiProperties properties = new UserApiProperties();
+        properties.getCache().setEnabled(false);
+        UserApi userApi = stub(UserApi.class, (method, args) -> switch (method.getName()) {
+            case "findUsersByIds" -> ((Collection<?>) args[0]).stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserBatchLoader loader = new UserBatchLoader(userApi, null, properties, meterRegistry) {
+            @Override
+            public Map<UUID, UserTo> load(final Set<UUID> ids) {
+                Map<UUID, UserTo> loaded = new HashMap<>(ids.size());
+                userApi.findUsersByIds(ids).forEach(user -> loaded.put(user.getId(), user));
+                return loaded;
+            }
+        };
+        return new UserResolver(new UserCache(properties), loader,
+            new UserDegradation(meterRegistry));
+    }
+
+    /**
+     * Заглушка интерфейса в памяти.
+     *
+     * @param type    - интерфейс
+     * @param handler - обработчик вызовов, кроме методов Object
+     * @param <T>     - тип интерфейса
+     * @return заглушка
+     */
+    private static <T> T stub(final Class<T> type,
+                              final BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> handler.apply(method, args);
+            }));
+    }
+}
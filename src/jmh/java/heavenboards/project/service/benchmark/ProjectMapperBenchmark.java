@@ -0,0 +1,101 @@
+package heavenboards.project.service.benchmark;
+
+import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.mapping.ProjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Бенчмарк маппинга проекта с участниками в обе стороны.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectMapperBenchmark {
+    /**
+     * Количество участников проекта.
+     */
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int members;
+
+    /**
+     * Маппер проектов.
+     */
+    private ProjectMapper projectMapper;
+
+    /**
+     * Сохраненный проект с участниками.
+     */
+    private ProjectEntity project;
+
+    /**
+     * To-модель проекта, в которой половина участников заменена новыми.
+     */
+    private ProjectTo updatedProject;
+
+    /**
+     * Подготовить проект и его измененную to-модель.
+     */
+    @Setup
+    public void setUp() {
+        Map<UUID, UserTo> currentUsers = BenchmarkFixtures.users(members);
+        Map<UUID, UserTo> addedUsers = BenchmarkFixtures.users(members / 2);
+
+        List<UserTo> updatedUsers = currentUsers.values().stream()
+            .limit(members - addedUsers.size())
+            .collect(Collectors.toCollection(ArrayList::new));
+        updatedUsers.addAll(addedUsers.values());
+
+        Map<UUID, UserTo> knownUsers = new HashMap<>(currentUsers);
+        knownUsers.putAll(addedUsers);
+        projectMapper = BenchmarkFixtures.projectMapper(knownUsers);
+        project = BenchmarkFixtures.project(currentUsers.keySet());
+        updatedProject = ProjectTo.builder()
+            .id(project.getId())
+            .name("benchmark updated")
+            .positionWeight(2000)
+            .users(updatedUsers)
+            .build();
+    }
+
+    /**
+     * Маппинг проекта с участниками из entity в to.
+     *
+     * @return to-модель проекта
+     */
+    @Benchmark
+    public ProjectTo mapFromEntity() {
+        return projectMapper.mapFromEntity(new ProjectTo(), project);
+    }
+
+    /**
+     * Маппинг to в entity со сравнением участников.
+     * Entity создается заново, потому что маппинг заменяет ее список участников.
+     *
+     * @return entity проекта
+     */
+    @Benchmark
+    public ProjectEntity mapFromTo() {
+        ProjectEntity entity = project.toBuilder().build();
+        return projectMapper.mapFromTo(entity, updatedProject);
+    }
+}
@@ -0,0 +1,90 @@
+package heavenboards.project.service.benchmark;
+
+import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.domain.ProjectUserEntity;
+import heavenboards.project.service.project.service.ProjectMembershipService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Бенчмарк сравнения участников проекта с новым набором пользователей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectMembershipBenchmark {
+    /**
+     * Количество участников проекта.
+     */
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int members;
+
+    /**
+     * Сервис изменения участников проекта.
+     */
+    private ProjectMembershipService membershipService;
+
+    /**
+     * Сохраненный проект с участниками.
+     */
+    private ProjectEntity project;
+
+    /**
+     * Текущие участники проекта.
+     */
+    private List<UUID> currentUserIds;
+
+    /**
+     * Участники, у которых половина текущих заменена новыми.
+     */
+    private List<UUID> halfReplacedUserIds;
+
+    /**
+     * Подготовить проект и наборы участников.
+     */
+    @Setup
+    public void setUp() {
+        membershipService = BenchmarkFixtures.membershipService();
+        currentUserIds = new ArrayList<>(BenchmarkFixtures.users(members).keySet());
+        project = BenchmarkFixtures.project(currentUserIds);
+
+        List<UUID> addedUserIds = new ArrayList<>(BenchmarkFixtures.users(members / 2).keySet());
+        halfReplacedUserIds = new ArrayList<>(
+            currentUserIds.subList(0, members - addedUserIds.size()));
+        halfReplacedUserIds.addAll(addedUserIds);
+    }
+
+    /**
+     * Сравнение с тем же набором участников.
+     *
+     * @return участники проекта после изменения
+     */
+    @Benchmark
+    public List<ProjectUserEntity> syncUnchanged() {
+        return membershipService.syncProjectUsers(project, currentUserIds);
+    }
+
+    /**
+     * Сравнение с набором, в котором половина участников заменена.
+     *
+     * @return участники проекта после изменения
+     */
+    @Benchmark
+    public List<ProjectUserEntity> syncHalfReplaced() {
+        return membershipService.syncProjectUsers(project, halfReplacedUserIds);
+    }
+}
@@ -0,0 +1,138 @@
+package heavenboards.project.service.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Бенчмарк сериализации списка проектов с участниками в JSON, Smile и CBOR.
+ * Размер тела в байтах выводится в лог перед измерениями каждого набора параметров.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectSerializationBenchmark {
+    /**
+     * Количество проектов в списке, как в ответе со всеми проектами пользователя.
+     */
+    private static final int PROJECTS = 50;
+
+    /**
+     * Тип списка проектов для чтения.
+     */
+    private static final TypeReference<List<ProjectTo>> PROJECT_LIST = new TypeReference<>() {
+    };
+
+    /**
+     * Формат тела.
+     */
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    /**
+     * Количество участников каждого проекта.
+     */
+    @Param({"1", "10", "100"})
+    private int members;
+
+    /**
+     * ObjectMapper выбранного формата.
+     */
+    private ObjectMapper objectMapper;
+
+    /**
+     * Список проектов с участниками.
+     */
+    private List<ProjectTo> projects;
+
+    /**
+     * Сериализованный список проектов.
+     */
+    private byte[] payload;
+
+    /**
+     * Подготовить проекты и их сериализованный вид.
+     *
+     * @throws IOException - ошибка сериализации
+     */
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> new JsonMapper();
+            case "smile" -> new SmileMapper();
+            case "cbor" -> new CBORMapper();
+            default -> throw new IllegalArgumentException("Неизвестный формат " + format);
+        };
+
+        projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(ProjectTo.builder()
+                .id(UUID.randomUUID())
+                .name("benchmark project " + i)
+                .positionWeight((i + 1) * 1000)
+                .users(users())
+                .build());
+        }
+        payload = objectMapper.writeValueAsBytes(projects);
+        System.out.printf("%n%s, %d участников: %d байт%n", format, members, payload.length);
+    }
+
+    /**
+     * Сериализация списка проектов.
+     *
+     * @return тело ответа
+     * @throws IOException - ошибка сериализации
+     */
+    @Benchmark
+    public byte[] write() throws IOException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    /**
+     * Десериализация списка проектов.
+     *
+     * @return список проектов
+     * @throws IOException - ошибка десериализации
+     */
+    @Benchmark
+    public List<ProjectTo> read() throws IOException {
+        return objectMapper.readValue(payload, PROJECT_LIST);
+    }
+
+    /**
+     * Участники проекта с заполненными данными пользователя.
+     *
+     * @return участники
+     */
+    private List<UserTo> users() {
+        return BenchmarkFixtures.users(members).values().stream()
+            .map(user -> UserTo.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .firstName("Имя " + user.getUsername())
+                .lastName("Фамилия " + user.getUsername())
+                .build())
+            .toList();
+    }
+}
@@ -0,0 +1,98 @@
+package heavenboards.project.service.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки и ошибки операций нагрузочного прогона.
+ */
+final class LatencyReport {
+    /**
+     * Максимальная учитываемая задержка.
+     */
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Задержки успешных запросов по операциям, в наносекундах.
+     */
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Ошибки по операциям.
+     */
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Пустой отчет.
+     */
+    LatencyReport() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Учесть успешный запрос.
+     *
+     * @param operation    - операция
+     * @param latencyNanos - задержка в наносекундах
+     */
+    void recordSuccess(final LoadOperation operation, final long latencyNanos) {
+        latencies.get(operation).recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+    }
+
+    /**
+     * Учесть неуспешный запрос.
+     *
+     * @param operation - операция
+     */
+    void recordError(final LoadOperation operation) {
+        errors.get(operation).increment();
+    }
+
+    /**
+     * Напечатать пропускную способность и перцентили задержек.
+     *
+     * @param out      - куда печатать
+     * @param duration - длительность замера
+     */
+    void print(final PrintStream out, final Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf("%-20s %10s %8s %10s %10s %10s %10s%n",
+            "operation", "requests", "errors", "rps", "p50 ms", "p99 ms", "p999 ms");
+        long totalRequests = 0;
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long requests = histogram.getTotalCount() + errors.get(operation).sum();
+            totalRequests += requests;
+            out.printf("%-20s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                operation.getKey(),
+                requests,
+                errors.get(operation).sum(),
+                requests / seconds,
+                millis(histogram, 50),
+                millis(histogram, 99),
+                millis(histogram, 99.9));
+        }
+        out.printf("%-20s %10d %8s %10.1f%n", "total", totalRequests, "", totalRequests / seconds);
+    }
+
+    /**
+     * Перцентиль задержки в миллисекундах.
+     *
+     * @param histogram  - задержки в наносекундах
+     * @param percentile - перцентиль
+     * @return задержка в миллисекундах
+     */
+    private static double millis(final Histogram histogram, final double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package heavenboards.project.service.load;
+
+/**
+ * Операции нагрузочного прогона.
+ */
+enum LoadOperation {
+    /**
+     * Получение всех проектов пользователя.
+     */
+    FIND_USER_PROJECTS("find-user-projects", 50),
+
+    /**
+     * Получение проекта по идентификатору.
+     */
+    FIND_PROJECT_BY_ID("find-project-by-id", 30),
+
+    /**
+     * Создание проекта.
+     */
+    CREATE_PROJECT("create-project", 10),
+
+    /**
+     * Обновление проекта.
+     */
+    UPDATE_PROJECT("update-project", 10);
+
+    /**
+     * Ключ операции в системных свойствах и отчете.
+     */
+    private final String key;
+
+    /**
+     * Вес операции по умолчанию.
+     */
+    private final int defaultWeight;
+
+    /**
+     * Конструктор.
+     *
+     * @param key           - ключ операции в системных свойствах и отчете
+     * @param defaultWeight - вес операции по умолчанию
+     */
+    LoadOperation(final String key, final int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Ключ операции в системных свойствах и отчете.
+     *
+     * @return ключ операции
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Вес операции по умолчанию.
+     *
+     * @return вес операции
+     */
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,60 @@
+package heavenboards.project.service.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Синтетический набор данных нагрузочного прогона.
+ * Идентификаторы проектов и пользователей вычисляются из номера через md5,
+ * поэтому набор одинаков от прогона к прогону.
+ *
+ * @param callerProjectIds - общие проекты, в которых состоят нагружающие пользователи
+ * @param userIds          - пользователи набора
+ */
+record LoadTestDataset(List<UUID> callerProjectIds, List<UUID> userIds) {
+    /**
+     * Пересоздать набор данных в базе.
+     *
+     * @param jdbcTemplate - доступ к базе
+     * @param settings     - настройки прогона
+     * @param callerIds    - идентификаторы нагружающих пользователей
+     * @return набор данных
+     */
+    static LoadTestDataset seed(final JdbcTemplate jdbcTemplate,
+                                final LoadTestSettings settings,
+                                final List<UUID> callerIds) {
+        jdbcTemplate.execute("TRUNCATE project_user_entity, project_entity, "
+            + "project_outbox, project_change_log, project_change_log_horizon");
+        jdbcTemplate.update("""
+            INSERT INTO project_entity(id, name, position_weight)
+            SELECT md5('project-' || n)::uuid, 'project ' || n, n * 1000
+            FROM generate_series(1, ?) AS n
+            """, settings.projects());
+        jdbcTemplate.update("""
+            INSERT INTO project_user_entity(id, user_id, project_id)
+            SELECT gen_random_uuid(),
+                   md5('user-' || ((n * 7919 + m * 104729) % ?))::uuid,
+                   md5('project-' || n)::uuid
+            FROM generate_series(1, ?) AS n
+                     CROSS JOIN generate_series(0, ? - 1) AS m
+            """, settings.users(), settings.projects(), settings.membersPerProject());
+        jdbcTemplate.update("""
+            INSERT INTO project_user_entity(id, user_id, project_id)
+            SELECT gen_random_uuid(), caller_id, md5('project-' || n)::uuid
+            FROM generate_series(1, ?) AS n
+                     CROSS JOIN unnest(CAST(? AS uuid[])) AS caller_id
+            """, settings.callerProjects(), callerIds.toArray(UUID[]::new));
+        jdbcTemplate.execute("ANALYZE project_entity");
+        jdbcTemplate.execute("ANALYZE project_user_entity");
+
+        return new LoadTestDataset(
+            jdbcTemplate.queryForList("""
+                SELECT md5('project-' || n)::uuid FROM generate_series(1, ?) AS n
+                """, UUID.class, settings.callerProjects()),
+            jdbcTemplate.queryForList("""
+                SELECT md5('user-' || n)::uuid FROM generate_series(0, ? - 1) AS n
+                """, UUID.class, settings.users()));
+    }
+}
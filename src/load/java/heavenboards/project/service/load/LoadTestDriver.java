@@ -0,0 +1,252 @@
+package heavenboards.project.service.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Клиенты нагрузочного прогона.
+ * Каждый клиент на своем виртуальном потоке отправляет запросы друг за другом,
+ * выбирая операцию случайно по весам.
+ */
+final class LoadTestDriver {
+    /**
+     * Адрес api приложения.
+     */
+    private final String baseUrl;
+
+    /**
+     * Заголовок авторизации нагружающих пользователей.
+     * Конкретного пользователя запроса выбирает заглушка сервиса пользователей.
+     */
+    private final String authHeader;
+
+    /**
+     * Нагружающие пользователи.
+     */
+    private final List<UserTo> callers;
+
+    /**
+     * Набор данных.
+     */
+    private final LoadTestDataset dataset;
+
+    /**
+     * Операции, повторенные по своему весу, для случайного выбора.
+     */
+    private final List<LoadOperation> weightedOperations = new ArrayList<>();
+
+    /**
+     * Сериализация тел запросов.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * HTTP-клиент.
+     */
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    /**
+     * Счетчик для уникальных названий проектов.
+     */
+    private final AtomicLong nameCounter = new AtomicLong();
+
+    /**
+     * Конструктор.
+     *
+     * @param baseUrl      - адрес api приложения
+     * @param authHeader   - заголовок авторизации нагружающих пользователей
+     * @param callers      - нагружающие пользователи
+     * @param dataset      - набор данных
+     * @param mix          - веса операций
+     * @param objectMapper - сериализация тел запросов
+     */
+    LoadTestDriver(final String baseUrl,
+                   final String authHeader,
+                   final List<UserTo> callers,
+                   final LoadTestDataset dataset,
+                   final Map<LoadOperation, Integer> mix,
+                   final ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.authHeader = authHeader;
+        this.callers = callers;
+        this.dataset = dataset;
+        this.objectMapper = objectMapper;
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weightedOperations.add(operation);
+            }
+        });
+        if (weightedOperations.isEmpty()) {
+            throw new IllegalArgumentException("Веса всех операций нулевые");
+        }
+    }
+
+    /**
+     * Нагружать приложение заданное время.
+     *
+     * @param concurrency - количество одновременных клиентов
+     * @param duration    - длительность
+     * @param report      - отчет, в который пишутся результаты
+     * @throws InterruptedException - если ожидание клиентов прервано
+     */
+    void run(final int concurrency,
+             final Duration duration,
+             final LatencyReport report) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(randomOperation(), report);
+                    }
+                });
+            }
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * Выполнить операцию и учесть результат.
+     *
+     * @param operation - операция
+     * @param report    - отчет
+     */
+    private void execute(final LoadOperation operation, final LatencyReport report) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request(operation),
+                HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() < 400) {
+                report.recordSuccess(operation, System.nanoTime() - start);
+            } else {
+                report.recordError(operation);
+            }
+        } catch (IOException exception) {
+            report.recordError(operation);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Запрос операции.
+     *
+     * @param operation - операция
+     * @return HTTP-запрос
+     * @throws JsonProcessingException - если тело не удалось сериализовать
+     */
+    private HttpRequest request(final LoadOperation operation) throws JsonProcessingException {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+            .header("Authorization", authHeader)
+            .header("Content-Type", "application/json");
+        return switch (operation) {
+            case FIND_USER_PROJECTS -> request.uri(uri("/project")).GET().build();
+            case FIND_PROJECT_BY_ID -> request.uri(uri("/project/" + randomCallerProject()))
+                .GET()
+                .build();
+            case CREATE_PROJECT -> request.uri(uri("/project"))
+                .POST(body(project(null, List.of())))
+                .build();
+            case UPDATE_PROJECT -> request.uri(uri("/project"))
+                .PUT(body(project(randomCallerProject(), callers)))
+                .build();
+        };
+    }
+
+    /**
+     * Проект для создания или обновления с заданными и двумя случайными участниками.
+     * Созданные проекты не включают нагружающих пользователей, иначе их список проектов
+     * рос бы весь прогон. Обновление сохраняет в общем проекте всех нагружающих.
+     *
+     * @param id      - идентификатор обновляемого проекта, null - для создания
+     * @param members - участники, которые остаются в проекте
+     * @return to-модель проекта
+     */
+    private ProjectTo project(final UUID id, final List<UserTo> members) {
+        long number = nameCounter.incrementAndGet();
+        List<UserTo> users = new ArrayList<>(members);
+        users.add(randomUser());
+        users.add(randomUser());
+        return ProjectTo.builder()
+            .id(id)
+            .name("load " + number)
+            .positionWeight((int) (number % 1_000_000))
+            .users(users)
+            .build();
+    }
+
+    /**
+     * Случайная операция по весам.
+     *
+     * @return операция
+     */
+    private LoadOperation randomOperation() {
+        return weightedOperations.get(
+            ThreadLocalRandom.current().nextInt(weightedOperations.size()));
+    }
+
+    /**
+     * Случайный общий проект нагружающих пользователей.
+     *
+     * @return идентификатор проекта
+     */
+    private UUID randomCallerProject() {
+        List<UUID> projectIds = dataset.callerProjectIds();
+        return projectIds.get(ThreadLocalRandom.current().nextInt(projectIds.size()));
+    }
+
+    /**
+     * Случайный пользователь набора данных.
+     *
+     * @return пользователь
+     */
+    private UserTo randomUser() {
+        List<UUID> userIds = dataset.userIds();
+        return UserTo.builder()
+            .id(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())))
+            .build();
+    }
+
+    /**
+     * Адрес метода api.
+     *
+     * @param path - путь относительно api
+     * @return адрес
+     */
+    private URI uri(final String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Тело запроса в JSON.
+     *
+     * @param value - объект тела
+     * @return тело запроса
+     * @throws JsonProcessingException - если объект не удалось сериализовать
+     */
+    private HttpRequest.BodyPublisher body(final Object value) throws JsonProcessingException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+}
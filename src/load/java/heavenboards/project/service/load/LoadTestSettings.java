@@ -0,0 +1,74 @@
+package heavenboards.project.service.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Настройки нагрузочного прогона из системных свойств load.*.
+ *
+ * @param datasourceUrl      - адрес базы, по умолчанию Postgres в testcontainers
+ * @param datasourceUsername - пользователь базы
+ * @param datasourcePassword - пароль базы
+ * @param virtualThreads     - обрабатывать ли запросы на виртуальных потоках
+ * @param users              - количество пользователей в наборе данных
+ * @param projects           - количество проектов в наборе данных
+ * @param membersPerProject  - количество участников каждого проекта
+ * @param callers            - количество нагружающих пользователей
+ * @param callerProjects     - в скольких общих проектах состоят нагружающие пользователи
+ * @param concurrency        - количество одновременных клиентов
+ * @param warmup             - длительность прогрева, запросы не попадают в отчет
+ * @param duration           - длительность замера
+ * @param userApiLatency     - задержка ответа заглушки сервиса пользователей
+ * @param userApiErrorRate   - доля ошибок заглушки сервиса пользователей от 0 до 1
+ * @param userCache          - включен ли кеш пользователей, по умолчанию выключен,
+ *                           чтобы задержки отражали обращения к сервису пользователей
+ * @param mix                - веса операций в нагрузке
+ */
+record LoadTestSettings(String datasourceUrl,
+                        String datasourceUsername,
+                        String datasourcePassword,
+                        boolean virtualThreads,
+                        int users,
+                        int projects,
+                        int membersPerProject,
+                        int callers,
+                        int callerProjects,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        Duration userApiLatency,
+                        double userApiErrorRate,
+                        boolean userCache,
+                        Map<LoadOperation, Integer> mix) {
+    /**
+     * Прочитать настройки из системных свойств.
+     *
+     * @return настройки прогона
+     */
+    static LoadTestSettings fromSystemProperties() {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            mix.put(operation, Integer.getInteger("load.mix." + operation.getKey(),
+                operation.getDefaultWeight()));
+        }
+
+        return new LoadTestSettings(
+            System.getProperty("load.datasource-url", "jdbc:tc:postgresql:16:///project_service"),
+            System.getProperty("load.datasource-username", "user"),
+            System.getProperty("load.datasource-password", "password"),
+            Boolean.parseBoolean(System.getProperty("load.virtual-threads", "true")),
+            Integer.getInteger("load.users", 10_000),
+            Integer.getInteger("load.projects", 100_000),
+            Integer.getInteger("load.members-per-project", 3),
+            Integer.getInteger("load.callers", 8),
+            Integer.getInteger("load.caller-projects", 50),
+            Integer.getInteger("load.concurrency", 64),
+            Duration.parse(System.getProperty("load.warmup", "PT30S")),
+            Duration.parse(System.getProperty("load.duration", "PT2M")),
+            Duration.parse(System.getProperty("load.user-api.latency", "PT0.02S")),
+            Double.parseDouble(System.getProperty("load.user-api.error-rate", "0")),
+            Boolean.parseBoolean(System.getProperty("load.user-cache.enabled", "false")),
+            mix);
+    }
+}
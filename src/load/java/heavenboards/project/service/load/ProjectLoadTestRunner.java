@@ -0,0 +1,122 @@
+package heavenboards.project.service.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import heavenboards.project.service.ProjectServiceApplication;
+import heavenboards.project.service.project.membership.ProjectMembershipIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.domain.user.UserTo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Нагрузочный прогон сервиса.
+ * Поднимает приложение с заглушкой сервиса пользователей, заполняет базу
+ * синтетическим набором данных, нагружает смесью операций и печатает
+ * пропускную способность и перцентили задержек.
+ * Запуск: mvn -P load-test test-compile exec:java, настройки - системные свойства load.*.
+ */
+public final class ProjectLoadTestRunner {
+    /**
+     * Utility-класс.
+     */
+    private ProjectLoadTestRunner() {
+    }
+
+    /**
+     * Запустить прогон.
+     *
+     * @param args - не используются
+     * @throws Exception - если прогон не удался
+     */
+    public static void main(final String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (UserServiceStub userService = new UserServiceStub(
+                settings.userApiLatency(), settings.userApiErrorRate());
+             ConfigurableApplicationContext context = start(settings, userService)) {
+            SecurityTestUtil securityTestUtil = context.getBean(SecurityTestUtil.class);
+            securityTestUtil.securityContextHelper();
+            List<UserTo> callers = callers(securityTestUtil.getAuthenticatedUser(), settings);
+            userService.setCallers(callers);
+
+            LoadTestDataset dataset = LoadTestDataset.seed(context.getBean(JdbcTemplate.class),
+                settings, callers.stream().map(UserTo::getId).toList());
+            // Индекс участников строится при старте, до заполнения базы
+            context.getBean(ProjectMembershipIndex.class).rebuild();
+
+            String baseUrl = "http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+            LoadTestDriver driver = new LoadTestDriver(baseUrl, securityTestUtil.authHeader(),
+                callers, dataset, settings.mix(), context.getBean(ObjectMapper.class));
+
+            driver.run(settings.concurrency(), settings.warmup(), new LatencyReport());
+            LatencyReport report = new LatencyReport();
+            driver.run(settings.concurrency(), settings.duration(), report);
+
+            System.out.printf("virtual threads: %s, concurrency: %d, user-api latency: %s, "
+                    + "user-api error rate: %s, user cache: %s, projects: %d, users: %d, "
+                    + "callers: %d%n",
+                settings.virtualThreads(), settings.concurrency(), settings.userApiLatency(),
+                settings.userApiErrorRate(), settings.userCache(), settings.projects(),
+                settings.users(), settings.callers());
+            report.print(System.out, settings.duration());
+        }
+    }
+
+    /**
+     * Нагружающие пользователи: аутентифицированный тестовый и дополнительные до количества
+     * из настроек.
+     *
+     * @param authenticated - аутентифицированный тестовый пользователь
+     * @param settings      - настройки прогона
+     * @return нагружающие пользователи
+     */
+    private static List<UserTo> callers(final UserTo authenticated,
+                                        final LoadTestSettings settings) {
+        List<UserTo> callers = new ArrayList<>(List.of(authenticated));
+        for (int i = 1; i < settings.callers(); i++) {
+            String username = "load-caller-" + i;
+            callers.add(UserTo.builder()
+                .id(UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)))
+                .username(username)
+                .build());
+        }
+        return callers;
+    }
+
+    /**
+     * Поднять приложение с базой из настроек и заглушкой сервиса пользователей.
+     *
+     * @param settings    - настройки прогона
+     * @param userService - заглушка сервиса пользователей
+     * @return контекст приложения
+     */
+    private static ConfigurableApplicationContext start(final LoadTestSettings settings,
+                                                        final UserServiceStub userService) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", settings.datasourceUrl());
+        properties.put("spring.datasource.username", settings.datasourceUsername());
+        properties.put("spring.datasource.password", settings.datasourcePassword());
+        properties.put("spring.datasource.driver-class-name",
+            settings.datasourceUrl().startsWith("jdbc:tc:")
+                ? "org.testcontainers.jdbc.ContainerDatabaseDriver"
+                : "org.postgresql.Driver");
+        properties.put("spring.threads.virtual.enabled", settings.virtualThreads());
+        properties.put("microservice.user-api.url", userService.url());
+        properties.put("microservice.user-api.cache.enabled", settings.userCache());
+
+        // Аргументы командной строки перекрывают application.yml, свойства по умолчанию - нет
+        return new SpringApplicationBuilder(ProjectServiceApplication.class)
+            .profiles("load")
+            .run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+}
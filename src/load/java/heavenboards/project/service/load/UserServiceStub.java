@@ -0,0 +1,157 @@
+package heavenboards.project.service.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import transfer.contract.domain.user.UserTo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Заглушка сервиса пользователей в том же процессе.
+ * Отвечает с заданной задержкой и долей ошибок. POST со списком идентификаторов
+ * возвращает пользователей с этими идентификаторами. GET, которым фильтр безопасности
+ * ищет пользователя при аутентификации, возвращает случайного нагружающего пользователя,
+ * поэтому запросы с одним заголовком авторизации идут от разных пользователей.
+ */
+final class UserServiceStub implements AutoCloseable {
+    /**
+     * Сериализация тел запросов и ответов.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    /**
+     * Пользователи, от имени которых идет нагрузка.
+     * Известны только после запуска приложения, поэтому задаются позже.
+     */
+    private volatile List<UserTo> callers = List.of();
+
+    /**
+     * Задержка ответа.
+     */
+    private final Duration latency;
+
+    /**
+     * Доля ответов с ошибкой.
+     */
+    private final double errorRate;
+
+    /**
+     * HTTP-сервер заглушки.
+     */
+    private final HttpServer server;
+
+    /**
+     * Запустить заглушку на свободном порту.
+     *
+     * @param latency   - задержка ответа
+     * @param errorRate - доля ответов с ошибкой
+     * @throws IOException - если порт не удалось открыть
+     */
+    UserServiceStub(final Duration latency, final double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Адрес заглушки.
+     *
+     * @return адрес для настройки feign-клиента
+     */
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Задать пользователей, от имени которых идет нагрузка.
+     *
+     * @param users - пользователи
+     */
+    void setCallers(final List<UserTo> users) {
+        this.callers = List.copyOf(users);
+    }
+
+    /**
+     * Остановить заглушку.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Обработать запрос к сервису пользователей.
+     *
+     * @param exchange - запрос и ответ
+     * @throws IOException - ошибка ввода-вывода
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Thread.sleep(latency);
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            Object body = "POST".equals(exchange.getRequestMethod())
+                ? findUsersByIds(exchange.getRequestBody())
+                : randomCaller();
+            byte[] response = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(response);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Пользователи по идентификаторам из тела запроса.
+     *
+     * @param requestBody - тело запроса со списком идентификаторов
+     * @return пользователи
+     * @throws IOException - если тело не удалось прочитать
+     */
+    private List<UserTo> findUsersByIds(final InputStream requestBody) throws IOException {
+        List<UUID> ids = objectMapper.readValue(requestBody, new TypeReference<>() {
+        });
+        Map<UUID, UserTo> users = callers.stream()
+            .collect(Collectors.toMap(UserTo::getId, Function.identity()));
+        return ids.stream()
+            .map(id -> users.getOrDefault(id, UserTo.builder()
+                .id(id)
+                .username("user-" + id)
+                .build()))
+            .toList();
+    }
+
+    /**
+     * Случайный нагружающий пользователь.
+     *
+     * @return пользователь, null - если нагружающие пользователи еще не заданы
+     */
+    private UserTo randomCaller() {
+        List<UserTo> users = callers;
+        return users.isEmpty()
+            ? null
+            : users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+}
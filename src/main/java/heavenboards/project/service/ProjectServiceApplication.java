@@ -4,7 +4,10 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Главный класс для запуска сервиса.
@@ -15,6 +18,9 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
     "transfer.contract"
 })
 @EnableFeignClients(basePackages = "transfer.contract")
+@ConfigurationPropertiesScan
+@EnableScheduling
+@EnableAsync
 @OpenAPIDefinition(
     info = @Info(
         title = "project-service",
@@ -0,0 +1,78 @@
+package heavenboards.project.service.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Кодирование тела ответа в байты заранее, до записи в ответ.
+ * Используются ObjectMapper-ы конвертеров Spring MVC, поэтому байты совпадают
+ * с телом, которое записал бы конвертер.
+ */
+@Component
+public class BodyEncoder {
+    /**
+     * ObjectMapper-ы по типу содержимого.
+     */
+    private final Map<MediaType, ObjectMapper> objectMappers;
+
+    /**
+     * Настройки сжатия тел ответов.
+     */
+    private final CodecProperties.Gzip gzip;
+
+    /**
+     * Создание кодировщика по конвертерам приложения.
+     *
+     * @param jsonConverter  - конвертер JSON
+     * @param cborConverter  - конвертер CBOR
+     * @param smileConverter - конвертер Smile
+     * @param properties     - настройки кодирования тел ответов
+     */
+    public BodyEncoder(final MappingJackson2HttpMessageConverter jsonConverter,
+                       final MappingJackson2CborHttpMessageConverter cborConverter,
+                       final MappingJackson2SmileHttpMessageConverter smileConverter,
+                       final CodecProperties properties) {
+        this.objectMappers = Map.of(
+            ResponseFormat.SUPPORTED.get(0), jsonConverter.getObjectMapper(),
+            ResponseFormat.SUPPORTED.get(1), cborConverter.getObjectMapper(),
+            ResponseFormat.SUPPORTED.get(2), smileConverter.getObjectMapper()
+        );
+        this.gzip = properties.getGzip();
+    }
+
+    /**
+     * Закодировать тело ответа.
+     * Тело сжимается, если клиент принимает gzip и тело не меньше минимального размера.
+     *
+     * @param body   - тело ответа
+     * @param format - формат тела ответа
+     * @return закодированное тело
+     */
+    public EncodedBody encode(final Object body, final ResponseFormat format) {
+        try {
+            byte[] bytes = objectMappers.get(format.mediaType()).writeValueAsBytes(body);
+            if (!format.gzipAccepted() || !gzip.isEnabled()
+                || bytes.length < gzip.getMinSize().toBytes()) {
+                return new EncodedBody(bytes, format.mediaType(), false);
+            }
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+            try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+                output.write(bytes);
+            }
+            return new EncodedBody(compressed.toByteArray(), format.mediaType(), true);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
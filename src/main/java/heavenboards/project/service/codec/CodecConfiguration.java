@@ -0,0 +1,53 @@
+package heavenboards.project.service.codec;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Конфигурация бинарных форматов тел запросов и ответов для межсервисных вызовов.
+ * Формат выбирается по заголовкам Accept и Content-Type, без них остается JSON.
+ */
+@Configuration
+public class CodecConfiguration {
+    /**
+     * Тип содержимого CBOR.
+     */
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    /**
+     * Тип содержимого Smile.
+     */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Конвертер CBOR.
+     * Бин заменяет конвертер по умолчанию на том же месте в списке, после JSON,
+     * но использует ObjectMapper с настройками приложения.
+     *
+     * @param builder - построитель ObjectMapper с настройками приложения
+     * @return конвертер CBOR
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+        final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+    }
+
+    /**
+     * Конвертер Smile.
+     * Бин заменяет конвертер по умолчанию на том же месте в списке, после JSON,
+     * но использует ObjectMapper с настройками приложения.
+     *
+     * @param builder - построитель ObjectMapper с настройками приложения
+     * @return конвертер Smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+        final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+    }
+}
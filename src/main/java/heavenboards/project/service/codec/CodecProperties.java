@@ -0,0 +1,34 @@
+package heavenboards.project.service.codec;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Настройки кодирования тел ответов.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.codec")
+public class CodecProperties {
+    /**
+     * Настройки сжатия тел ответов.
+     */
+    private Gzip gzip = new Gzip();
+
+    /**
+     * Настройки сжатия тел ответов.
+     */
+    @Data
+    public static class Gzip {
+        /**
+         * Сжимать ли тело, если клиент принимает gzip.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Минимальный размер тела для сжатия.
+         * Маленькие тела после сжатия почти не уменьшаются.
+         */
+        private DataSize minSize = DataSize.ofKilobytes(1);
+    }
+}
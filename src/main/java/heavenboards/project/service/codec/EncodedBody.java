@@ -0,0 +1,13 @@
+package heavenboards.project.service.codec;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Закодированное тело ответа.
+ *
+ * @param bytes     - байты тела
+ * @param mediaType - тип содержимого
+ * @param gzip      - сжато ли тело gzip
+ */
+public record EncodedBody(byte[] bytes, MediaType mediaType, boolean gzip) {
+}
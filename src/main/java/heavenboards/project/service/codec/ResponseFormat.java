@@ -0,0 +1,109 @@
+package heavenboards.project.service.codec;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Формат тела ответа, выбранный по заголовкам Accept и Accept-Encoding.
+ *
+ * @param mediaType    - тип содержимого
+ * @param gzipAccepted - принимает ли клиент тело, сжатое gzip
+ */
+public record ResponseFormat(MediaType mediaType, boolean gzipAccepted) {
+    /**
+     * Поддерживаемые типы содержимого в порядке предпочтения.
+     * JSON первый, поэтому браузер и клиент без Accept получают JSON.
+     */
+    public static final List<MediaType> SUPPORTED = List.of(
+        MediaType.APPLICATION_JSON,
+        MediaType.APPLICATION_CBOR,
+        MediaType.parseMediaType(CodecConfiguration.SMILE_VALUE)
+    );
+
+    /**
+     * Кодирование gzip.
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * Выбрать формат тела ответа.
+     * Типы из Accept перебираются по убыванию качества, при равном качестве точный тип
+     * предпочитается шаблону, как при выборе конвертера в Spring MVC.
+     *
+     * @param accept         - значение заголовка Accept
+     * @param acceptEncoding - значение заголовка Accept-Encoding
+     * @return формат тела ответа
+     */
+    public static ResponseFormat negotiate(final String accept, final String acceptEncoding) {
+        return new ResponseFormat(mediaType(accept), gzipAccepted(acceptEncoding));
+    }
+
+    /**
+     * Выбрать тип содержимого.
+     *
+     * @param accept - значение заголовка Accept
+     * @return поддерживаемый тип содержимого
+     */
+    private static MediaType mediaType(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return SUPPORTED.getFirst();
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException exception) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                "Некорректный заголовок Accept: " + accept, exception);
+        }
+
+        return accepted.stream()
+            .filter(type -> type.getQualityValue() > 0)
+            .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparingInt(ResponseFormat::wildcards))
+            .flatMap(type -> SUPPORTED.stream().filter(type::includes).limit(1))
+            .findFirst()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                "Поддерживаемые типы содержимого: " + SUPPORTED));
+    }
+
+    /**
+     * Принимает ли клиент тело, сжатое gzip.
+     *
+     * @param acceptEncoding - значение заголовка Accept-Encoding
+     * @return принимает ли клиент gzip
+     */
+    private static boolean gzipAccepted(final String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Количество шаблонов в типе содержимого, для сортировки точных типов вперед.
+     *
+     * @param type - тип содержимого
+     * @return 0 - точный тип, 1 - шаблон подтипа, 2 - любой тип
+     */
+    private static int wildcards(final MediaType type) {
+        if (type.isWildcardType()) {
+            return 2;
+        }
+
+        return type.isWildcardSubtype() ? 1 : 0;
+    }
+}
@@ -0,0 +1,150 @@
+package heavenboards.project.service.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Источник данных, ограничивающий количество одновременно выданных соединений.
+ * На виртуальных потоках количество конкурентных запросов не ограничено пулом потоков,
+ * поэтому ожидание соединения выносится на семафор, который паркует виртуальный поток,
+ * не занимая поток-носитель и не выбирая пул соединений до таймаута.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+    /**
+     * Разрешения на получение соединения.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Время ожидания свободного соединения.
+     */
+    private final Duration acquireTimeout;
+
+    /**
+     * Конструктор.
+     *
+     * @param dataSource     - исходный источник данных
+     * @param maxConcurrent  - максимальное количество одновременно выданных соединений
+     * @param acquireTimeout - время ожидания свободного соединения
+     */
+    public ConcurrencyLimitingDataSource(final DataSource dataSource,
+                                         final int maxConcurrent,
+                                         final Duration acquireTimeout) {
+        super(dataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Количество свободных разрешений.
+     *
+     * @return количество свободных разрешений
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Примерное количество потоков, ожидающих разрешение.
+     *
+     * @return количество ожидающих потоков
+     */
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Получить соединение.
+     *
+     * @return соединение, освобождающее разрешение при закрытии
+     * @throws SQLException - если соединение не получено
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Получить соединение.
+     *
+     * @param username - имя пользователя
+     * @param password - пароль
+     * @return соединение, освобождающее разрешение при закрытии
+     * @throws SQLException - если соединение не получено
+     */
+    @Override
+    public Connection getConnection(final String username, final String password)
+        throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Получить разрешение на соединение.
+     *
+     * @throws SQLException - если разрешение не получено за время ожидания
+     */
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Нет свободного соединения с базой за " + acquireTimeout);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(
+                "Ожидание соединения с базой прервано", exception);
+        }
+    }
+
+    /**
+     * Обернуть соединение так, чтобы его закрытие освобождало разрешение ровно один раз.
+     *
+     * @param connection - соединение
+     * @return обернутое соединение
+     */
+    private Connection limited(final Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            ConcurrencyLimitingDataSource.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    } finally {
+                        permits.release();
+                    }
+                }
+
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+            });
+    }
+}
@@ -0,0 +1,44 @@
+package heavenboards.project.service.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает источник данных приложения в ограничитель одновременного доступа.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitingDataSourcePostProcessor implements BeanPostProcessor {
+    /**
+     * Настройки ограничения.
+     * Берутся лениво, чтобы не создавать бины до регистрации пост-процессора.
+     */
+    private final ObjectProvider<DataSourceLimiterProperties> properties;
+
+    /**
+     * Обернуть источник данных после инициализации.
+     *
+     * @param bean     - бин
+     * @param beanName - имя бина
+     * @return исходный бин или обернутый источник данных
+     */
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+            || bean instanceof ConcurrencyLimitingDataSource) {
+            return bean;
+        }
+
+        DataSourceLimiterProperties limiter = properties.getObject();
+        if (!limiter.isEnabled()) {
+            return bean;
+        }
+
+        return new ConcurrencyLimitingDataSource(
+            dataSource, limiter.getMaxConcurrent(), limiter.getAcquireTimeout());
+    }
+}
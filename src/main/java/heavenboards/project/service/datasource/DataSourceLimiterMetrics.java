@@ -0,0 +1,49 @@
+package heavenboards.project.service.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Метрики насыщения ограничителя доступа к базе.
+ * Дополняют метрики пула соединений: ожидающие потоки паркуются на ограничителе,
+ * поэтому очередь к пулу при включенном ограничении остается пустой.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataSourceLimiterMetrics implements MeterBinder {
+    /**
+     * Источник данных приложения.
+     */
+    private final ObjectProvider<DataSource> dataSource;
+
+    /**
+     * Зарегистрировать метрики, если ограничение включено.
+     *
+     * @param registry - реестр метрик
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        DataSource source = dataSource.getIfUnique();
+        ConcurrencyLimitingDataSource limiter = source == null ? null
+            : DataSourceUnwrapper.unwrap(source, ConcurrencyLimitingDataSource.class);
+        if (limiter == null) {
+            return;
+        }
+
+        Gauge.builder("project.datasource.limiter.available", limiter,
+                ConcurrencyLimitingDataSource::availablePermits)
+            .description("Свободные разрешения на соединение с базой")
+            .register(registry);
+        Gauge.builder("project.datasource.limiter.waiting", limiter,
+                ConcurrencyLimitingDataSource::waitingThreads)
+            .description("Потоки, ожидающие соединение с базой")
+            .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package heavenboards.project.service.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки ограничения одновременного доступа к базе.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.datasource-limiter")
+public class DataSourceLimiterProperties {
+    /**
+     * Включено ли ограничение.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальное количество одновременно выданных соединений.
+     * Не должно превышать размер пула соединений.
+     */
+    private int maxConcurrent = 10;
+
+    /**
+     * Время ожидания свободного соединения.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+}
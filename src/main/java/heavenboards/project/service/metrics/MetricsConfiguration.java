@@ -0,0 +1,28 @@
+package heavenboards.project.service.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация метрик приложения.
+ */
+@Configuration
+public class MetricsConfiguration {
+    /**
+     * Таймер use case, теги class и method проставляет аспект.
+     */
+    public static final String USE_CASE_TIMER = "project.use-case";
+
+    /**
+     * Аспект, снимающий таймеры с методов, помеченных @Timed.
+     *
+     * @param meterRegistry - реестр метрик
+     * @return аспект таймеров
+     */
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package heavenboards.project.service.metrics;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Учитывает вызовы feign-клиентов в счетчиках текущего HTTP-запроса.
+ */
+@Component
+public class RemoteCallCountingInterceptor implements RequestInterceptor {
+    /**
+     * Учесть удаленный вызов.
+     *
+     * @param template - шаблон запроса
+     */
+    @Override
+    public void apply(final RequestTemplate template) {
+        RequestCallCounter.remoteCall();
+    }
+}
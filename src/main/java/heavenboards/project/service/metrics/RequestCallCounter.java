@@ -0,0 +1,111 @@
+package heavenboards.project.service.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Счетчики SQL-запросов и удаленных вызовов текущего HTTP-запроса.
+ * Учитываются вызовы из потока, обрабатывающего запрос, и из задач, в которые счетчики
+ * перенесены через propagate(), остальные фоновые задачи не считаются.
+ */
+public final class RequestCallCounter {
+    /**
+     * Счетчики запроса текущего потока.
+     */
+    private static final ThreadLocal<RequestCallCounter> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Количество SQL-запросов.
+     */
+    private final AtomicInteger sqlStatements = new AtomicInteger();
+
+    /**
+     * Количество удаленных вызовов.
+     */
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+
+    /**
+     * Счетчики создаются только через start().
+     */
+    private RequestCallCounter() {
+    }
+
+    /**
+     * Начать подсчет для текущего потока.
+     *
+     * @return счетчики запроса
+     */
+    public static RequestCallCounter start() {
+        RequestCallCounter counter = new RequestCallCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Завершить подсчет для текущего потока.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Перенести счетчики текущего потока в задачу, выполняемую другим потоком.
+     *
+     * @param task - задача
+     * @param <T>  - тип результата задачи
+     * @return задача, учитывающая вызовы в счетчиках текущего запроса
+     */
+    public static <T> Callable<T> propagate(final Callable<T> task) {
+        RequestCallCounter counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+
+        return () -> {
+            CURRENT.set(counter);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Учесть SQL-запрос, если подсчет для текущего потока начат.
+     */
+    public static void sqlStatement() {
+        RequestCallCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.sqlStatements.incrementAndGet();
+        }
+    }
+
+    /**
+     * Учесть удаленный вызов, если подсчет для текущего потока начат.
+     */
+    public static void remoteCall() {
+        RequestCallCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.remoteCalls.incrementAndGet();
+        }
+    }
+
+    /**
+     * Количество SQL-запросов.
+     *
+     * @return количество SQL-запросов
+     */
+    public int getSqlStatements() {
+        return sqlStatements.get();
+    }
+
+    /**
+     * Количество удаленных вызовов.
+     *
+     * @return количество удаленных вызовов
+     */
+    public int getRemoteCalls() {
+        return remoteCalls.get();
+    }
+}
@@ -0,0 +1,98 @@
+package heavenboards.project.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Записывает количество SQL-запросов и удаленных вызовов на HTTP-запрос по эндпоинтам.
+ * Рост этих значений на дашборде указывает на появившийся N+1.
+ * Фильтр стоит первым, чтобы учесть и вызовы из фильтров безопасности.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCallMetricsFilter extends OncePerRequestFilter {
+    /**
+     * Метрика количества SQL-запросов на HTTP-запрос.
+     */
+    public static final String SQL_STATEMENTS_METRIC = "project.request.sql.statements";
+
+    /**
+     * Метрика количества удаленных вызовов на HTTP-запрос.
+     */
+    public static final String REMOTE_CALLS_METRIC = "project.request.remote.calls";
+
+    /**
+     * Значение тега uri для запросов без найденного обработчика.
+     */
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    /**
+     * Настройки метрик запросов.
+     */
+    private final RequestMetricsProperties properties;
+
+    /**
+     * Реестр метрик.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Посчитать вызовы запроса и записать их в метрики эндпоинта.
+     *
+     * @param request     - запрос
+     * @param response    - ответ
+     * @param filterChain - цепочка фильтров
+     * @throws ServletException - ошибка обработки запроса
+     * @throws IOException      - ошибка ввода-вывода
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain)
+        throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestCallCounter counter = RequestCallCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCallCounter.stop();
+            record(SQL_STATEMENTS_METRIC, request, counter.getSqlStatements());
+            record(REMOTE_CALLS_METRIC, request, counter.getRemoteCalls());
+        }
+    }
+
+    /**
+     * Записать значение в метрику эндпоинта.
+     *
+     * @param metric  - название метрики
+     * @param request - запрос
+     * @param value   - значение
+     */
+    private void record(final String metric,
+                        final HttpServletRequest request,
+                        final int value) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(metric)
+            .tag("method", request.getMethod())
+            .tag("uri", pattern != null ? pattern.toString() : UNKNOWN_URI)
+            .register(meterRegistry)
+            .record(value);
+    }
+}
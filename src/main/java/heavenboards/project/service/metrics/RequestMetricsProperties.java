@@ -0,0 +1,16 @@
+package heavenboards.project.service.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки метрик SQL-запросов и удаленных вызовов на HTTP-запрос.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.request-metrics")
+public class RequestMetricsProperties {
+    /**
+     * Включен ли подсчет.
+     */
+    private boolean enabled = true;
+}
@@ -0,0 +1,79 @@
+package heavenboards.project.service.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Источник данных, считающий SQL-запросы текущего HTTP-запроса.
+ * Запросом считается каждое создание statement, пачка batch-вставок считается одним запросом.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    /**
+     * Методы соединения, создающие statement.
+     */
+    private static final Set<String> STATEMENT_METHODS =
+        Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    /**
+     * Конструктор.
+     *
+     * @param dataSource - исходный источник данных
+     */
+    public StatementCountingDataSource(final DataSource dataSource) {
+        super(dataSource);
+    }
+
+    /**
+     * Получить соединение.
+     *
+     * @return соединение, считающее созданные statement
+     * @throws SQLException - если соединение не получено
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    /**
+     * Получить соединение.
+     *
+     * @param username - имя пользователя
+     * @param password - пароль
+     * @return соединение, считающее созданные statement
+     * @throws SQLException - если соединение не получено
+     */
+    @Override
+    public Connection getConnection(final String username, final String password)
+        throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    /**
+     * Обернуть соединение так, чтобы создание statement учитывалось в счетчиках запроса.
+     *
+     * @param connection - соединение
+     * @return обернутое соединение
+     */
+    private Connection counting(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            StatementCountingDataSource.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (STATEMENT_METHODS.contains(method.getName())) {
+                    RequestCallCounter.sqlStatement();
+                }
+
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+            });
+    }
+}
@@ -0,0 +1,39 @@
+package heavenboards.project.service.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает источник данных приложения в счетчик SQL-запросов.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+    /**
+     * Настройки метрик запросов.
+     * Берутся лениво, чтобы не создавать бины до регистрации пост-процессора.
+     */
+    private final ObjectProvider<RequestMetricsProperties> properties;
+
+    /**
+     * Обернуть источник данных после инициализации.
+     *
+     * @param bean     - бин
+     * @param beanName - имя бина
+     * @return исходный бин или обернутый источник данных
+     */
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+            || bean instanceof StatementCountingDataSource
+            || !properties.getObject().isEnabled()) {
+            return bean;
+        }
+
+        return new StatementCountingDataSource(dataSource);
+    }
+}
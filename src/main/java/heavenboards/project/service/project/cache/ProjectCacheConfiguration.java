@@ -0,0 +1,99 @@
+package heavenboards.project.service.project.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.domain.ProjectUserEntity;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Конфигурация кеша второго уровня Hibernate на Caffeine через JCache.
+ */
+@Configuration
+public class ProjectCacheConfiguration {
+    /**
+     * Регион кеша проектов.
+     */
+    public static final String PROJECT_REGION = ProjectEntity.class.getName();
+
+    /**
+     * Регион кеша коллекций участников проектов.
+     */
+    public static final String PROJECT_USERS_REGION = PROJECT_REGION + ".users";
+
+    /**
+     * Регион кеша участников проектов.
+     */
+    public static final String PROJECT_USER_REGION = ProjectUserEntity.class.getName();
+
+    /**
+     * Все регионы кеша.
+     */
+    public static final List<String> REGIONS =
+        List.of(PROJECT_REGION, PROJECT_USERS_REGION, PROJECT_USER_REGION);
+
+    /**
+     * Менеджер кешей с регионами, ограниченными по размеру и времени жизни.
+     *
+     * @param properties - настройки кеша
+     * @return менеджер кешей
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "project.second-level-cache", name = "enabled",
+        matchIfMissing = true)
+    public CacheManager projectCacheManager(final ProjectCacheProperties properties) {
+        // Отдельный URI, чтобы несколько контекстов в одной JVM не делили регионы
+        CacheManager cacheManager = Caching
+            .getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("project-service-" + UUID.randomUUID()),
+                ProjectCacheConfiguration.class.getClassLoader());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+            .setMaximumSize(OptionalLong.of(properties.getMaximumSize()))
+            .setExpireAfterWrite(OptionalLong.of(properties.getExpireAfterWrite().toNanos()))
+            .setStoreByValue(false)
+            .setStatisticsEnabled(true);
+        REGIONS.forEach(region -> cacheManager.createCache(region, configuration));
+        return cacheManager;
+    }
+
+    /**
+     * Настройки Hibernate для кеша второго уровня.
+     * Без менеджера кешей кеш выключается, аннотации сущностей игнорируются.
+     *
+     * @param cacheManager - менеджер кешей, если кеш включен
+     * @return настройка свойств Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer projectCacheHibernatePropertiesCustomizer(
+        final ObjectProvider<CacheManager> cacheManager
+    ) {
+        return hibernateProperties -> {
+            CacheManager manager = cacheManager.getIfAvailable();
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, manager != null);
+            if (manager == null) {
+                return;
+            }
+
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, manager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
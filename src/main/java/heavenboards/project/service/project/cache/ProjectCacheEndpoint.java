@@ -0,0 +1,80 @@
+package heavenboards.project.service.project.cache;
+
+import heavenboards.project.service.project.dto.ProjectCacheRegionStatsTo;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator-эндпоинт для управления кешем второго уровня проектов.
+ * Как и эндпоинт кеша пользователей, по http не открыт,
+ * пока не добавлен в management.endpoints.web.exposure.include.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = ProjectCacheEndpoint.ID)
+public class ProjectCacheEndpoint {
+    /**
+     * Идентификатор эндпоинта.
+     */
+    public static final String ID = "projectcache";
+
+    /**
+     * Настройки кеша второго уровня.
+     */
+    private final ProjectCacheProperties projectCacheProperties;
+
+    /**
+     * Сброс кеша второго уровня.
+     */
+    private final ProjectCacheInvalidator projectCacheInvalidator;
+
+    /**
+     * Фабрика entity manager-ов.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Получить статистику регионов кеша.
+     *
+     * @return статистика регионов кеша, пусто - если кеш выключен
+     */
+    @ReadOperation
+    public List<ProjectCacheRegionStatsTo> getStats() {
+        if (!projectCacheProperties.isEnabled()) {
+            return List.of();
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return ProjectCacheConfiguration.REGIONS.stream()
+            .map(region -> {
+                CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                long requests = stats.getHitCount() + stats.getMissCount();
+                return ProjectCacheRegionStatsTo.builder()
+                    .region(region)
+                    .size(stats.getElementCountInMemory())
+                    .hitCount(stats.getHitCount())
+                    .missCount(stats.getMissCount())
+                    .putCount(stats.getPutCount())
+                    .hitRate(requests == 0 ? 1.0 : (double) stats.getHitCount() / requests)
+                    .build();
+            })
+            .toList();
+    }
+
+    /**
+     * Очистить кеш.
+     */
+    @DeleteOperation
+    public void evictAll() {
+        projectCacheInvalidator.evictAll();
+    }
+}
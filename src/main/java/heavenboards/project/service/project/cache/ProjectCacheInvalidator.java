@@ -0,0 +1,107 @@
+package heavenboards.project.service.project.cache;
+
+import heavenboards.project.service.project.domain.ProjectEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Сброс кеша второго уровня после изменений в обход Hibernate.
+ * Условные изменения проектов и перерасчет весов выполняются SQL-запросами,
+ * а добавление участника не обновляет закешированную коллекцию участников проекта.
+ * Сброс выполняется после коммита, чтобы параллельное чтение не вернуло в кеш
+ * незакоммиченное состояние. Чтение, начавшееся до коммита, все равно может положить
+ * в кеш старую строку, а изменения других инстансов локальный кеш не сбрасывают,
+ * поэтому чтение проекта сверяет закешированную версию с версией в базе.
+ * Закодированные ответы с проектом после изменений не сбрасываются: все изменения
+ * увеличивают версию проекта, а она входит в ключ ответа, поэтому старые ответы
+ * просто перестают запрашиваться и вытесняются по времени жизни.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectCacheInvalidator {
+    /**
+     * Фабрика entity manager-ов.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Кеш закодированных ответов с проектом.
+     */
+    private final ProjectResponseCache projectResponseCache;
+
+    /**
+     * Сбросить проект после коммита текущей транзакции.
+     *
+     * @param projectId - идентификатор проекта
+     */
+    public void evictProjectAfterCommit(final UUID projectId) {
+        afterCommit(() -> cache().evictEntityData(ProjectEntity.class, projectId));
+    }
+
+    /**
+     * Сбросить коллекцию участников проекта после коммита текущей транзакции.
+     *
+     * @param projectId - идентификатор проекта
+     */
+    public void evictProjectUsersAfterCommit(final UUID projectId) {
+        afterCommit(() -> cache()
+            .evictCollectionData(ProjectCacheConfiguration.PROJECT_USERS_REGION, projectId));
+    }
+
+    /**
+     * Сразу сбросить проект и коллекцию его участников.
+     * Нужен, когда в кеше оказался проект старше версии в базе: строка, прочитанная
+     * до коммита изменения и положенная в кеш после его сброса, или проект,
+     * измененный другим инстансом.
+     *
+     * @param projectId - идентификатор проекта
+     */
+    public void evictProject(final UUID projectId) {
+        Cache cache = cache();
+        cache.evictEntityData(ProjectEntity.class, projectId);
+        cache.evictCollectionData(ProjectCacheConfiguration.PROJECT_USERS_REGION, projectId);
+    }
+
+    /**
+     * Сбросить все регионы кеша и закодированные ответы с проектом.
+     */
+    public void evictAll() {
+        cache().evictAllRegions();
+        projectResponseCache.invalidateAll();
+    }
+
+    /**
+     * Кеш второго уровня.
+     *
+     * @return кеш второго уровня
+     */
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Выполнить действие после коммита текущей транзакции или сразу, если ее нет.
+     *
+     * @param action - действие
+     */
+    private void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package heavenboards.project.service.project.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кеша второго уровня для проектов и их участников.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.second-level-cache")
+public class ProjectCacheProperties {
+    /**
+     * Включен ли кеш.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальное количество записей в каждом регионе кеша.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Время жизни записи в кеше с момента записи.
+     * Ограничивает устаревание при изменениях из других инстансов.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,136 @@
+package heavenboards.project.service.project.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import heavenboards.project.service.codec.EncodedBody;
+import heavenboards.project.service.codec.ResponseFormat;
+import heavenboards.project.service.project.service.ProjectFields;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Кеш закодированных ответов с проектом по версии проекта.
+ * При попадании байты пишутся в ответ без загрузки проекта, вызова сервиса пользователей
+ * и сериализации. Размер кеша ограничен суммарным размером тел.
+ * Версия входит в ключ, поэтому после изменения проекта ответы прошлой версии
+ * не удаляются, а перестают запрашиваться и вытесняются по размеру или времени жизни.
+ */
+@Component
+public class ProjectResponseCache implements MeterBinder {
+    /**
+     * Название кеша в метриках.
+     */
+    public static final String CACHE_NAME = "project.response";
+
+    /**
+     * Доля попаданий в кеш.
+     */
+    public static final String HIT_RATIO_METRIC = "project.response-cache.hit-ratio";
+
+    /**
+     * Примерный размер ключа и служебных объектов записи в байтах.
+     */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    /**
+     * Включен ли кеш.
+     */
+    private final boolean enabled;
+
+    /**
+     * Закодированные ответы по проекту, версии и формату.
+     */
+    private final Cache<Key, EncodedBody> cache;
+
+    /**
+     * Создание кеша по настройкам.
+     *
+     * @param properties - настройки кеша ответов
+     */
+    public ProjectResponseCache(final ProjectResponseCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumSize().toBytes())
+            .weigher((Key key, EncodedBody body) -> body.bytes().length + ENTRY_OVERHEAD)
+            .expireAfterWrite(properties.getExpireAfterWrite())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Получить закодированный ответ.
+     *
+     * @param key - проект, версия и формат ответа
+     * @return закодированный ответ или null, если его нет в кеше
+     */
+    public EncodedBody get(final Key key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    /**
+     * Сохранить закодированный ответ.
+     * Частичные ответы сохранять нельзя: ключ не отличает их от полных.
+     *
+     * @param key  - проект, версия и формат ответа
+     * @param body - закодированный ответ
+     */
+    public void put(final Key key, final EncodedBody body) {
+        if (enabled) {
+            cache.put(key, body);
+        }
+    }
+
+    /**
+     * Очистить кеш.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Текущее количество ответов в кеше.
+     *
+     * @return количество ответов
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Зарегистрировать метрики попаданий, промахов, вытеснений и долю попаданий.
+     *
+     * @param registry - реестр метрик
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METRIC, cache, value -> value.stats().hitRate())
+            .description("Доля ответов с проектом, отданных из кеша")
+            .register(registry);
+    }
+
+    /**
+     * Ключ закодированного ответа.
+     *
+     * @param projectId - идентификатор проекта
+     * @param version   - версия проекта
+     * @param fields    - запрошенные поля проекта
+     * @param format    - формат тела ответа
+     */
+    public record Key(UUID projectId, int version, ProjectFields fields, ResponseFormat format) {
+        /**
+         * Ключ того же ответа другой версии проекта.
+         *
+         * @param newVersion - версия проекта
+         * @return ключ
+         */
+        public Key withVersion(final int newVersion) {
+            return new Key(projectId, newVersion, fields, format);
+        }
+    }
+}
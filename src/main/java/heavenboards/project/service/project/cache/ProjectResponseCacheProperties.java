@@ -0,0 +1,31 @@
+package heavenboards.project.service.project.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки кеша закодированных ответов с проектом.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.response-cache")
+public class ProjectResponseCacheProperties {
+    /**
+     * Включен ли кеш.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальный суммарный размер закодированных ответов в кеше.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Время жизни ответа в кеше с момента записи.
+     * Данные участников приходят из сервиса пользователей и не меняют версию проекта,
+     * поэтому не должны жить дольше кеша пользователей.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
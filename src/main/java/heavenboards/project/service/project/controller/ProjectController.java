@@ -1,20 +1,49 @@
 package heavenboards.project.service.project.controller;
 
+import heavenboards.project.service.codec.BodyEncoder;
+import heavenboards.project.service.codec.EncodedBody;
+import heavenboards.project.service.codec.ResponseFormat;
+import heavenboards.project.service.project.cache.ProjectResponseCache;
+import heavenboards.project.service.project.dto.ProjectBatchGetRequestTo;
+import heavenboards.project.service.project.dto.ProjectBatchGetResultTo;
+import heavenboards.project.service.project.dto.ProjectBatchRequestTo;
+import heavenboards.project.service.project.dto.ProjectChangePageTo;
+import heavenboards.project.service.project.dto.ProjectMembershipCheckRequestTo;
+import heavenboards.project.service.project.dto.ProjectMembershipTo;
+import heavenboards.project.service.project.dto.ProjectMoveRequestTo;
+import heavenboards.project.service.project.dto.ProjectPageTo;
+import heavenboards.project.service.project.service.ProjectChangeFeedUseCase;
 import heavenboards.project.service.project.service.ProjectCreateUseCase;
+import heavenboards.project.service.project.service.ProjectFields;
 import heavenboards.project.service.project.service.ProjectFindUseCase;
+import heavenboards.project.service.project.service.ProjectMembershipCheckUseCase;
+import heavenboards.project.service.project.service.ProjectMoveUseCase;
 import heavenboards.project.service.project.service.ProjectUpdateUseCase;
+import heavenboards.project.service.project.service.Versioned;
+import heavenboards.project.service.project.stream.ProjectChangeDispatcher;
+import heavenboards.project.service.user.service.UserDegradation;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import transfer.contract.domain.project.ProjectOperationResultTo;
 import transfer.contract.domain.project.ProjectTo;
 
@@ -45,27 +74,216 @@ public class ProjectController {
      */
     private final ProjectUpdateUseCase projectUpdateUseCase;
 
+    /**
+     * Use case проверки участия пользователя в проекте.
+     */
+    private final ProjectMembershipCheckUseCase projectMembershipCheckUseCase;
+
+    /**
+     * Use case переноса проекта.
+     */
+    private final ProjectMoveUseCase projectMoveUseCase;
+
+    /**
+     * Use case получения журнала изменений проектов.
+     */
+    private final ProjectChangeFeedUseCase projectChangeFeedUseCase;
+
+    /**
+     * Рассылка изменений проектов подключенным пользователям.
+     */
+    private final ProjectChangeDispatcher projectChangeDispatcher;
+
+    /**
+     * Кеш закодированных ответов с проектом.
+     */
+    private final ProjectResponseCache projectResponseCache;
+
+    /**
+     * Кодирование тел ответов.
+     */
+    private final BodyEncoder bodyEncoder;
+
     /**
      * Поиск проекта по идентификатору.
      *
-     * @param id - идентификатор проекта
-     * @return данные проекта
+     * Если версия проекта совпадает с заголовком If-None-Match, возвращается 304
+     * без загрузки проекта и запросов в сервис пользователей. Если в fields нет users,
+     * участники не загружаются и сервис пользователей не вызывается.
+     *
+     * Тело кодируется заранее и кешируется по версии проекта, полям и формату ответа,
+     * поэтому повторное чтение той же версии отдает готовые байты. Частичный ответ
+     * не кешируется.
+     *
+     * @param id          - идентификатор проекта
+     * @param fields      - поля проекта через запятую, по умолчанию все
+     * @param ifNoneMatch - entity tag версии, уже полученной клиентом
+     * @param accept      - принимаемые типы содержимого
+     * @param encoding    - принимаемые кодирования тела
+     * @return данные проекта с версией в заголовке ETag
      */
     @GetMapping("/{id}")
     @Operation(summary = "Поиск проекта по идентификатору")
-    public ProjectTo findProjectById(final @PathVariable UUID id) {
-        return projectFindUseCase.findProjectById(id);
+    @ApiResponse(responseCode = "200",
+        content = @Content(schema = @Schema(implementation = ProjectTo.class)))
+    public ResponseEntity<byte[]> findProjectById(
+        final @PathVariable UUID id,
+        final @RequestParam(required = false) String fields,
+        final @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        final @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+        final @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding
+    ) {
+        ProjectFields projectFields = ProjectFields.parse(fields);
+        ResponseFormat format = ResponseFormat.negotiate(accept, encoding);
+        int version = projectFindUseCase.findProjectVersion(id);
+        String matchedETag = ProjectEntityTag.matching(ifNoneMatch, version, projectFields, format);
+        if (matchedETag != null) {
+            return notModified(matchedETag, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        var key = new ProjectResponseCache.Key(id, version, projectFields, format);
+        EncodedBody body = projectResponseCache.get(key);
+        if (body == null) {
+            Versioned<ProjectTo> project = projectFindUseCase
+                .findProjectById(id, projectFields, version);
+            body = bodyEncoder.encode(project.value(), format);
+            version = project.version();
+            if (!UserDegradation.isCurrentRequestPartial()) {
+                projectResponseCache.put(key.withVersion(version), body);
+            }
+        }
+
+        String eTag = ProjectEntityTag.of(version, projectFields, body.mediaType(), body.gzip());
+        return encoded(tagged(eTag, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), body);
     }
 
     /**
      * Получить все проекты пользователя.
+     * Entity tag списка - отпечаток пар (проект, версия) пользователя. Если он совпадает
+     * с заголовком If-None-Match, возвращается 304 без загрузки проектов.
      *
+     * @param fields      - поля проектов через запятую, по умолчанию все
+     * @param ifNoneMatch - entity tag списка, уже полученного клиентом
+     * @param accept      - принимаемые типы содержимого
      * @return все проекты пользователя
      */
     @GetMapping
     @Operation(summary = "Получить все проекты пользователя")
-    public List<ProjectTo> findUserProjects() {
-        return projectFindUseCase.findUserProjects();
+    public ResponseEntity<List<ProjectTo>> findUserProjects(
+        final @RequestParam(required = false) String fields,
+        final @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        final @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        ProjectFields projectFields = ProjectFields.parse(fields);
+        // Список пишет конвертер Spring MVC без сжатия, в entity tag входит только тип
+        ResponseFormat format = ResponseFormat.negotiate(accept, null);
+        String eTag = ProjectEntityTag.of(projectFindUseCase.findUserProjectsDigest(),
+            projectFields, format.mediaType(), false);
+        if (ProjectEntityTag.matches(ifNoneMatch, eTag)) {
+            return notModified(eTag, HttpHeaders.ACCEPT);
+        }
+
+        // Проекты получаются до построения ответа, чтобы знать, полные ли данные
+        List<ProjectTo> projects = projectFindUseCase.findUserProjects(projectFields);
+        return tagged(eTag, HttpHeaders.ACCEPT)
+            .contentType(format.mediaType())
+            .body(projects);
+    }
+
+    /**
+     * Получить страницу проектов пользователя в порядке веса позиции.
+     *
+     * @param cursor - курсор, полученный с предыдущей страницей
+     * @param limit  - размер страницы
+     * @param fields - поля проектов через запятую, по умолчанию все
+     * @return страница проектов пользователя
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Получить страницу проектов пользователя")
+    public ProjectPageTo findUserProjectsPage(
+        final @RequestParam(required = false) String cursor,
+        final @RequestParam(defaultValue = "50") int limit,
+        final @RequestParam(required = false) String fields
+    ) {
+        return projectFindUseCase.findUserProjectsPage(cursor, limit, ProjectFields.parse(fields));
+    }
+
+    /**
+     * Получить изменения проектов пользователя после порядкового номера.
+     *
+     * @param after - порядковый номер последнего полученного изменения
+     * @param limit - размер страницы
+     * @return страница изменений
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Получить изменения проектов пользователя")
+    public ProjectChangePageTo findUserChanges(
+        final @RequestParam(defaultValue = "0") long after,
+        final @RequestParam(defaultValue = "100") int limit
+    ) {
+        return projectChangeFeedUseCase.findUserChanges(after, limit);
+    }
+
+    /**
+     * Подключиться к потоку изменений проектов пользователя.
+     *
+     * Каждое событие несет порядковый номер изменения в качестве идентификатора.
+     * При переподключении с заголовком Last-Event-ID пропущенные изменения досылаются,
+     * а если их слишком много - приходит событие reset.
+     *
+     * @param lastEventId - идентификатор последнего полученного события
+     * @return поток событий изменений проектов
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Подключиться к потоку изменений проектов пользователя")
+    public SseEmitter streamUserChanges(
+        final @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return projectChangeDispatcher.subscribe(lastEventId);
+    }
+
+    /**
+     * Получить проекты по идентификаторам.
+     *
+     * @param request - идентификаторы проектов
+     * @param fields  - поля проектов через запятую, по умолчанию все
+     * @return найденные проекты и идентификаторы ненайденных
+     */
+    @PostMapping("/batch-get")
+    @Operation(summary = "Получить проекты по идентификаторам")
+    public ProjectBatchGetResultTo findProjectsByIds(
+        final @Valid @RequestBody ProjectBatchGetRequestTo request,
+        final @RequestParam(required = false) String fields
+    ) {
+        return projectFindUseCase.findProjectsByIds(request.getIds(), ProjectFields.parse(fields));
+    }
+
+    /**
+     * Проверить участие пользователя в проекте.
+     *
+     * @param id     - идентификатор проекта
+     * @param userId - идентификатор пользователя
+     * @return участие пользователя в проекте
+     */
+    @GetMapping("/{id}/members/{userId}")
+    @Operation(summary = "Проверить участие пользователя в проекте")
+    public ProjectMembershipTo checkMembership(final @PathVariable UUID id,
+                                               final @PathVariable UUID userId) {
+        return projectMembershipCheckUseCase.checkMembership(id, userId);
+    }
+
+    /**
+     * Проверить участие пользователей в проектах.
+     *
+     * @param request - пары проект-пользователь
+     * @return участие пользователей в проектах в порядке запроса
+     */
+    @PostMapping("/membership-check")
+    @Operation(summary = "Проверить участие пользователей в проектах")
+    public List<ProjectMembershipTo> checkMemberships(
+        final @Valid @RequestBody ProjectMembershipCheckRequestTo request
+    ) {
+        return projectMembershipCheckUseCase.checkMemberships(request.getMemberships());
     }
 
     /**
@@ -82,13 +300,138 @@ public class ProjectController {
 
     /**
      * Обновить проект.
+     * С заголовком If-Match проект обновляется, только если его версия не изменилась,
+     * иначе возвращается 412 Precondition Failed.
      *
      * @param project - данные проекта.
-     * @return результат операции обновления
+     * @param ifMatch - entity tag версии, полученной вместе с проектом
+     * @return результат операции обновления с новой версией в заголовке ETag
      */
     @PutMapping
     @Operation(summary = "Обновить проект")
-    public ProjectOperationResultTo updateProject(final @Valid @RequestBody ProjectTo project) {
-        return projectUpdateUseCase.updateProject(project);
+    public ResponseEntity<ProjectOperationResultTo> updateProject(
+        final @Valid @RequestBody ProjectTo project,
+        final @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return versioned(projectUpdateUseCase
+            .updateProject(project, ProjectEntityTag.parseIfMatch(ifMatch)));
+    }
+
+    /**
+     * Перенести проект между соседними проектами.
+     * Меняется только вес позиции переносимого проекта.
+     *
+     * @param id      - идентификатор проекта
+     * @param request - соседи проекта после переноса
+     * @param ifMatch - entity tag версии, полученной вместе с проектом
+     * @return результат операции переноса с новой версией в заголовке ETag
+     */
+    @PostMapping("/{id}/move")
+    @Operation(summary = "Перенести проект между соседними проектами")
+    public ResponseEntity<ProjectOperationResultTo> moveProject(
+        final @PathVariable UUID id,
+        final @RequestBody ProjectMoveRequestTo request,
+        final @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return versioned(projectMoveUseCase
+            .moveProject(id, request, ProjectEntityTag.parseIfMatch(ifMatch)));
+    }
+
+    /**
+     * Создать проекты пачкой.
+     *
+     * @param request - данные проектов
+     * @return результаты операций создания в порядке проектов
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Создать проекты пачкой")
+    public List<ProjectOperationResultTo> createProjects(
+        final @Valid @RequestBody ProjectBatchRequestTo request
+    ) {
+        return projectCreateUseCase.createProjects(request.getProjects());
+    }
+
+    /**
+     * Обновить проекты пачкой.
+     *
+     * @param request - данные проектов
+     * @return результаты операций обновления в порядке проектов
+     */
+    @PutMapping("/batch")
+    @Operation(summary = "Обновить проекты пачкой")
+    public List<ProjectOperationResultTo> updateProjects(
+        final @Valid @RequestBody ProjectBatchRequestTo request
+    ) {
+        return projectUpdateUseCase.updateProjects(request.getProjects());
+    }
+
+    /**
+     * Ответ 304 с entity tag.
+     * Заголовок Vary тот же, что у ответа 200, иначе кеш на пути к клиенту
+     * обновил бы сохраненный ответ с другим набором заголовков выбора.
+     *
+     * @param eTag - entity tag
+     * @param vary - заголовки запроса, по которым выбирается представление
+     * @param <T>  - тип тела ответа
+     * @return ответ без тела
+     */
+    private <T> ResponseEntity<T> notModified(final String eTag, final String... vary) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(eTag)
+            .varyBy(vary)
+            .build();
+    }
+
+    /**
+     * Успешный ответ с entity tag.
+     * Частичному ответу entity tag не ставится, иначе клиент подтверждал бы по нему
+     * неполные данные и после восстановления сервиса пользователей.
+     * Представление выбирается по заголовкам запроса, поэтому ответ помечается заголовком Vary.
+     *
+     * @param eTag - entity tag
+     * @param vary - заголовки запроса, по которым выбирается представление
+     * @return построитель ответа
+     */
+    private ResponseEntity.BodyBuilder tagged(final String eTag, final String... vary) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(vary);
+        if (!UserDegradation.isCurrentRequestPartial()) {
+            response.eTag(eTag);
+        }
+
+        return response;
+    }
+
+    /**
+     * Ответ с заранее закодированным телом.
+     *
+     * @param response - построитель ответа
+     * @param body     - закодированное тело
+     * @return ответ
+     */
+    private ResponseEntity<byte[]> encoded(final ResponseEntity.BodyBuilder response,
+                                           final EncodedBody body) {
+        response.contentType(body.mediaType());
+        if (body.gzip()) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body.bytes());
+    }
+
+    /**
+     * Ответ с результатом операции и новой версией проекта в заголовке ETag.
+     *
+     * @param result - результат операции и версия проекта
+     * @return ответ
+     */
+    private ResponseEntity<ProjectOperationResultTo> versioned(
+        final Versioned<ProjectOperationResultTo> result
+    ) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.version() != null) {
+            response.eTag(ProjectEntityTag.of(result.version()));
+        }
+
+        return response.body(result.value());
     }
 }
@@ -0,0 +1,145 @@
+package heavenboards.project.service.project.controller;
+
+import heavenboards.project.service.codec.ResponseFormat;
+import heavenboards.project.service.project.service.ProjectFields;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+/**
+ * Entity tag проекта по его версии.
+ */
+final class ProjectEntityTag {
+    /**
+     * Обозначение сжатого тела в entity tag.
+     */
+    private static final String GZIP = "gzip";
+
+    /**
+     * Utility-класс.
+     */
+    private ProjectEntityTag() {
+    }
+
+    /**
+     * Entity tag версии проекта.
+     *
+     * @param version - версия проекта
+     * @return строгий entity tag в кавычках
+     */
+    static String of(final int version) {
+        return of(String.valueOf(version));
+    }
+
+    /**
+     * Entity tag по значению.
+     *
+     * @param value - значение, например отпечаток набора проектов
+     * @return строгий entity tag в кавычках
+     */
+    static String of(final String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * Entity tag представления с запрошенными полями в выбранном формате.
+     * У неполного представления, у каждого типа содержимого и у сжатого тела свой
+     * entity tag, чтобы разные представления одной версии не подтверждали друг друга.
+     * У полного представления в JSON без сжатия entity tag - само значение.
+     *
+     * @param value     - значение, например версия проекта
+     * @param fields    - запрошенные поля проекта
+     * @param mediaType - тип содержимого тела
+     * @param gzip      - сжато ли тело gzip
+     * @return строгий entity tag в кавычках
+     */
+    static String of(final Object value, final ProjectFields fields,
+                     final MediaType mediaType, final boolean gzip) {
+        StringBuilder tag = new StringBuilder(String.valueOf(value));
+        if (!ProjectFields.ALL.equals(fields)) {
+            tag.append(';').append(fields.canonical());
+        }
+        if (!MediaType.APPLICATION_JSON.equals(mediaType)) {
+            tag.append(';').append(mediaType.getSubtype());
+        }
+        if (gzip) {
+            tag.append(';').append(GZIP);
+        }
+
+        return of(tag.toString());
+    }
+
+    /**
+     * Entity tag из заголовка If-None-Match, подтверждающий представление в выбранном формате.
+     * Сожмется ли тело, зависит от его размера и до кодирования неизвестно, поэтому
+     * проверяются entity tag-и и сжатого, и несжатого тела.
+     *
+     * @param ifNoneMatch - значение заголовка If-None-Match
+     * @param value       - значение, например версия проекта
+     * @param fields      - запрошенные поля проекта
+     * @param format      - формат тела ответа
+     * @return совпавший entity tag или null, если совпадения нет
+     */
+    static String matching(final String ifNoneMatch, final Object value,
+                           final ProjectFields fields, final ResponseFormat format) {
+        String eTag = of(value, fields, format.mediaType(), false);
+        if (matches(ifNoneMatch, eTag)) {
+            return eTag;
+        }
+
+        String gzipETag = of(value, fields, format.mediaType(), true);
+        return format.gzipAccepted() && matches(ifNoneMatch, gzipETag) ? gzipETag : null;
+    }
+
+    /**
+     * Совпадает ли entity tag с одним из перечисленных в заголовке If-None-Match.
+     * Сравнение слабое, как требует RFC 9110 для If-None-Match.
+     *
+     * @param ifNoneMatch - значение заголовка If-None-Match
+     * @param eTag        - текущий entity tag
+     * @return совпадает ли entity tag
+     */
+    static boolean matches(final String ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .anyMatch(tag -> "*".equals(tag) || eTag.equals(tag));
+    }
+
+    /**
+     * Ожидаемая версия проекта из заголовка If-Match.
+     * Entity tag неполного представления тоже подходит: версия стоит в нем до ';'.
+     *
+     * @param ifMatch - значение заголовка If-Match
+     * @return ожидаемая версия или null, если заголовка нет или он равен *
+     */
+    static Integer parseIfMatch(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Некорректный заголовок If-Match: " + ifMatch);
+        }
+
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf(';');
+        try {
+            return Integer.valueOf(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Некорректный заголовок If-Match: " + ifMatch, exception);
+        }
+    }
+}
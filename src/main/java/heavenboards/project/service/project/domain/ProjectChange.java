@@ -0,0 +1,14 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.UUID;
+
+/**
+ * Изменение полей проекта.
+ *
+ * @param id              - идентификатор проекта
+ * @param name            - новое название
+ * @param positionWeight  - новый вес позиции
+ * @param expectedVersion - ожидаемая текущая версия, null - без проверки версии
+ */
+public record ProjectChange(UUID id, String name, Integer positionWeight, Integer expectedVersion) {
+}
@@ -0,0 +1,21 @@
+package heavenboards.project.service.project.domain;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Опубликованное изменение проекта.
+ *
+ * @param sequence   - порядковый номер изменения
+ * @param projectId  - идентификатор проекта
+ * @param changeType - тип изменения
+ * @param userIds    - пользователи, которых касается изменение
+ * @param occurredAt - время изменения
+ */
+public record ProjectChangeLogEntry(long sequence,
+                                    UUID projectId,
+                                    ProjectChangeType changeType,
+                                    List<UUID> userIds,
+                                    Instant occurredAt) {
+}
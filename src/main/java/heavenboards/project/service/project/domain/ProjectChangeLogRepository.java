@@ -0,0 +1,145 @@
+package heavenboards.project.service.project.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Репозиторий журнала опубликованных изменений проектов.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectChangeLogRepository {
+    /**
+     * Изменения, касающиеся пользователя, после порядкового номера.
+     */
+    private static final String SELECT_USER_ENTRIES_AFTER = "SELECT sequence, project_id, "
+        + "change_type, user_ids, occurred_at FROM project_change_log "
+        + "WHERE sequence > :after AND user_ids @> ARRAY[CAST(:userId AS uuid)] "
+        + "ORDER BY sequence LIMIT :limit";
+
+    /**
+     * Все изменения после порядкового номера.
+     */
+    private static final String SELECT_ENTRIES_AFTER = "SELECT sequence, project_id, "
+        + "change_type, user_ids, occurred_at FROM project_change_log "
+        + "WHERE sequence > :after ORDER BY sequence LIMIT :limit";
+
+    /**
+     * Порядковый номер последнего изменения, в том числе уже удаленного из журнала.
+     */
+    private static final String SELECT_LAST_SEQUENCE = "SELECT greatest("
+        + "(SELECT coalesce(max(sequence), 0) FROM project_change_log), "
+        + "(SELECT coalesce(max(sequence), 0) FROM project_change_log_horizon))";
+
+    /**
+     * Порядковый номер последнего удаленного из журнала изменения.
+     */
+    private static final String SELECT_TRUNCATED_SEQUENCE =
+        "SELECT coalesce(max(sequence), 0) FROM project_change_log_horizon";
+
+    /**
+     * Удаление изменений старше момента времени с запоминанием наибольшего удаленного номера
+     * в том же запросе.
+     */
+    private static final String DELETE_OCCURRED_BEFORE = "WITH deleted AS ("
+        + "DELETE FROM project_change_log WHERE occurred_at < :before RETURNING sequence), "
+        + "horizon AS (INSERT INTO project_change_log_horizon (id, sequence) "
+        + "SELECT 1, max(sequence) FROM deleted HAVING count(*) > 0 "
+        + "ON CONFLICT (id) DO UPDATE SET sequence = "
+        + "greatest(project_change_log_horizon.sequence, excluded.sequence)) "
+        + "SELECT count(*) FROM deleted";
+
+    /**
+     * Преобразование строки журнала в изменение.
+     */
+    private static final RowMapper<ProjectChangeLogEntry> ENTRY_ROW_MAPPER =
+        (rs, rowNum) -> new ProjectChangeLogEntry(
+            rs.getLong(1),
+            rs.getObject(2, UUID.class),
+            ProjectChangeType.valueOf(rs.getString(3)),
+            List.of((UUID[]) rs.getArray(4).getArray()),
+            rs.getTimestamp(5).toInstant());
+
+    /**
+     * Jdbc-шаблон с именованными параметрами.
+     */
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Найти изменения, касающиеся пользователя, после порядкового номера.
+     *
+     * @param userId - идентификатор пользователя
+     * @param after  - порядковый номер последнего полученного изменения
+     * @param limit  - максимальное количество изменений
+     * @return изменения в порядке номеров
+     */
+    public List<ProjectChangeLogEntry> findUserEntriesAfter(final UUID userId,
+                                                            final long after,
+                                                            final int limit) {
+        return jdbcTemplate.query(SELECT_USER_ENTRIES_AFTER,
+            new MapSqlParameterSource("userId", userId)
+                .addValue("after", after)
+                .addValue("limit", limit),
+            ENTRY_ROW_MAPPER);
+    }
+
+    /**
+     * Найти все изменения после порядкового номера.
+     *
+     * @param after - порядковый номер последнего обработанного изменения
+     * @param limit - максимальное количество изменений
+     * @return изменения в порядке номеров
+     */
+    public List<ProjectChangeLogEntry> findEntriesAfter(final long after, final int limit) {
+        return jdbcTemplate.query(SELECT_ENTRIES_AFTER,
+            new MapSqlParameterSource("after", after)
+                .addValue("limit", limit),
+            ENTRY_ROW_MAPPER);
+    }
+
+    /**
+     * Найти порядковый номер последнего изменения.
+     * Если все изменения удалены по сроку хранения, это номер последнего удаленного.
+     *
+     * @return порядковый номер, 0 - если изменений еще не было
+     */
+    public long findLastSequence() {
+        Long sequence = jdbcTemplate.queryForObject(SELECT_LAST_SEQUENCE,
+            new MapSqlParameterSource(), Long.class);
+        return sequence == null ? 0 : sequence;
+    }
+
+    /**
+     * Найти порядковый номер последнего удаленного из журнала изменения.
+     * Клиент, получивший изменения до этого номера, мог пропустить удаленные изменения.
+     *
+     * @return порядковый номер, 0 - если из журнала ничего не удалялось
+     */
+    public long findTruncatedSequence() {
+        Long sequence = jdbcTemplate.queryForObject(SELECT_TRUNCATED_SEQUENCE,
+            new MapSqlParameterSource(), Long.class);
+        return sequence == null ? 0 : sequence;
+    }
+
+    /**
+     * Удалить изменения старше момента времени.
+     * Наибольший удаленный порядковый номер запоминается, чтобы отличать
+     * пропущенные изменения от их отсутствия.
+     *
+     * @param before - момент времени
+     * @return количество удаленных изменений
+     */
+    public int deleteOccurredBefore(final Instant before) {
+        Integer deleted = jdbcTemplate.queryForObject(DELETE_OCCURRED_BEFORE,
+            new MapSqlParameterSource("before", Timestamp.from(before)), Integer.class);
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -0,0 +1,21 @@
+package heavenboards.project.service.project.domain;
+
+/**
+ * Тип изменения проекта в журнале изменений.
+ */
+public enum ProjectChangeType {
+    /**
+     * Проект создан.
+     */
+    CREATED,
+
+    /**
+     * Изменены поля или участники проекта.
+     */
+    UPDATED,
+
+    /**
+     * Изменен вес позиции проекта.
+     */
+    MOVED
+}
@@ -0,0 +1,273 @@
+package heavenboards.project.service.project.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Репозиторий условных изменений проектов.
+ * Проверка участия пользователя, проверка версии и запись выполняются одним запросом
+ * без загрузки сущности, поэтому строка блокируется только на время самого изменения.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectCommandRepository {
+    /**
+     * Изменение проекта, если пользователь его участник и версия совпадает с ожидаемой.
+     */
+    private static final String UPDATE_IF_MEMBER = "UPDATE project_entity p "
+        + "SET name = :name, position_weight = :positionWeight, version = p.version + 1 "
+        + "WHERE p.id = :id "
+        + "AND (CAST(:expectedVersion AS integer) IS NULL OR p.version = :expectedVersion) "
+        + "AND EXISTS (SELECT 1 FROM project_user_entity pu "
+        + "WHERE pu.project_id = p.id AND pu.user_id = :userId)";
+
+    /**
+     * Перенос проекта на новый вес позиции, если пользователь его участник
+     * и версия совпадает с ожидаемой.
+     */
+    private static final String MOVE_IF_MEMBER = "UPDATE project_entity p "
+        + "SET position_weight = :positionWeight, version = p.version + 1 "
+        + "WHERE p.id = :id "
+        + "AND (CAST(:expectedVersion AS integer) IS NULL OR p.version = :expectedVersion) "
+        + "AND EXISTS (SELECT 1 FROM project_user_entity pu "
+        + "WHERE pu.project_id = p.id AND pu.user_id = :userId) "
+        + "RETURNING p.version";
+
+    /**
+     * Позиции проектов, в которых пользователь участник.
+     */
+    private static final String SELECT_MEMBER_POSITIONS = "SELECT p.id, p.position_weight, "
+        + "p.version FROM project_entity p WHERE p.id IN (:ids) "
+        + "AND EXISTS (SELECT 1 FROM project_user_entity pu "
+        + "WHERE pu.project_id = p.id AND pu.user_id = :userId)";
+
+    /**
+     * Проекты пользователя вокруг опорного: до limit проектов не после опорного,
+     * включая его, и до limit проектов после него. Сторона проекта отмечается вторым
+     * столбцом: 0 - не после опорного, 1 - после.
+     */
+    private static final String SELECT_MEMBER_WINDOW = "SELECT id, side, position_weight, "
+        + "version FROM ((SELECT DISTINCT p.id, 0 AS side, p.position_weight, p.version "
+        + "FROM project_user_entity pu INNER JOIN project_entity p ON p.id = pu.project_id "
+        + "WHERE pu.user_id = :userId AND (p.position_weight, p.id) <= (:positionWeight, :id) "
+        + "AND (CAST(:excludedId AS uuid) IS NULL OR p.id <> :excludedId) "
+        + "ORDER BY p.position_weight DESC, p.id DESC LIMIT :limit) "
+        + "UNION ALL (SELECT DISTINCT p.id, 1 AS side, p.position_weight, p.version "
+        + "FROM project_user_entity pu INNER JOIN project_entity p ON p.id = pu.project_id "
+        + "WHERE pu.user_id = :userId AND (p.position_weight, p.id) > (:positionWeight, :id) "
+        + "AND (CAST(:excludedId AS uuid) IS NULL OR p.id <> :excludedId) "
+        + "ORDER BY p.position_weight, p.id LIMIT :limit)) w "
+        + "ORDER BY position_weight, id";
+
+    /**
+     * Блокировка строк проектов в порядке идентификаторов.
+     * Одинаковый порядок блокировки не дает перерасчетам с общими проектами
+     * взаимно заблокировать друг друга.
+     */
+    private static final String LOCK_POSITIONS = "SELECT id, position_weight, version "
+        + "FROM project_entity WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    /**
+     * Изменение весов позиций проектов.
+     * Меняются только строки, вес которых отличается от нового.
+     */
+    private static final String UPDATE_POSITIONS = "UPDATE project_entity p "
+        + "SET position_weight = v.position_weight, version = p.version + 1 "
+        + "FROM unnest(CAST(:ids AS uuid[]), CAST(:positionWeights AS integer[])) "
+        + "AS v(id, position_weight) "
+        + "WHERE p.id = v.id AND p.position_weight <> v.position_weight "
+        + "RETURNING p.id";
+
+    /**
+     * Преобразование строки в позицию проекта.
+     */
+    private static final RowMapper<ProjectPosition> POSITION_ROW_MAPPER =
+        (rs, rowNum) -> new ProjectPosition(rs.getObject("id", UUID.class),
+            rs.getInt("position_weight"), rs.getInt("version"));
+
+    /**
+     * Транзакционная advisory-блокировка порядка проектов пользователя.
+     */
+    private static final String LOCK_USER_PROJECT_ORDER = "SELECT pg_advisory_xact_lock("
+        + "hashtextextended('project-order:' || CAST(:userId AS text), 0))";
+
+    /**
+     * Jdbc-шаблон с именованными параметрами.
+     */
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Изменить проект, если пользователь его участник и версия совпадает с ожидаемой.
+     *
+     * @param change - изменение проекта
+     * @param userId - идентификатор пользователя
+     * @return новая версия проекта или пусто, если проект не изменен
+     */
+    public Optional<Integer> updateIfMember(final ProjectChange change, final UUID userId) {
+        return jdbcTemplate.query(UPDATE_IF_MEMBER + " RETURNING p.version",
+                parameters(change, userId), (rs, rowNum) -> rs.getInt(1))
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Изменить проекты одной JDBC-пачкой, если пользователь их участник
+     * и версии совпадают с ожидаемыми.
+     *
+     * @param changes - изменения проектов
+     * @param userId  - идентификатор пользователя
+     * @return количество измененных строк по каждому изменению в том же порядке
+     */
+    public int[] updateIfMember(final List<ProjectChange> changes, final UUID userId) {
+        if (changes.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(UPDATE_IF_MEMBER, changes.stream()
+            .map(change -> parameters(change, userId))
+            .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Параметры изменения проекта.
+     *
+     * @param change - изменение проекта
+     * @param userId - идентификатор пользователя
+     * @return параметры запроса
+     */
+    private MapSqlParameterSource parameters(final ProjectChange change, final UUID userId) {
+        return new MapSqlParameterSource("id", change.id())
+            .addValue("name", change.name())
+            .addValue("positionWeight", change.positionWeight())
+            .addValue("expectedVersion", change.expectedVersion(), Types.INTEGER)
+            .addValue("userId", userId);
+    }
+
+    /**
+     * Перенести проект на новый вес позиции, если пользователь его участник
+     * и версия совпадает с ожидаемой.
+     *
+     * @param id              - идентификатор проекта
+     * @param positionWeight  - новый вес позиции
+     * @param expectedVersion - ожидаемая текущая версия, null - без проверки версии
+     * @param userId          - идентификатор пользователя
+     * @return новая версия проекта или пусто, если проект не изменен
+     */
+    public Optional<Integer> moveIfMember(final UUID id,
+                                          final int positionWeight,
+                                          final Integer expectedVersion,
+                                          final UUID userId) {
+        return jdbcTemplate.query(MOVE_IF_MEMBER,
+                new MapSqlParameterSource("id", id)
+                    .addValue("positionWeight", positionWeight)
+                    .addValue("expectedVersion", expectedVersion, Types.INTEGER)
+                    .addValue("userId", userId),
+                (rs, rowNum) -> rs.getInt(1))
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Позиции проектов, в которых пользователь участник.
+     *
+     * @param ids    - идентификаторы проектов
+     * @param userId - идентификатор пользователя
+     * @return позиции по идентификатору проекта, чужих и отсутствующих проектов нет
+     */
+    public Map<UUID, ProjectPosition> findMemberPositions(final Collection<UUID> ids,
+                                                         final UUID userId) {
+        Map<UUID, ProjectPosition> positions = new HashMap<>();
+        jdbcTemplate.query(SELECT_MEMBER_POSITIONS,
+            new MapSqlParameterSource("ids", ids)
+                .addValue("userId", userId),
+            (RowCallbackHandler) rs -> positions.put(rs.getObject(1, UUID.class),
+                new ProjectPosition(rs.getObject(1, UUID.class), rs.getInt(2), rs.getInt(3))));
+        return positions;
+    }
+
+    /**
+     * Найти окно проектов пользователя вокруг опорного проекта.
+     * С каждой стороны читается на один проект больше радиуса: если он нашелся,
+     * он становится границей окна и в окно не входит.
+     *
+     * @param userId     - идентификатор пользователя
+     * @param anchor     - опорный проект
+     * @param excludedId - идентификатор проекта, не входящего в окно, null - без исключений
+     * @param radius     - количество проектов окна с каждой стороны от опорного
+     * @return окно проектов
+     */
+    public ProjectOrderWindow findMemberWindow(final UUID userId,
+                                               final ProjectPosition anchor,
+                                               final UUID excludedId,
+                                               final int radius) {
+        List<ProjectPosition> before = new ArrayList<>(radius + 1);
+        List<ProjectPosition> after = new ArrayList<>(radius + 1);
+        jdbcTemplate.query(SELECT_MEMBER_WINDOW,
+            new MapSqlParameterSource("userId", userId)
+                .addValue("positionWeight", anchor.positionWeight())
+                .addValue("id", anchor.id())
+                .addValue("excludedId", excludedId, Types.OTHER)
+                .addValue("limit", radius + 1),
+            (RowCallbackHandler) rs -> (rs.getInt("side") == 0 ? before : after)
+                .add(POSITION_ROW_MAPPER.mapRow(rs, rs.getRow())));
+
+        ProjectPosition lowerBound = before.size() > radius ? before.removeFirst() : null;
+        ProjectPosition upperBound = after.size() > radius ? after.removeLast() : null;
+        List<ProjectPosition> positions = new ArrayList<>(before);
+        positions.addAll(after);
+        return new ProjectOrderWindow(lowerBound, positions, upperBound);
+    }
+
+    /**
+     * Заблокировать строки проектов до конца транзакции в порядке идентификаторов.
+     *
+     * @param ids - идентификаторы проектов
+     * @return текущие позиции заблокированных проектов
+     */
+    public List<ProjectPosition> lockPositions(final Collection<UUID> ids) {
+        return jdbcTemplate.query(LOCK_POSITIONS, new MapSqlParameterSource("ids", ids),
+            POSITION_ROW_MAPPER);
+    }
+
+    /**
+     * Изменить веса позиций проектов одним запросом.
+     *
+     * @param positionWeights - новые веса позиций по идентификатору проекта
+     * @return идентификаторы проектов, вес которых изменился
+     */
+    public List<UUID> updatePositions(final Map<UUID, Integer> positionWeights) {
+        if (positionWeights.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(UPDATE_POSITIONS,
+            new MapSqlParameterSource("ids", positionWeights.keySet().toArray(UUID[]::new))
+                .addValue("positionWeights", positionWeights.values().toArray(Integer[]::new)),
+            (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    /**
+     * Взять транзакционную advisory-блокировку порядка проектов пользователя.
+     * Переносы и перерасчет весов одного пользователя выполняются последовательно.
+     *
+     * @param userId - идентификатор пользователя
+     */
+    public void lockUserProjectOrder(final UUID userId) {
+        jdbcTemplate.query(LOCK_USER_PROJECT_ORDER,
+            new MapSqlParameterSource("userId", userId), (RowCallbackHandler) rs -> {
+            });
+    }
+}
@@ -1,16 +1,20 @@
 package heavenboards.project.service.project.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.util.ArrayList;
@@ -27,6 +31,8 @@ import java.util.UUID;
 @Builder(toBuilder = true)
 @Accessors(chain = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "project_entity")
 public class ProjectEntity {
     /**
@@ -47,10 +53,18 @@ public class ProjectEntity {
      */
     private Integer positionWeight;
 
+    /**
+     * Версия проекта.
+     * Увеличивается при каждом изменении, нужна для обнаружения конкурентных изменений.
+     */
+    @Version
+    private Integer version;
+
     /**
      * Идентификаторы участников.
      */
     @Builder.Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "project", cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
     private List<ProjectUserEntity> users = new ArrayList<>();
 
@@ -94,6 +108,7 @@ public class ProjectEntity {
             + "id=" + id
             + ", name='" + name + '\''
             + ", positionWeight=" + positionWeight
+            + ", version=" + version
             + '}';
     }
 }
@@ -0,0 +1,22 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.UUID;
+
+/**
+ * Идентификатор и название проекта.
+ */
+public interface ProjectNameView {
+    /**
+     * Идентификатор.
+     *
+     * @return идентификатор проекта
+     */
+    UUID getId();
+
+    /**
+     * Название.
+     *
+     * @return название проекта
+     */
+    String getName();
+}
@@ -0,0 +1,23 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.List;
+
+/**
+ * Окно соседних проектов пользователя в порядке (positionWeight, id).
+ *
+ * @param lowerBound - проект перед окном, null - окно начинается с начала списка
+ * @param positions  - проекты окна по порядку
+ * @param upperBound - проект после окна, null - окно доходит до конца списка
+ */
+public record ProjectOrderWindow(ProjectPosition lowerBound,
+                                 List<ProjectPosition> positions,
+                                 ProjectPosition upperBound) {
+    /**
+     * Покрывает ли окно весь список проектов пользователя.
+     *
+     * @return нет ли проектов ни перед окном, ни после него
+     */
+    public boolean coversAll() {
+        return lowerBound == null && upperBound == null;
+    }
+}
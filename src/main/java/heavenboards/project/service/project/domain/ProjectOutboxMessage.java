@@ -0,0 +1,16 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Запись об изменении проекта для outbox.
+ *
+ * @param projectId  - идентификатор проекта
+ * @param changeType - тип изменения
+ * @param userIds    - пользователи, которых касается изменение, включая исключенных из проекта
+ */
+public record ProjectOutboxMessage(UUID projectId,
+                                   ProjectChangeType changeType,
+                                   Collection<UUID> userIds) {
+}
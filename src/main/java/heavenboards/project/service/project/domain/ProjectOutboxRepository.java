@@ -0,0 +1,114 @@
+package heavenboards.project.service.project.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Репозиторий outbox изменений проектов.
+ * Записи добавляются в транзакции изменения проекта и переносятся в журнал изменений
+ * фоновым публикатором.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectOutboxRepository {
+    /**
+     * Добавление записи с переданными пользователями.
+     */
+    private static final String INSERT_MESSAGE = "INSERT INTO project_outbox"
+        + "(project_id, change_type, user_ids) VALUES (:projectId, :changeType, :userIds)";
+
+    /**
+     * Добавление записей с текущими участниками проектов.
+     */
+    private static final String INSERT_MEMBER_MESSAGES = "INSERT INTO project_outbox"
+        + "(project_id, change_type, user_ids) "
+        + "SELECT p.id, :changeType, ARRAY(SELECT pu.user_id FROM project_user_entity pu "
+        + "WHERE pu.project_id = p.id) "
+        + "FROM project_entity p WHERE p.id = ANY(:projectIds) ORDER BY p.id";
+
+    /**
+     * Транзакционная advisory-блокировка публикатора без ожидания.
+     */
+    private static final String TRY_LOCK_PUBLISHER = "SELECT pg_try_advisory_xact_lock("
+        + "hashtextextended('project-outbox-publisher', 0))";
+
+    /**
+     * Перенос пачки записей из outbox в журнал изменений в порядке добавления.
+     */
+    private static final String PUBLISH_BATCH = "WITH drained AS ("
+        + "DELETE FROM project_outbox o WHERE o.id IN (SELECT id FROM project_outbox "
+        + "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) "
+        + "RETURNING o.id, o.project_id, o.change_type, o.user_ids, o.created_at) "
+        + "INSERT INTO project_change_log(project_id, change_type, user_ids, occurred_at) "
+        + "SELECT project_id, change_type, user_ids, created_at FROM drained ORDER BY id";
+
+    /**
+     * Jdbc-шаблон с именованными параметрами.
+     */
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Добавить записи с переданными пользователями одной JDBC-пачкой.
+     *
+     * @param messages - записи об изменениях
+     */
+    public void append(final List<ProjectOutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, messages.stream()
+            .map(message -> new MapSqlParameterSource("projectId", message.projectId())
+                .addValue("changeType", message.changeType().name())
+                .addValue("userIds", message.userIds().toArray(UUID[]::new)))
+            .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Добавить записи об изменении проектов, касающиеся их текущих участников.
+     * Участники читаются тем же запросом, поэтому их изменения в текущей транзакции
+     * должны быть уже записаны в базу.
+     *
+     * @param projectIds - идентификаторы проектов
+     * @param changeType - тип изменения
+     */
+    public void appendForMembers(final Collection<UUID> projectIds,
+                                 final ProjectChangeType changeType) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(INSERT_MEMBER_MESSAGES,
+            new MapSqlParameterSource("projectIds", projectIds.toArray(UUID[]::new))
+                .addValue("changeType", changeType.name()));
+    }
+
+    /**
+     * Взять транзакционную блокировку публикатора, если ее не держит другой инстанс.
+     * Журнал пополняется одной транзакцией за раз, поэтому порядковые номера изменений
+     * становятся видны читателям по возрастанию.
+     *
+     * @return взята ли блокировка
+     */
+    public boolean tryLockPublisher() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_PUBLISHER,
+            new MapSqlParameterSource(), Boolean.class));
+    }
+
+    /**
+     * Перенести пачку записей из outbox в журнал изменений.
+     *
+     * @param batchSize - максимальный размер пачки
+     * @return количество перенесенных записей
+     */
+    public int publishBatch(final int batchSize) {
+        return jdbcTemplate.update(PUBLISH_BATCH,
+            new MapSqlParameterSource("batchSize", batchSize));
+    }
+}
@@ -0,0 +1,13 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.UUID;
+
+/**
+ * Позиция проекта в порядке (positionWeight, id).
+ *
+ * @param id             - идентификатор проекта
+ * @param positionWeight - вес позиции
+ * @param version        - версия проекта
+ */
+public record ProjectPosition(UUID id, int positionWeight, int version) {
+}
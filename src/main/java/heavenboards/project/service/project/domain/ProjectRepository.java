@@ -3,6 +3,9 @@ package heavenboards.project.service.project.domain;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -10,28 +13,92 @@ import java.util.UUID;
  */
 public interface ProjectRepository extends JpaRepository<ProjectEntity, UUID> {
     /**
-     * Проверка существования проекта по пользователю и названию.
+     * Найти проект пользователя с таким же названием.
      *
      * @param name   - название
      * @param userId - идентификатор пользователя
-     * @return существует ли у пользователя проект с таким названием
+     * @return идентификатор проекта пользователя с таким названием, если он есть
      */
-    @Query(value = "SELECT CASE WHEN COUNT(*) > 0 THEN TRUE ELSE FALSE END FROM "
-        + "(SELECT * FROM project_user_entity WHERE user_id = :userId) pu "
-        + "INNER JOIN (SELECT * FROM project_entity WHERE name = :name) p ON p.id = pu.project_id",
+    @Query(value = "SELECT p.id FROM project_entity p "
+        + "INNER JOIN project_user_entity pu ON pu.project_id = p.id "
+        + "WHERE pu.user_id = :userId AND p.name = :name LIMIT 1",
         nativeQuery = true)
-    boolean existsByNameAndUserId(String name, UUID userId);
+    Optional<UUID> findConflictingProjectId(String name, UUID userId);
 
     /**
-     * Получить идентификатор проекта по названию и пользователю.
+     * Найти версию проекта и участие в нем пользователя.
+     * Нужно, чтобы объяснить, почему условное изменение проекта не выполнилось.
      *
-     * @param name   - название
+     * @param id     - идентификатор проекта
+     * @param userId - идентификатор пользователя
+     * @return версия проекта и участие пользователя, если проект есть
+     */
+    @Query(value = "SELECT p.version AS version, EXISTS (SELECT 1 FROM project_user_entity pu "
+        + "WHERE pu.project_id = p.id AND pu.user_id = :userId) AS member "
+        + "FROM project_entity p WHERE p.id = :id",
+        nativeQuery = true)
+    Optional<ProjectVersionView> findVersionView(UUID id, UUID userId);
+
+    /**
+     * Найти версию проекта.
+     *
+     * @param id - идентификатор проекта
+     * @return версия проекта, если он есть
+     */
+    @Query(value = "SELECT p.version FROM project_entity p WHERE p.id = :id", nativeQuery = true)
+    Optional<Integer> findVersionById(UUID id);
+
+    /**
+     * Найти поля проекта без загрузки его участников.
+     *
+     * @param id - идентификатор проекта
+     * @return поля и версия проекта, если он есть
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.positionWeight AS positionWeight, "
+        + "p.version AS version FROM ProjectEntity p WHERE p.id = :id")
+    Optional<ProjectSummaryView> findSummaryById(UUID id);
+
+    /**
+     * Посчитать отпечаток набора проектов пользователя.
+     * Меняется при появлении и исчезновении проекта в наборе и при изменении версии
+     * любого проекта набора, в том числе при изменении порядка.
+     *
+     * @param userId - идентификатор пользователя
+     * @return md5 пар (идентификатор, версия) проектов пользователя
+     */
+    @Query(value = "SELECT md5(coalesce(string_agg(CAST(p.id AS text) || ':' || p.version, ',' "
+        + "ORDER BY p.id), '')) FROM project_entity p "
+        + "WHERE EXISTS (SELECT 1 FROM project_user_entity pu "
+        + "WHERE pu.project_id = p.id AND pu.user_id = :userId)",
+        nativeQuery = true)
+    String findUserProjectsDigest(UUID userId);
+
+    /**
+     * Найти проекты пользователя с такими же названиями.
+     *
+     * @param names  - названия
+     * @param userId - идентификатор пользователя
+     * @return идентификаторы и названия проектов пользователя с такими названиями
+     */
+    @Query(value = "SELECT p.id AS id, p.name AS name FROM project_entity p "
+        + "INNER JOIN project_user_entity pu ON pu.project_id = p.id "
+        + "WHERE pu.user_id = :userId AND p.name IN (:names)",
+        nativeQuery = true)
+    List<ProjectNameView> findConflictingProjects(Collection<String> names, UUID userId);
+
+    /**
+     * Взять транзакционные advisory-блокировки на названия проектов пользователя.
+     * Параллельные создания проектов с одним названием у одного пользователя
+     * выполняются последовательно до конца транзакции. Блокировки берутся
+     * в порядке названий, чтобы пакетные создания не взаимоблокировались.
+     *
+     * @param names  - названия
      * @param userId - идентификатор пользователя
-     * @return идентификатор проекта у пользователя
+     * @return количество взятых блокировок
      */
-    @Query(value = "SELECT p.id FROM "
-        + "(SELECT * FROM project_user_entity WHERE user_id = :userId) pu "
-        + "INNER JOIN (SELECT * FROM project_entity WHERE name = :name) p ON p.id = pu.project_id",
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock("
+        + "hashtextextended(CAST(:userId AS text) || ':' || n.name, 0)) "
+        + "FROM unnest(CAST(:names AS text[])) AS n(name) ORDER BY n.name) locks",
         nativeQuery = true)
-    UUID findProjectIdByNameAndUserId(String name, UUID userId);
+    Long lockProjectNames(String[] names, UUID userId);
 }
@@ -0,0 +1,36 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.UUID;
+
+/**
+ * Поля и версия проекта без участников.
+ */
+public interface ProjectSummaryView {
+    /**
+     * Идентификатор.
+     *
+     * @return идентификатор проекта
+     */
+    UUID getId();
+
+    /**
+     * Название.
+     *
+     * @return название проекта
+     */
+    String getName();
+
+    /**
+     * Вес позиции.
+     *
+     * @return вес позиции проекта
+     */
+    Integer getPositionWeight();
+
+    /**
+     * Версия.
+     *
+     * @return текущая версия проекта
+     */
+    Integer getVersion();
+}
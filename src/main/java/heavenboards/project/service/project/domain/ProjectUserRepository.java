@@ -1,7 +1,9 @@
 package heavenboards.project.service.project.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,4 +18,24 @@ public interface ProjectUserRepository extends JpaRepository<ProjectUserEntity,
      * @return все сущности по пользователю
      */
     List<ProjectUserEntity> findAllByUserId(UUID userId);
+
+    /**
+     * Проверить, является ли пользователь участником проекта.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return является ли пользователь участником
+     */
+    boolean existsByProjectIdAndUserId(UUID projectId, UUID userId);
+
+    /**
+     * Найти записи участников проектов без загрузки сущностей.
+     *
+     * @param projectIds - идентификаторы проектов
+     * @return записи участников проектов
+     */
+    @Query(value = "SELECT pu.id AS id, pu.user_id AS \"userId\", pu.project_id AS \"projectId\" "
+        + "FROM project_user_entity pu WHERE pu.project_id IN (:projectIds)",
+        nativeQuery = true)
+    List<ProjectUserView> findViewsByProjectIds(Collection<UUID> projectIds);
 }
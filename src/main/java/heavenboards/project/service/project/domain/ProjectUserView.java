@@ -0,0 +1,29 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.UUID;
+
+/**
+ * Запись участника проекта без управляемой сущности.
+ */
+public interface ProjectUserView {
+    /**
+     * Идентификатор записи.
+     *
+     * @return идентификатор записи участника
+     */
+    UUID getId();
+
+    /**
+     * Идентификатор пользователя.
+     *
+     * @return идентификатор пользователя
+     */
+    UUID getUserId();
+
+    /**
+     * Идентификатор проекта.
+     *
+     * @return идентификатор проекта
+     */
+    UUID getProjectId();
+}
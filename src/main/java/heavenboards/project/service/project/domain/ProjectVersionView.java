@@ -0,0 +1,20 @@
+package heavenboards.project.service.project.domain;
+
+/**
+ * Версия проекта и участие в нем пользователя.
+ */
+public interface ProjectVersionView {
+    /**
+     * Версия.
+     *
+     * @return текущая версия проекта
+     */
+    Integer getVersion();
+
+    /**
+     * Участие пользователя.
+     *
+     * @return является ли пользователь участником проекта
+     */
+    Boolean getMember();
+}
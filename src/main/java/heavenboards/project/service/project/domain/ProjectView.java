@@ -0,0 +1,15 @@
+package heavenboards.project.service.project.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Плоское read-only представление проекта с идентификаторами участников.
+ *
+ * @param id             - идентификатор
+ * @param name           - название
+ * @param positionWeight - вес позиции проекта
+ * @param userIds        - идентификаторы участников
+ */
+public record ProjectView(UUID id, String name, Integer positionWeight, List<UUID> userIds) {
+}
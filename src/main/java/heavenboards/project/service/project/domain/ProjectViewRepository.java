@@ -0,0 +1,171 @@
+package heavenboards.project.service.project.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Репозиторий для read-only представлений проектов.
+ * Проекты и идентификаторы их участников читаются одним запросом
+ * без создания управляемых сущностей. Если участники не нужны, проекты читаются
+ * без соединения с участниками, а список участников в представлении пуст.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectViewRepository {
+    /**
+     * Выборка проектов пользователя с агрегированными идентификаторами участников.
+     */
+    private static final String SELECT_USER_PROJECTS = "SELECT p.id, p.name, p.position_weight, "
+        + "array_agg(m.user_id) AS user_ids "
+        + "FROM project_user_entity pu "
+        + "INNER JOIN project_entity p ON p.id = pu.project_id "
+        + "INNER JOIN project_user_entity m ON m.project_id = p.id "
+        + "WHERE pu.user_id = :userId ";
+
+    /**
+     * Выборка проектов пользователя без участников.
+     */
+    private static final String SELECT_USER_PROJECT_SUMMARIES = "SELECT p.id, p.name, "
+        + "p.position_weight, NULL AS user_ids "
+        + "FROM project_user_entity pu "
+        + "INNER JOIN project_entity p ON p.id = pu.project_id "
+        + "WHERE pu.user_id = :userId ";
+
+    /**
+     * Группировка и порядок проектов пользователя.
+     */
+    private static final String GROUP_AND_ORDER = "GROUP BY p.id ORDER BY p.position_weight, p.id ";
+
+    /**
+     * Порядок проектов пользователя без участников.
+     */
+    private static final String ORDER = "ORDER BY p.position_weight, p.id ";
+
+    /**
+     * Выборка проектов по идентификаторам с агрегированными идентификаторами участников.
+     */
+    private static final String SELECT_PROJECTS_BY_IDS = "SELECT p.id, p.name, p.position_weight, "
+        + "array_agg(m.user_id) FILTER (WHERE m.user_id IS NOT NULL) AS user_ids "
+        + "FROM project_entity p "
+        + "LEFT JOIN project_user_entity m ON m.project_id = p.id "
+        + "WHERE p.id IN (:ids) "
+        + "GROUP BY p.id";
+
+    /**
+     * Выборка проектов по идентификаторам без участников.
+     */
+    private static final String SELECT_PROJECT_SUMMARIES_BY_IDS = "SELECT p.id, p.name, "
+        + "p.position_weight, NULL AS user_ids "
+        + "FROM project_entity p "
+        + "WHERE p.id IN (:ids)";
+
+    /**
+     * Маппинг строки результата в представление проекта.
+     */
+    private static final RowMapper<ProjectView> PROJECT_VIEW_ROW_MAPPER = (rs, rowNum) -> {
+        Array userIds = rs.getArray("user_ids");
+        return new ProjectView(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getInt("position_weight"),
+            userIds == null ? List.of() : Arrays.asList((UUID[]) userIds.getArray())
+        );
+    };
+
+    /**
+     * Jdbc-шаблон с именованными параметрами.
+     */
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Все проекты пользователя в порядке (positionWeight, id).
+     *
+     * @param userId    - идентификатор пользователя
+     * @param withUsers - читать ли идентификаторы участников
+     * @return проекты пользователя
+     */
+    public List<ProjectView> findUserProjects(final UUID userId, final boolean withUsers) {
+        return jdbcTemplate.query(userProjectsQuery(withUsers, ""),
+            new MapSqlParameterSource("userId", userId), PROJECT_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Первая страница проектов пользователя в порядке (positionWeight, id).
+     *
+     * @param userId    - идентификатор пользователя
+     * @param limit     - максимальное количество проектов
+     * @param withUsers - читать ли идентификаторы участников
+     * @return проекты пользователя
+     */
+    public List<ProjectView> findUserProjectsFirstPage(final UUID userId,
+                                                       final int limit,
+                                                       final boolean withUsers) {
+        return jdbcTemplate.query(userProjectsQuery(withUsers, "") + "LIMIT :limit",
+            new MapSqlParameterSource("userId", userId)
+                .addValue("limit", limit),
+            PROJECT_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Страница проектов пользователя, следующих за курсором в порядке (positionWeight, id).
+     *
+     * @param userId         - идентификатор пользователя
+     * @param positionWeight - вес позиции последнего проекта предыдущей страницы
+     * @param id             - идентификатор последнего проекта предыдущей страницы
+     * @param limit          - максимальное количество проектов
+     * @param withUsers      - читать ли идентификаторы участников
+     * @return проекты пользователя
+     */
+    public List<ProjectView> findUserProjectsAfter(final UUID userId,
+                                                   final int positionWeight,
+                                                   final UUID id,
+                                                   final int limit,
+                                                   final boolean withUsers) {
+        return jdbcTemplate.query(userProjectsQuery(withUsers,
+                "AND (p.position_weight, p.id) > (:positionWeight, :id) ") + "LIMIT :limit",
+            new MapSqlParameterSource("userId", userId)
+                .addValue("positionWeight", positionWeight)
+                .addValue("id", id)
+                .addValue("limit", limit),
+            PROJECT_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Проекты по идентификаторам.
+     *
+     * @param ids       - идентификаторы проектов
+     * @param withUsers - читать ли идентификаторы участников
+     * @return найденные проекты в произвольном порядке
+     */
+    public List<ProjectView> findAllByIds(final Collection<UUID> ids, final boolean withUsers) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String query = withUsers ? SELECT_PROJECTS_BY_IDS : SELECT_PROJECT_SUMMARIES_BY_IDS;
+        return jdbcTemplate.query(query, new MapSqlParameterSource("ids", ids),
+            PROJECT_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Запрос проектов пользователя в порядке (positionWeight, id).
+     *
+     * @param withUsers - читать ли идентификаторы участников
+     * @param condition - дополнительное условие выборки
+     * @return текст запроса без ограничения количества
+     */
+    private static String userProjectsQuery(final boolean withUsers, final String condition) {
+        return withUsers
+            ? SELECT_USER_PROJECTS + condition + GROUP_AND_ORDER
+            : SELECT_USER_PROJECT_SUMMARIES + condition + ORDER;
+    }
+}
@@ -0,0 +1,32 @@
+package heavenboards.project.service.project.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Запрос на получение проектов по идентификаторам.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectBatchGetRequestTo {
+    /**
+     * Максимальное количество идентификаторов в одном запросе.
+     */
+    public static final int MAX_IDS = 500;
+
+    /**
+     * Идентификаторы проектов.
+     */
+    @NotNull
+    @Size(max = MAX_IDS)
+    private List<UUID> ids;
+}
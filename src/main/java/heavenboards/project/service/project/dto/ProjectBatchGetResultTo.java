@@ -0,0 +1,32 @@
+package heavenboards.project.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Результат получения проектов по идентификаторам.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectBatchGetResultTo {
+    /**
+     * Найденные проекты в порядке запроса.
+     */
+    @Builder.Default
+    private List<ProjectTo> projects = new ArrayList<>();
+
+    /**
+     * Идентификаторы проектов, которые не найдены.
+     */
+    @Builder.Default
+    private List<UUID> missingIds = new ArrayList<>();
+}
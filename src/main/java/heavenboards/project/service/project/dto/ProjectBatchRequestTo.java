@@ -0,0 +1,34 @@
+package heavenboards.project.service.project.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.List;
+
+/**
+ * Запрос на пакетное создание или обновление проектов.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectBatchRequestTo {
+    /**
+     * Максимальное количество проектов в одном запросе.
+     */
+    public static final int MAX_PROJECTS = 500;
+
+    /**
+     * Данные проектов.
+     */
+    @Valid
+    @NotNull
+    @Size(max = MAX_PROJECTS)
+    private List<ProjectTo> projects;
+}
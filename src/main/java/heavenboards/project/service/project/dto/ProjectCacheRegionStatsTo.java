@@ -0,0 +1,45 @@
+package heavenboards.project.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статистика региона кеша второго уровня.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectCacheRegionStatsTo {
+    /**
+     * Название региона.
+     */
+    private String region;
+
+    /**
+     * Количество записей в регионе.
+     */
+    private long size;
+
+    /**
+     * Количество попаданий.
+     */
+    private long hitCount;
+
+    /**
+     * Количество промахов.
+     */
+    private long missCount;
+
+    /**
+     * Количество записей в регион.
+     */
+    private long putCount;
+
+    /**
+     * Доля попаданий.
+     */
+    private double hitRate;
+}
@@ -0,0 +1,35 @@
+package heavenboards.project.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница изменений проектов пользователя.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectChangePageTo {
+    /**
+     * Изменения в порядке порядковых номеров.
+     */
+    @Builder.Default
+    private List<ProjectChangeTo> changes = new ArrayList<>();
+
+    /**
+     * Порядковый номер, после которого запрашивать следующую страницу.
+     */
+    private long lastSequence;
+
+    /**
+     * Часть изменений после запрошенного номера уже удалена из журнала.
+     * Клиенту нужно заново прочитать проекты и продолжить с lastSequence.
+     */
+    private boolean reset;
+}
@@ -0,0 +1,39 @@
+package heavenboards.project.service.project.dto;
+
+import heavenboards.project.service.project.domain.ProjectChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Изменение проекта из журнала изменений.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectChangeTo {
+    /**
+     * Порядковый номер изменения.
+     */
+    private long sequence;
+
+    /**
+     * Идентификатор проекта.
+     */
+    private UUID projectId;
+
+    /**
+     * Тип изменения.
+     */
+    private ProjectChangeType changeType;
+
+    /**
+     * Время изменения.
+     */
+    private Instant occurredAt;
+}
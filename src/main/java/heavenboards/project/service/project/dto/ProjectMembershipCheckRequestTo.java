@@ -0,0 +1,33 @@
+package heavenboards.project.service.project.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Запрос на проверку участия пользователей в проектах.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectMembershipCheckRequestTo {
+    /**
+     * Максимальное количество проверок в одном запросе.
+     */
+    public static final int MAX_MEMBERSHIPS = 1000;
+
+    /**
+     * Пары проект-пользователь для проверки.
+     */
+    @Valid
+    @NotNull
+    @Size(max = MAX_MEMBERSHIPS)
+    private List<ProjectMembershipTo> memberships;
+}
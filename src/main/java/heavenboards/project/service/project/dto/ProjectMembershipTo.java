@@ -0,0 +1,36 @@
+package heavenboards.project.service.project.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Участие пользователя в проекте.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectMembershipTo {
+    /**
+     * Идентификатор проекта.
+     */
+    @NotNull
+    private UUID projectId;
+
+    /**
+     * Идентификатор пользователя.
+     */
+    @NotNull
+    private UUID userId;
+
+    /**
+     * Является ли пользователь участником проекта.
+     * Заполняется в ответе.
+     */
+    private Boolean member;
+}
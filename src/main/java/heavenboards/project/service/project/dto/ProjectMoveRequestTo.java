@@ -0,0 +1,30 @@
+package heavenboards.project.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Запрос на перенос проекта между соседними проектами.
+ * Хотя бы один сосед должен быть указан.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectMoveRequestTo {
+    /**
+     * Идентификатор проекта, после которого встает переносимый проект.
+     * Пусто - проект переносится в начало.
+     */
+    private UUID previousId;
+
+    /**
+     * Идентификатор проекта, перед которым встает переносимый проект.
+     * Пусто - проект переносится в конец.
+     */
+    private UUID nextId;
+}
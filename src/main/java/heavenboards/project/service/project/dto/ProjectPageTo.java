@@ -0,0 +1,31 @@
+package heavenboards.project.service.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница проектов пользователя.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectPageTo {
+    /**
+     * Проекты страницы в порядке веса позиции.
+     */
+    @Builder.Default
+    private List<ProjectTo> projects = new ArrayList<>();
+
+    /**
+     * Курсор следующей страницы.
+     * Отсутствует, если страница последняя.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,40 @@
+package heavenboards.project.service.project.dto;
+
+import heavenboards.project.service.project.domain.ProjectChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.UUID;
+
+/**
+ * Событие потока изменений проектов пользователя.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectStreamEventTo {
+    /**
+     * Порядковый номер изменения, он же идентификатор события.
+     */
+    private long sequence;
+
+    /**
+     * Идентификатор проекта.
+     */
+    private UUID projectId;
+
+    /**
+     * Тип изменения.
+     */
+    private ProjectChangeType changeType;
+
+    /**
+     * Текущие данные проекта без участников.
+     * Отсутствуют, если пользователь больше не участник проекта.
+     */
+    private ProjectTo project;
+}
@@ -2,20 +2,23 @@ package heavenboards.project.service.project.mapping;
 
 import heavenboards.project.service.project.domain.ProjectEntity;
 import heavenboards.project.service.project.domain.ProjectUserEntity;
-import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.domain.ProjectView;
+import heavenboards.project.service.project.service.ProjectMembershipService;
+import heavenboards.project.service.user.service.UserResolver;
 import lombok.RequiredArgsConstructor;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
-import transfer.contract.api.UserApi;
 import transfer.contract.domain.project.ProjectTo;
 import transfer.contract.domain.user.UserTo;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,14 +30,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public abstract class ProjectMapper {
     /**
-     * Репозиторий для сущности связывающей проект и пользователя.
+     * Сервис изменения участников проекта.
      */
-    private ProjectUserRepository projectUserRepository;
+    private ProjectMembershipService projectMembershipService;
 
     /**
-     * Api-клиент для сервиса пользователей.
+     * Получение пользователей из сервиса пользователей.
      */
-    private UserApi userApi;
+    private UserResolver userResolver;
 
     /**
      * Маппинг из entity в to.
@@ -43,10 +46,79 @@ public abstract class ProjectMapper {
      * @param entity - entity
      * @return to с проставленными полями
      */
+    public ProjectTo mapFromEntity(final ProjectTo to, final ProjectEntity entity) {
+        Map<UUID, UserTo> users = userResolver.findUsersByIds(collectUserIds(List.of(entity)));
+        mapFieldsFromEntity(to, entity);
+        to.setUsers(resolveProjectUsers(entity, users));
+        return to;
+    }
+
+    /**
+     * Маппинг из entity в read-only представление без обращения к сервису пользователей.
+     *
+     * @param entity - entity
+     * @return представление проекта с идентификаторами участников
+     */
+    public ProjectView mapToView(final ProjectEntity entity) {
+        return new ProjectView(entity.getId(), entity.getName(), entity.getPositionWeight(),
+            entity.getUsers().stream()
+                .map(ProjectUserEntity::getUserId)
+                .toList());
+    }
+
+    /**
+     * Маппинг списка read-only представлений в to.
+     * Пользователи всех проектов запрашиваются у сервиса пользователей
+     * одним набором идентификаторов.
+     *
+     * @param views - представления проектов
+     * @return to-модели проектов в том же порядке
+     */
+    public List<ProjectTo> mapFromViews(final Collection<ProjectView> views) {
+        Set<UUID> userIds = views.stream()
+            .flatMap(view -> view.userIds().stream())
+            .collect(Collectors.toSet());
+        Map<UUID, UserTo> users = userResolver.findUsersByIds(userIds);
+
+        List<ProjectTo> projects = new ArrayList<>(views.size());
+        for (ProjectView view : views) {
+            ProjectTo to = mapFieldsFromView(view);
+            to.setUsers(view.userIds().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+            projects.add(to);
+        }
+
+        return projects;
+    }
+
+    /**
+     * Маппинг read-only представления в to без участников.
+     * Сервис пользователей не вызывается, поэтому маппинг не требует контекста безопасности.
+     *
+     * @param view - представление проекта
+     * @return to-модель проекта без участников
+     */
+    public ProjectTo mapFieldsFromView(final ProjectView view) {
+        ProjectTo to = new ProjectTo();
+        to.setId(view.id());
+        to.setName(view.name());
+        to.setPositionWeight(view.positionWeight());
+        return to;
+    }
+
+    /**
+     * Маппинг полей проекта из entity в to без участников.
+     *
+     * @param to - to-модель проекта, которой мы проставляем поля
+     * @param entity - entity
+     * @return to с проставленными полями
+     */
     @Mapping(target = "users", ignore = true)
     @Mapping(target = "boards", ignore = true)
-    public abstract ProjectTo mapFromEntity(@MappingTarget ProjectTo to,
-                                            ProjectEntity entity);
+    protected abstract ProjectTo mapFieldsFromEntity(@MappingTarget ProjectTo to,
+                                                     ProjectEntity entity);
 
     /**
      * Маппинг из to в entity.
@@ -57,28 +129,41 @@ public abstract class ProjectMapper {
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "users", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract ProjectEntity mapFromTo(@MappingTarget ProjectEntity entity,
                                             ProjectTo to);
 
     /**
-     * После маппинга из entity в to - проставляем users.
+     * Собрать идентификаторы участников всех проектов.
      *
-     * @param to     - to-модель проекта, которой проставляются поля
-     * @param entity - сущность проекта
+     * @param entities - сущности проектов
+     * @return уникальные идентификаторы участников
      */
-    @AfterMapping
-    @SuppressWarnings("unused")
-    protected void afterMappingFromEntity(final @MappingTarget ProjectTo to,
-                                          final ProjectEntity entity) {
-        Set<UUID> ids = entity.getUsers().stream()
+    private Set<UUID> collectUserIds(final Collection<ProjectEntity> entities) {
+        return entities.stream()
+            .flatMap(entity -> entity.getUsers().stream())
             .map(ProjectUserEntity::getUserId)
             .collect(Collectors.toSet());
+    }
 
-        to.setUsers(userApi.findUsersByIds(ids));
+    /**
+     * Выбрать пользователей проекта из уже полученных пользователей.
+     *
+     * @param entity - сущность проекта
+     * @param users  - полученные пользователи по идентификатору
+     * @return пользователи проекта
+     */
+    private List<UserTo> resolveProjectUsers(final ProjectEntity entity,
+                                             final Map<UUID, UserTo> users) {
+        return entity.getUsers().stream()
+            .map(projectUser -> users.get(projectUser.getUserId()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     /**
      * После маппинга из to в entity - проставляем users.
+     * Участники сравниваются по идентификатору пользователя, меняются только различия.
      *
      * @param entity - сущность которой проставляем поя
      * @param to     - to-модель проекта
@@ -87,44 +172,30 @@ public abstract class ProjectMapper {
     @SuppressWarnings("unused")
     protected void afterMappingFromTo(final @MappingTarget ProjectEntity entity,
                                       final ProjectTo to) {
-        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-        // Новые пользователи проекта
-        List<ProjectUserEntity> newProjectUsers = new ArrayList<>();
-        for (UserTo projectUser : to.getUsers()) {
-            newProjectUsers.add(ProjectUserEntity.builder()
-                .userId(projectUser.getId())
-                .project(entity)
-                .build());
-        }
-
-        // Удаляем пользователей, которые были до изменения, но которых нет в новом списке
-        for (ProjectUserEntity projectUser : entity.getUsers()) {
-            if (!newProjectUsers.contains(projectUser)) {
-                projectUserRepository.deleteById(projectUser.getId());
-            }
-        }
+        List<UUID> userIds = to.getUsers().stream()
+            .map(UserTo::getId)
+            .toList();
 
-        entity.setUsers(newProjectUsers);
+        entity.setUsers(projectMembershipService.syncProjectUsers(entity, userIds));
     }
 
     /**
-     * Внедрение бина репозитория для ProjectUserEntity.
+     * Внедрение бина сервиса изменения участников проекта.
      *
-     * @param repository - бин ProjectUserRepository
+     * @param service - бин ProjectMembershipService
      */
     @Autowired
-    public void setProjectUserRepository(final ProjectUserRepository repository) {
-        this.projectUserRepository = repository;
+    public void setProjectMembershipService(final ProjectMembershipService service) {
+        this.projectMembershipService = service;
     }
 
     /**
-     * Внедрение бина api для сервиса пользователей.
+     * Внедрение бина получения пользователей.
      *
-     * @param api - бин UserApi
+     * @param resolver - бин UserResolver
      */
     @Autowired
-    public void setUserApi(final UserApi api) {
-        this.userApi = api;
+    public void setUserResolver(final UserResolver resolver) {
+        this.userResolver = resolver;
     }
 }
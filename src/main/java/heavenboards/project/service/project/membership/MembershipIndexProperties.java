@@ -0,0 +1,27 @@
+package heavenboards.project.service.project.membership;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки индекса участников проектов в памяти.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.membership-index")
+public class MembershipIndexProperties {
+    /**
+     * Включен ли индекс.
+     * Выключенный индекс отвечает запросами в базу.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Размер пачки строк при чтении участников из базы.
+     */
+    private int fetchSize = 10_000;
+
+    /**
+     * Максимальное количество записей журнала изменений за один запрос синхронизации.
+     */
+    private int syncBatchSize = 500;
+}
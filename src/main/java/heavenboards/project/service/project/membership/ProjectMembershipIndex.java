@@ -0,0 +1,374 @@
+package heavenboards.project.service.project.membership;
+
+import heavenboards.project.service.project.domain.ProjectChangeLogEntry;
+import heavenboards.project.service.project.domain.ProjectChangeLogRepository;
+import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.domain.ProjectUserView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс участников проектов в памяти.
+ * Строится из project_user_entity при старте и обновляется после коммита каждой записи
+ * участников. Изменения других инстансов подтягиваются из журнала изменений проектов:
+ * по каждой записи журнала участники проекта перечитываются из базы. Поэтому чужое изменение
+ * видно не позже чем через интервал публикации outbox плюс интервал синхронизации.
+ * Если запись участников пересеклась с синхронизацией, индекс исправится на записи журнала
+ * об этом изменении. Периодическое перестроение остается страховкой от расхождений.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectMembershipIndex {
+    /**
+     * Выборка всех участников проектов.
+     */
+    private static final String SELECT_MEMBERSHIPS =
+        "SELECT project_id, user_id FROM project_user_entity";
+
+    /**
+     * Настройки индекса.
+     */
+    private final MembershipIndexProperties properties;
+
+    /**
+     * Источник данных.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Шаблон транзакций для потокового чтения участников.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Репозиторий для сущности связывающей проект и пользователя.
+     */
+    private final ProjectUserRepository projectUserRepository;
+
+    /**
+     * Репозиторий журнала изменений проектов.
+     */
+    private final ProjectChangeLogRepository projectChangeLogRepository;
+
+    /**
+     * Блокировка чтения и изменения индекса.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Блокировка перестроения индекса.
+     * Не монитор, чтобы чтение из базы не закрепляло виртуальный поток за потоком-носителем.
+     */
+    private final Lock rebuildLock = new ReentrantLock();
+
+    /**
+     * Пары (проект, пользователь).
+     */
+    private UuidPairHashSet memberships;
+
+    /**
+     * Изменения, пришедшие во время перестроения индекса.
+     * Проигрываются на новом индексе перед подменой.
+     */
+    private List<Consumer<UuidPairHashSet>> pendingChanges;
+
+    /**
+     * Порядковый номер последнего примененного изменения журнала, -1 - индекс не построен.
+     * Меняется только под блокировкой перестроения.
+     */
+    private long syncedSequence = -1;
+
+    /**
+     * Является ли пользователь участником проекта.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return является ли пользователь участником
+     */
+    public boolean isMember(final UUID projectId, final UUID userId) {
+        Boolean member = read(() -> memberships == null
+            ? null
+            : memberships.contains(projectId, userId));
+        if (member == null) {
+            return projectUserRepository.existsByProjectIdAndUserId(projectId, userId);
+        }
+
+        return member;
+    }
+
+    /**
+     * Добавить участников проекта после коммита текущей транзакции.
+     * Идентификатор проекта берется в момент коммита, поэтому подходит и для новых проектов.
+     *
+     * @param projectId - поставщик идентификатора проекта
+     * @param userIds   - идентификаторы пользователей
+     */
+    public void addAfterCommit(final Supplier<UUID> projectId, final Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> change(index -> userIds
+            .forEach(userId -> index.add(projectId.get(), userId))));
+    }
+
+    /**
+     * Удалить участников проекта после коммита текущей транзакции.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userIds   - идентификаторы пользователей
+     */
+    public void removeAfterCommit(final UUID projectId, final Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> change(index -> userIds
+            .forEach(userId -> index.remove(projectId, userId))));
+    }
+
+    /**
+     * Построить индекс при старте приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Периодически перестраивать индекс.
+     */
+    @Scheduled(
+        initialDelayString = "${project.membership-index.rebuild-interval:PT5M}",
+        fixedDelayString = "${project.membership-index.rebuild-interval:PT5M}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Периодически применять изменения участников из журнала изменений проектов.
+     * Если нужные записи журнала уже удалены по сроку хранения, индекс перестраивается.
+     */
+    @Scheduled(fixedDelayString = "${project.membership-index.sync-interval:PT1S}")
+    public void syncChanges() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            if (syncedSequence < 0) {
+                return;
+            }
+            if (syncedSequence < projectChangeLogRepository.findTruncatedSequence()) {
+                doRebuild();
+                return;
+            }
+
+            List<ProjectChangeLogEntry> entries;
+            do {
+                entries = projectChangeLogRepository
+                    .findEntriesAfter(syncedSequence, properties.getSyncBatchSize());
+                if (!entries.isEmpty()) {
+                    applyChanges(entries);
+                    syncedSequence = entries.getLast().sequence();
+                }
+            } while (entries.size() == properties.getSyncBatchSize());
+        } catch (RuntimeException exception) {
+            log.error("Не удалось применить изменения участников проектов", exception);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Перестроить индекс по данным базы.
+     * Чтение идет без блокировки индекса, изменения за это время проигрываются на новом индексе.
+     */
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Перестроить индекс под блокировкой перестроения.
+     */
+    private void doRebuild() {
+        write(() -> pendingChanges = new ArrayList<>());
+        UuidPairHashSet rebuilt;
+        long sequence;
+        try {
+            // Номер читается до участников: изменения после него применит синхронизация
+            sequence = projectChangeLogRepository.findLastSequence();
+            rebuilt = load();
+        } catch (RuntimeException exception) {
+            write(() -> pendingChanges = null);
+            log.error("Не удалось построить индекс участников проектов", exception);
+            return;
+        }
+
+        write(() -> {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            memberships = rebuilt;
+        });
+        syncedSequence = sequence;
+        log.info("Индекс участников проектов построен, участий: {}", rebuilt.size());
+    }
+
+    /**
+     * Привести индекс к текущим участникам проектов из записей журнала.
+     * Затронутые записями пользователи добавляются или удаляются по данным базы.
+     *
+     * @param entries - записи журнала
+     */
+    private void applyChanges(final List<ProjectChangeLogEntry> entries) {
+        Set<UUID> projectIds = entries.stream()
+            .map(ProjectChangeLogEntry::projectId)
+            .collect(Collectors.toSet());
+        Map<UUID, Set<UUID>> members = projectUserRepository.findViewsByProjectIds(projectIds)
+            .stream()
+            .collect(Collectors.groupingBy(ProjectUserView::getProjectId,
+                Collectors.mapping(ProjectUserView::getUserId, Collectors.toSet())));
+
+        change(index -> entries.forEach(entry -> {
+            Set<UUID> projectMembers = members.getOrDefault(entry.projectId(), Set.of());
+            entry.userIds().forEach(userId -> {
+                if (projectMembers.contains(userId)) {
+                    index.add(entry.projectId(), userId);
+                } else {
+                    index.remove(entry.projectId(), userId);
+                }
+            });
+        }));
+    }
+
+    /**
+     * Прочитать всех участников проектов из базы.
+     *
+     * @return новый индекс
+     */
+    private UuidPairHashSet load() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(properties.getFetchSize());
+        UuidPairHashSet loaded = new UuidPairHashSet(size());
+
+        // Курсорное чтение в postgres работает только внутри транзакции
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_MEMBERSHIPS,
+            rs -> {
+                loaded.add(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class));
+            }));
+        return loaded;
+    }
+
+    /**
+     * Текущее количество участий в индексе.
+     *
+     * @return количество участий
+     */
+    private int size() {
+        return read(() -> memberships == null ? 0 : memberships.size());
+    }
+
+    /**
+     * Применить изменение к индексу и к перестраиваемому индексу.
+     *
+     * @param change - изменение
+     */
+    private void change(final Consumer<UuidPairHashSet> change) {
+        write(() -> {
+            if (memberships != null) {
+                change.accept(memberships);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        });
+    }
+
+    /**
+     * Выполнить действие после коммита текущей транзакции или сразу, если ее нет.
+     *
+     * @param action - действие
+     */
+    private void afterCommit(final Runnable action) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Выполнить чтение под блокировкой чтения.
+     *
+     * @param reader - чтение
+     * @param <T>    - тип результата
+     * @return результат чтения
+     */
+    private <T> T read(final Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Выполнить изменение под блокировкой записи.
+     *
+     * @param writer - изменение
+     */
+    private void write(final Runnable writer) {
+        lock.writeLock().lock();
+        try {
+            writer.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
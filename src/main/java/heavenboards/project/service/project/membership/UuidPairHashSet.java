@@ -0,0 +1,271 @@
+package heavenboards.project.service.project.membership;
+
+import java.util.UUID;
+
+/**
+ * Множество пар UUID на открытой адресации.
+ * Пара хранится четырьмя long в одном массиве без создания объектов на элемент,
+ * коллизии разрешаются линейным пробированием, удаление выполняется обратным сдвигом.
+ * Класс не потокобезопасен.
+ */
+final class UuidPairHashSet {
+    /**
+     * Количество long на одну пару.
+     */
+    private static final int LONGS_PER_ENTRY = 4;
+
+    /**
+     * Минимальная емкость таблицы.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Золотое сечение для перемешивания хеша.
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Пары: first.msb, first.lsb, second.msb, second.lsb для каждой ячейки.
+     */
+    private long[] entries;
+
+    /**
+     * Занятость ячеек.
+     */
+    private boolean[] used;
+
+    /**
+     * Маска индекса ячейки, емкость таблицы минус один.
+     */
+    private int mask;
+
+    /**
+     * Количество пар.
+     */
+    private int size;
+
+    /**
+     * Создание множества под ожидаемое количество пар.
+     *
+     * @param expectedSize - ожидаемое количество пар
+     */
+    UuidPairHashSet(final int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Количество пар.
+     *
+     * @return количество пар
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Содержится ли пара.
+     *
+     * @param first  - первый элемент пары
+     * @param second - второй элемент пары
+     * @return содержится ли пара
+     */
+    boolean contains(final UUID first, final UUID second) {
+        return findSlot(first.getMostSignificantBits(), first.getLeastSignificantBits(),
+            second.getMostSignificantBits(), second.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * Добавить пару.
+     *
+     * @param first  - первый элемент пары
+     * @param second - второй элемент пары
+     * @return была ли пара добавлена
+     */
+    boolean add(final UUID first, final UUID second) {
+        return add(first.getMostSignificantBits(), first.getLeastSignificantBits(),
+            second.getMostSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    /**
+     * Удалить пару.
+     *
+     * @param first  - первый элемент пары
+     * @param second - второй элемент пары
+     * @return была ли пара удалена
+     */
+    boolean remove(final UUID first, final UUID second) {
+        int slot = findSlot(first.getMostSignificantBits(), first.getLeastSignificantBits(),
+            second.getMostSignificantBits(), second.getLeastSignificantBits());
+        if (slot < 0) {
+            return false;
+        }
+
+        used[slot] = false;
+        size--;
+
+        // Сдвигаем следующие элементы цепочки на место удаленного, чтобы поиск не обрывался
+        int gap = slot;
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            int ideal = hashSlot(next);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                System.arraycopy(entries, next * LONGS_PER_ENTRY,
+                    entries, gap * LONGS_PER_ENTRY, LONGS_PER_ENTRY);
+                used[gap] = true;
+                used[next] = false;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        return true;
+    }
+
+    /**
+     * Добавить пару по битам UUID.
+     *
+     * @param firstMsb  - старшие биты первого элемента
+     * @param firstLsb  - младшие биты первого элемента
+     * @param secondMsb - старшие биты второго элемента
+     * @param secondLsb - младшие биты второго элемента
+     * @return была ли пара добавлена
+     */
+    private boolean add(final long firstMsb, final long firstLsb,
+                        final long secondMsb, final long secondLsb) {
+        if ((size + 1) * 2 > used.length) {
+            resize(used.length * 2);
+        }
+
+        int slot = hash(firstMsb, firstLsb, secondMsb, secondLsb) & mask;
+        while (used[slot]) {
+            if (matches(slot, firstMsb, firstLsb, secondMsb, secondLsb)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int offset = slot * LONGS_PER_ENTRY;
+        entries[offset] = firstMsb;
+        entries[offset + 1] = firstLsb;
+        entries[offset + 2] = secondMsb;
+        entries[offset + 3] = secondLsb;
+        used[slot] = true;
+        size++;
+        return true;
+    }
+
+    /**
+     * Найти ячейку пары.
+     *
+     * @param firstMsb  - старшие биты первого элемента
+     * @param firstLsb  - младшие биты первого элемента
+     * @param secondMsb - старшие биты второго элемента
+     * @param secondLsb - младшие биты второго элемента
+     * @return индекс ячейки или -1, если пары нет
+     */
+    private int findSlot(final long firstMsb, final long firstLsb,
+                         final long secondMsb, final long secondLsb) {
+        int slot = hash(firstMsb, firstLsb, secondMsb, secondLsb) & mask;
+        while (used[slot]) {
+            if (matches(slot, firstMsb, firstLsb, secondMsb, secondLsb)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Совпадает ли пара в ячейке с переданной.
+     *
+     * @param slot      - индекс ячейки
+     * @param firstMsb  - старшие биты первого элемента
+     * @param firstLsb  - младшие биты первого элемента
+     * @param secondMsb - старшие биты второго элемента
+     * @param secondLsb - младшие биты второго элемента
+     * @return совпадает ли пара
+     */
+    private boolean matches(final int slot, final long firstMsb, final long firstLsb,
+                            final long secondMsb, final long secondLsb) {
+        int offset = slot * LONGS_PER_ENTRY;
+        return entries[offset] == firstMsb
+            && entries[offset + 1] == firstLsb
+            && entries[offset + 2] == secondMsb
+            && entries[offset + 3] == secondLsb;
+    }
+
+    /**
+     * Идеальная ячейка для пары, хранящейся в ячейке.
+     *
+     * @param slot - индекс ячейки
+     * @return идеальный индекс ячейки
+     */
+    private int hashSlot(final int slot) {
+        int offset = slot * LONGS_PER_ENTRY;
+        return hash(entries[offset], entries[offset + 1],
+            entries[offset + 2], entries[offset + 3]) & mask;
+    }
+
+    /**
+     * Увеличить таблицу и перераспределить пары.
+     *
+     * @param capacity - новая емкость
+     */
+    private void resize(final int capacity) {
+        long[] oldEntries = entries;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int slot = 0; slot < oldUsed.length; slot++) {
+            if (oldUsed[slot]) {
+                int offset = slot * LONGS_PER_ENTRY;
+                add(oldEntries[offset], oldEntries[offset + 1],
+                    oldEntries[offset + 2], oldEntries[offset + 3]);
+            }
+        }
+    }
+
+    /**
+     * Выделить пустую таблицу.
+     *
+     * @param capacity - емкость, степень двойки
+     */
+    private void allocate(final int capacity) {
+        entries = new long[capacity * LONGS_PER_ENTRY];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    /**
+     * Емкость таблицы с заполнением не больше половины.
+     *
+     * @param expectedSize - ожидаемое количество пар
+     * @return емкость, степень двойки
+     */
+    private static int capacityFor(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Хеш пары.
+     *
+     * @param firstMsb  - старшие биты первого элемента
+     * @param firstLsb  - младшие биты первого элемента
+     * @param secondMsb - старшие биты второго элемента
+     * @param secondLsb - младшие биты второго элемента
+     * @return хеш пары
+     */
+    private static int hash(final long firstMsb, final long firstLsb,
+                            final long secondMsb, final long secondLsb) {
+        long hash = firstMsb ^ Long.rotateLeft(firstLsb, 16)
+            ^ Long.rotateLeft(secondMsb, 32) ^ Long.rotateLeft(secondLsb, 48);
+        hash *= HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
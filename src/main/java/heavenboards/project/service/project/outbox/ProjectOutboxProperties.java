@@ -0,0 +1,29 @@
+package heavenboards.project.service.project.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки публикации outbox изменений проектов.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.outbox")
+public class ProjectOutboxProperties {
+    /**
+     * Включена ли публикация.
+     * При выключенной публикации записи копятся в outbox.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальное количество записей, переносимых в журнал одной транзакцией.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Сколько хранить опубликованные изменения в журнале.
+     */
+    private Duration retention = Duration.ofDays(7);
+}
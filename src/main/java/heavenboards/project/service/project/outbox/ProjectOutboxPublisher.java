@@ -0,0 +1,90 @@
+package heavenboards.project.service.project.outbox;
+
+import heavenboards.project.service.project.domain.ProjectChangeLogRepository;
+import heavenboards.project.service.project.domain.ProjectOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Публикатор outbox изменений проектов.
+ * Периодически переносит записи из outbox в журнал изменений пачками. Одновременно
+ * журнал пополняет только один инстанс, остальные пропускают запуск.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectOutboxPublisher {
+    /**
+     * Настройки публикации.
+     */
+    private final ProjectOutboxProperties properties;
+
+    /**
+     * Репозиторий outbox изменений проектов.
+     */
+    private final ProjectOutboxRepository projectOutboxRepository;
+
+    /**
+     * Репозиторий журнала изменений проектов.
+     */
+    private final ProjectChangeLogRepository projectChangeLogRepository;
+
+    /**
+     * Шаблон транзакций для переноса пачек.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Периодически публиковать записи outbox.
+     */
+    @Scheduled(fixedDelayString = "${project.outbox.publish-interval:PT1S}")
+    public void scheduledPublish() {
+        publish();
+    }
+
+    /**
+     * Периодически удалять устаревшие изменения из журнала.
+     */
+    @Scheduled(fixedDelayString = "${project.outbox.cleanup-interval:PT1H}")
+    public void scheduledCleanup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        int deleted = projectChangeLogRepository
+            .deleteOccurredBefore(Instant.now().minus(properties.getRetention()));
+        log.debug("Удалено устаревших изменений проектов: {}", deleted);
+    }
+
+    /**
+     * Перенести все накопившиеся записи outbox в журнал изменений.
+     * Каждая пачка переносится своей транзакцией.
+     *
+     * @return количество перенесенных записей
+     */
+    public int publish() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+
+        int published = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> projectOutboxRepository
+                .tryLockPublisher()
+                ? projectOutboxRepository.publishBatch(properties.getBatchSize())
+                : 0);
+            published += batch;
+        } while (batch == properties.getBatchSize());
+
+        if (published > 0) {
+            log.debug("Опубликовано изменений проектов: {}", published);
+        }
+        return published;
+    }
+}
@@ -0,0 +1,68 @@
+package heavenboards.project.service.project.service;
+
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.project.domain.ProjectChangeLogEntry;
+import heavenboards.project.service.project.domain.ProjectChangeLogRepository;
+import heavenboards.project.service.project.dto.ProjectChangePageTo;
+import heavenboards.project.service.project.dto.ProjectChangeTo;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.List;
+
+/**
+ * Use case получения журнала изменений проектов.
+ * Клиент запоминает порядковый номер последнего полученного изменения и запрашивает
+ * только изменения после него вместо повторного чтения всех проектов.
+ */
+@Service
+@Timed(value = MetricsConfiguration.USE_CASE_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class ProjectChangeFeedUseCase {
+    /**
+     * Максимальный размер страницы изменений.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Репозиторий журнала изменений проектов.
+     */
+    private final ProjectChangeLogRepository projectChangeLogRepository;
+
+    /**
+     * Получить изменения проектов пользователя после порядкового номера.
+     * Если изменения после номера уже удалены из журнала по сроку хранения, страница
+     * приходит пустой с признаком reset и текущим последним номером журнала.
+     *
+     * @param after - порядковый номер последнего полученного изменения, 0 - с начала журнала
+     * @param limit - размер страницы, не больше MAX_PAGE_SIZE
+     * @return страница изменений
+     */
+    public ProjectChangePageTo findUserChanges(final long after, final int limit) {
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        List<ProjectChangeLogEntry> entries = projectChangeLogRepository
+            .findUserEntriesAfter(user.getId(), after, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+        // Проверка после чтения: удаление между запросами тоже приведет к reset
+        if (after < projectChangeLogRepository.findTruncatedSequence()) {
+            return ProjectChangePageTo.builder()
+                .lastSequence(projectChangeLogRepository.findLastSequence())
+                .reset(true)
+                .build();
+        }
+
+        return ProjectChangePageTo.builder()
+            .changes(entries.stream()
+                .map(entry -> ProjectChangeTo.builder()
+                    .sequence(entry.sequence())
+                    .projectId(entry.projectId())
+                    .changeType(entry.changeType())
+                    .occurredAt(entry.occurredAt())
+                    .build())
+                .toList())
+            .lastSequence(entries.isEmpty() ? after : entries.getLast().sequence())
+            .build();
+    }
+}
@@ -1,8 +1,15 @@
 package heavenboards.project.service.project.service;
 
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.project.domain.ProjectChangeType;
 import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.domain.ProjectNameView;
+import heavenboards.project.service.project.domain.ProjectOutboxMessage;
+import heavenboards.project.service.project.domain.ProjectOutboxRepository;
 import heavenboards.project.service.project.domain.ProjectRepository;
+import heavenboards.project.service.project.domain.ProjectUserEntity;
 import heavenboards.project.service.project.mapping.ProjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -13,13 +20,21 @@ import transfer.contract.domain.project.ProjectOperationResultTo;
 import transfer.contract.domain.project.ProjectTo;
 import transfer.contract.domain.user.UserTo;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Use case создания проекта.
  */
 @Service
+@Timed(value = MetricsConfiguration.USE_CASE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class ProjectCreateUseCase {
     /**
@@ -32,8 +47,15 @@ public class ProjectCreateUseCase {
      */
     private final ProjectMapper projectMapper;
 
+    /**
+     * Репозиторий outbox изменений проектов.
+     */
+    private final ProjectOutboxRepository projectOutboxRepository;
+
     /**
      * Создать проект.
+     * Проверка названия и вставка выполняются под advisory-блокировкой названия,
+     * поэтому параллельные запросы не создадут у пользователя проекты с одинаковым названием.
      *
      * @param project - данные проекта.
      * @return результат операции создания
@@ -41,21 +63,97 @@ public class ProjectCreateUseCase {
     @Transactional
     public ProjectOperationResultTo createProject(final ProjectTo project) {
         var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (projectRepository.existsByNameAndUserId(project.getName(), user.getId())) {
-            UUID failedEntityId = projectRepository
-                .findProjectIdByNameAndUserId(project.getName(), user.getId());
-            return ProjectOperationResultTo.builder()
-                .status(OperationStatus.FAILED)
-                .errors(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
-                    .failedProjectId(failedEntityId)
-                    .errorCode(ProjectOperationErrorCode.NAME_ALREADY_EXIST)
-                    .build()))
-                .build();
+        projectRepository.lockProjectNames(new String[]{project.getName()}, user.getId());
+        Optional<UUID> failedEntityId = projectRepository
+            .findConflictingProjectId(project.getName(), user.getId());
+        if (failedEntityId.isPresent()) {
+            return nameAlreadyExistResult(failedEntityId.get());
+        }
+
+        ProjectEntity entity = projectRepository
+            .save(projectMapper.mapFromTo(new ProjectEntity(), project));
+        projectOutboxRepository.append(List.of(createdMessage(entity)));
+        return ProjectOperationResultTo.builder()
+            .projectId(entity.getId())
+            .build();
+    }
+
+    /**
+     * Создать проекты пачкой.
+     * Конфликты названий для всей пачки проверяются одним запросом, идентификаторы
+     * генерируются приложением при persist, поэтому вставки проектов и участников
+     * отправляются в базу JDBC-пачками при flush.
+     *
+     * @param projects - данные проектов
+     * @return результаты операций создания в порядке проектов
+     */
+    @Transactional
+    public List<ProjectOperationResultTo> createProjects(final List<ProjectTo> projects) {
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Set<String> names = projects.stream()
+            .map(ProjectTo::getName)
+            .collect(Collectors.toCollection(TreeSet::new));
+        if (names.isEmpty()) {
+            return List.of();
+        }
+
+        projectRepository.lockProjectNames(names.toArray(String[]::new), user.getId());
+        Map<String, UUID> projectIdsByName = new HashMap<>();
+        List<ProjectNameView> conflicts = projectRepository
+            .findConflictingProjects(names, user.getId());
+        for (ProjectNameView conflict : conflicts) {
+            projectIdsByName.putIfAbsent(conflict.getName(), conflict.getId());
+        }
+
+        List<ProjectOperationResultTo> results = new ArrayList<>(projects.size());
+        List<ProjectOutboxMessage> messages = new ArrayList<>(projects.size());
+        for (ProjectTo project : projects) {
+            // Конфликт может быть как с существующим проектом, так и с проектом из этой же пачки
+            UUID failedEntityId = projectIdsByName.get(project.getName());
+            if (failedEntityId != null) {
+                results.add(nameAlreadyExistResult(failedEntityId));
+                continue;
+            }
+
+            ProjectEntity entity = projectRepository
+                .save(projectMapper.mapFromTo(new ProjectEntity(), project));
+            projectIdsByName.put(project.getName(), entity.getId());
+            messages.add(createdMessage(entity));
+            results.add(ProjectOperationResultTo.builder()
+                .projectId(entity.getId())
+                .build());
         }
 
-        ProjectEntity entity = projectMapper.mapFromTo(new ProjectEntity(), project);
+        projectOutboxRepository.append(messages);
+        return results;
+    }
+
+    /**
+     * Запись outbox о создании проекта.
+     *
+     * @param entity - созданный проект
+     * @return запись об изменении для участников проекта
+     */
+    private ProjectOutboxMessage createdMessage(final ProjectEntity entity) {
+        return new ProjectOutboxMessage(entity.getId(), ProjectChangeType.CREATED,
+            entity.getUsers().stream()
+                .map(ProjectUserEntity::getUserId)
+                .toList());
+    }
+
+    /**
+     * Результат операции с ошибкой существующего названия.
+     *
+     * @param failedEntityId - идентификатор проекта с таким же названием
+     * @return результат операции создания
+     */
+    private ProjectOperationResultTo nameAlreadyExistResult(final UUID failedEntityId) {
         return ProjectOperationResultTo.builder()
-            .projectId(projectRepository.save(entity).getId())
+            .status(OperationStatus.FAILED)
+            .errors(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+                .failedProjectId(failedEntityId)
+                .errorCode(ProjectOperationErrorCode.NAME_ALREADY_EXIST)
+                .build()))
             .build();
     }
 }
@@ -0,0 +1,114 @@
+package heavenboards.project.service.project.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запрошенные клиентом поля проекта.
+ * Идентификатор возвращается всегда. Без участников проекты читаются без соединения
+ * с участниками, а сервис пользователей не вызывается.
+ *
+ * @param name           - запрошено ли название
+ * @param positionWeight - запрошен ли вес позиции
+ * @param users          - запрошены ли участники
+ */
+public record ProjectFields(boolean name, boolean positionWeight, boolean users) {
+    /**
+     * Все поля проекта, если клиент не указал поля.
+     */
+    public static final ProjectFields ALL = new ProjectFields(true, true, true);
+
+    /**
+     * Название поля идентификатора.
+     */
+    private static final String ID = "id";
+
+    /**
+     * Название поля названия.
+     */
+    private static final String NAME = "name";
+
+    /**
+     * Название поля веса позиции.
+     */
+    private static final String POSITION_WEIGHT = "positionWeight";
+
+    /**
+     * Название поля участников.
+     */
+    private static final String USERS = "users";
+
+    /**
+     * Разобрать параметр fields, например "id,name,positionWeight".
+     *
+     * @param fields - названия полей через запятую, null - все поля
+     * @return запрошенные поля
+     */
+    public static ProjectFields parse(final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        boolean name = false;
+        boolean positionWeight = false;
+        boolean users = false;
+        for (String field : fields.split(",")) {
+            switch (field.trim()) {
+                case ID -> {
+                    // Идентификатор возвращается всегда
+                }
+                case NAME -> name = true;
+                case POSITION_WEIGHT -> positionWeight = true;
+                case USERS -> users = true;
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Неизвестное поле проекта %s", field.trim()));
+            }
+        }
+
+        return new ProjectFields(name, positionWeight, users);
+    }
+
+    /**
+     * Оставить в проекте только запрошенные поля.
+     *
+     * @param project - проект
+     * @return тот же проект без незапрошенных полей
+     */
+    public ProjectTo apply(final ProjectTo project) {
+        if (!name) {
+            project.setName(null);
+        }
+        if (!positionWeight) {
+            project.setPositionWeight(null);
+        }
+        if (!users) {
+            project.setUsers(null);
+        }
+
+        return project;
+    }
+
+    /**
+     * Каноническая запись запрошенных полей, не зависящая от порядка в параметре.
+     *
+     * @return названия полей через запятую
+     */
+    public String canonical() {
+        List<String> names = new ArrayList<>(List.of(ID));
+        if (name) {
+            names.add(NAME);
+        }
+        if (positionWeight) {
+            names.add(POSITION_WEIGHT);
+        }
+        if (users) {
+            names.add(USERS);
+        }
+
+        return String.join(",", names);
+    }
+}
@@ -1,32 +1,50 @@
 package heavenboards.project.service.project.service;
 
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.project.cache.ProjectCacheInvalidator;
 import heavenboards.project.service.project.domain.ProjectRepository;
-import heavenboards.project.service.project.domain.ProjectUserEntity;
-import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.domain.ProjectView;
+import heavenboards.project.service.project.domain.ProjectViewRepository;
+import heavenboards.project.service.project.dto.ProjectBatchGetResultTo;
+import heavenboards.project.service.project.dto.ProjectPageTo;
 import heavenboards.project.service.project.mapping.ProjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import transfer.contract.domain.project.ProjectTo;
 import transfer.contract.domain.user.UserTo;
 import transfer.contract.exception.BaseErrorCode;
 import transfer.contract.exception.ClientApplicationException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Сервис для проектов.
  */
 @Service
+@Timed(value = MetricsConfiguration.USE_CASE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class ProjectFindUseCase {
     /**
-     * Репозиторий для сущности связывающей проект и пользователя.
+     * Максимальный размер страницы проектов.
      */
-    private final ProjectUserRepository projectUserRepository;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Репозиторий для read-only представлений проектов.
+     */
+    private final ProjectViewRepository projectViewRepository;
 
     /**
      * Репозиторий для проектов.
@@ -38,33 +56,195 @@ public class ProjectFindUseCase {
      */
     private final ProjectMapper projectMapper;
 
+    /**
+     * Сброс кеша второго уровня.
+     */
+    private final ProjectCacheInvalidator projectCacheInvalidator;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Поиск проекта по идентификатору.
+     * Проект читается в read-only транзакции, а пользователи запрашиваются уже после нее,
+     * чтобы медленный сервис пользователей не держал соединение с базой. Если участники
+     * не запрошены, читаются только поля проекта.
+     *
+     * Проект с участниками читается через кеш второго уровня. Закешированный проект старше
+     * уже прочитанной из базы версии сбрасывается и перечитывается из базы.
+     *
+     * @param projectId    - идентификатор проекта
+     * @param fields       - запрошенные поля проекта
+     * @param knownVersion - версия проекта, уже прочитанная из базы
+     * @return данные проекта и его версия
+     */
+    public Versioned<ProjectTo> findProjectById(final UUID projectId,
+                                                final ProjectFields fields,
+                                                final int knownVersion) {
+        Versioned<ProjectView> project;
+        if (fields.users()) {
+            project = findProjectWithUsers(projectId);
+            if (project.version() < knownVersion) {
+                projectCacheInvalidator.evictProject(projectId);
+                project = findProjectWithUsers(projectId);
+            }
+        } else {
+            project = projectRepository.findSummaryById(projectId)
+                .map(summary -> new Versioned<>(new ProjectView(summary.getId(),
+                    summary.getName(), summary.getPositionWeight(), List.of()),
+                    summary.getVersion()))
+                .orElseThrow(() -> notFound(projectId));
+        }
+
+        ProjectTo to = projectMapper.mapFromViews(List.of(project.value())).getFirst();
+        return new Versioned<>(fields.apply(to), project.version());
+    }
+
+    /**
+     * Найти версию проекта без загрузки проекта и его участников.
      *
      * @param projectId - идентификатор проекта
-     * @return данные проекта
+     * @return версия проекта
      */
-    @Transactional(readOnly = true)
-    public ProjectTo findProjectById(final UUID projectId) {
-        return projectRepository.findById(projectId)
-            .map(entity -> projectMapper.mapFromEntity(new ProjectTo(), entity))
-            .orElseThrow(() -> new ClientApplicationException(BaseErrorCode.NOT_FOUND,
-                String.format("Проект с идентификатором %s не найден!", projectId)));
+    public int findProjectVersion(final UUID projectId) {
+        return projectRepository.findVersionById(projectId)
+            .orElseThrow(() -> notFound(projectId));
     }
 
     /**
-     * Получить все проекты пользователя.
+     * Посчитать отпечаток набора проектов пользователя без загрузки проектов.
      *
+     * @return отпечаток проектов пользователя
+     */
+    public String findUserProjectsDigest() {
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return projectRepository.findUserProjectsDigest(user.getId());
+    }
+
+    /**
+     * Получить все проекты пользователя в порядке (positionWeight, id).
+     * Проекты с идентификаторами участников читаются одним запросом без управляемых сущностей,
+     * участники всех проектов получаются из сервиса пользователей общим запросом.
+     *
+     * @param fields - запрошенные поля проектов
      * @return все проекты пользователя
      */
-    @Transactional(readOnly = true)
-    public List<ProjectTo> findUserProjects() {
+    public List<ProjectTo> findUserProjects(final ProjectFields fields) {
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return applyFields(projectMapper.mapFromViews(
+            projectViewRepository.findUserProjects(user.getId(), fields.users())), fields);
+    }
+
+    /**
+     * Получить страницу проектов пользователя в порядке (positionWeight, id).
+     *
+     * @param cursor - курсор, полученный с предыдущей страницей, или null для первой страницы
+     * @param limit  - размер страницы, не больше MAX_PAGE_SIZE
+     * @param fields - запрошенные поля проектов
+     * @return страница проектов пользователя
+     */
+    public ProjectPageTo findUserProjectsPage(final String cursor,
+                                              final int limit,
+                                              final ProjectFields fields) {
         var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        List<ProjectUserEntity> userProjects = projectUserRepository.findAllByUserId(user.getId());
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        // Запрашиваем на один проект больше, чтобы понять, есть ли следующая страница
+        List<ProjectView> projects;
+        if (cursor == null) {
+            projects = projectViewRepository.findUserProjectsFirstPage(user.getId(),
+                pageSize + 1, fields.users());
+        } else {
+            ProjectPageCursor pageCursor = ProjectPageCursor.decode(cursor);
+            projects = projectViewRepository.findUserProjectsAfter(user.getId(),
+                pageCursor.positionWeight(), pageCursor.id(), pageSize + 1, fields.users());
+        }
+
+        String nextCursor = null;
+        if (projects.size() > pageSize) {
+            projects = projects.subList(0, pageSize);
+            ProjectView last = projects.get(pageSize - 1);
+            nextCursor = new ProjectPageCursor(last.positionWeight(), last.id()).encode();
+        }
+
+        return ProjectPageTo.builder()
+            .projects(applyFields(projectMapper.mapFromViews(projects), fields))
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    /**
+     * Получить проекты по идентификаторам.
+     * Проекты с участниками читаются одним запросом, пользователи всех проектов
+     * получаются из сервиса пользователей общим запросом. Ненайденные проекты
+     * возвращаются списком идентификаторов, а не ошибкой.
+     *
+     * @param ids    - идентификаторы проектов
+     * @param fields - запрошенные поля проектов
+     * @return найденные проекты и идентификаторы ненайденных
+     */
+    public ProjectBatchGetResultTo findProjectsByIds(final Collection<UUID> ids,
+                                                     final ProjectFields fields) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        Map<UUID, ProjectTo> projects = applyFields(projectMapper
+            .mapFromViews(projectViewRepository.findAllByIds(distinctIds, fields.users())), fields)
+            .stream()
+            .collect(Collectors.toMap(ProjectTo::getId, Function.identity()));
 
-        return userProjects.stream()
-            .map(projectUser -> projectMapper
-                .mapFromEntity(new ProjectTo(), projectUser.getProject()))
-            .collect(Collectors.toList());
+        List<ProjectTo> foundProjects = new ArrayList<>(projects.size());
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID id : distinctIds) {
+            ProjectTo project = projects.get(id);
+            if (project == null) {
+                missingIds.add(id);
+            } else {
+                foundProjects.add(project);
+            }
+        }
+
+        return ProjectBatchGetResultTo.builder()
+            .projects(foundProjects)
+            .missingIds(missingIds)
+            .build();
+    }
+
+    /**
+     * Прочитать проект с идентификаторами участников в read-only транзакции.
+     *
+     * @param projectId - идентификатор проекта
+     * @return представление проекта и его версия
+     */
+    private Versioned<ProjectView> findProjectWithUsers(final UUID projectId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> projectRepository.findById(projectId)
+            .map(entity -> new Versioned<>(projectMapper.mapToView(entity), entity.getVersion()))
+            .orElseThrow(() -> notFound(projectId)));
+    }
+
+    /**
+     * Оставить в проектах только запрошенные поля.
+     *
+     * @param projects - проекты
+     * @param fields   - запрошенные поля проектов
+     * @return те же проекты без незапрошенных полей
+     */
+    private List<ProjectTo> applyFields(final List<ProjectTo> projects,
+                                        final ProjectFields fields) {
+        projects.forEach(fields::apply);
+        return projects;
+    }
+
+    /**
+     * Ошибка ненайденного проекта.
+     *
+     * @param projectId - идентификатор проекта
+     * @return исключение
+     */
+    private ClientApplicationException notFound(final UUID projectId) {
+        return new ClientApplicationException(BaseErrorCode.NOT_FOUND,
+            String.format("Проект с идентификатором %s не найден!", projectId));
     }
 }
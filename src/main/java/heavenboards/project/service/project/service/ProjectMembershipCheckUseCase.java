@@ -0,0 +1,51 @@
+package heavenboards.project.service.project.service;
+
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.project.dto.ProjectMembershipTo;
+import heavenboards.project.service.project.membership.ProjectMembershipIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case проверки участия пользователя в проекте.
+ */
+@Service
+@Timed(value = MetricsConfiguration.USE_CASE_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class ProjectMembershipCheckUseCase {
+    /**
+     * Индекс участников проектов в памяти.
+     */
+    private final ProjectMembershipIndex projectMembershipIndex;
+
+    /**
+     * Проверить участие пользователя в проекте.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return участие пользователя в проекте
+     */
+    public ProjectMembershipTo checkMembership(final UUID projectId, final UUID userId) {
+        return ProjectMembershipTo.builder()
+            .projectId(projectId)
+            .userId(userId)
+            .member(projectMembershipIndex.isMember(projectId, userId))
+            .build();
+    }
+
+    /**
+     * Проверить участие пользователей в проектах.
+     *
+     * @param memberships - пары проект-пользователь
+     * @return участие пользователей в проектах в порядке запроса
+     */
+    public List<ProjectMembershipTo> checkMemberships(final List<ProjectMembershipTo> memberships) {
+        return memberships.stream()
+            .map(membership -> checkMembership(membership.getProjectId(), membership.getUserId()))
+            .toList();
+    }
+}
@@ -0,0 +1,168 @@
+package heavenboards.project.service.project.service;
+
+import heavenboards.project.service.project.cache.ProjectCacheInvalidator;
+import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.domain.ProjectRepository;
+import heavenboards.project.service.project.domain.ProjectUserEntity;
+import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.domain.ProjectUserView;
+import heavenboards.project.service.project.membership.ProjectMembershipIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Сервис изменения участников проекта.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectMembershipService {
+    /**
+     * Репозиторий для сущности связывающей проект и пользователя.
+     */
+    private final ProjectUserRepository projectUserRepository;
+
+    /**
+     * Репозиторий для проектов.
+     */
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Индекс участников проектов в памяти.
+     */
+    private final ProjectMembershipIndex projectMembershipIndex;
+
+    /**
+     * Сброс кеша второго уровня.
+     */
+    private final ProjectCacheInvalidator projectCacheInvalidator;
+
+    /**
+     * Привести участников проекта к новому набору пользователей.
+     * Участники сравниваются по идентификатору пользователя: неизменившиеся записи остаются,
+     * удаленные удаляются одним запросом, добавленные вставляются пачкой.
+     *
+     * @param project - проект
+     * @param userIds - идентификаторы пользователей, которые должны быть участниками
+     * @return участники проекта после изменения
+     */
+    public List<ProjectUserEntity> syncProjectUsers(final ProjectEntity project,
+                                                    final Collection<UUID> userIds) {
+        MembersDiff<ProjectUserEntity> diff = diff(project.getUsers(),
+            ProjectUserEntity::getId, ProjectUserEntity::getUserId, userIds);
+        List<ProjectUserEntity> addedProjectUsers = apply(project, project.getId() != null, diff);
+
+        List<ProjectUserEntity> projectUsers = new ArrayList<>(diff.kept());
+        projectUsers.addAll(addedProjectUsers);
+        return projectUsers;
+    }
+
+    /**
+     * Привести участников проекта к новому набору пользователей без загрузки проекта.
+     *
+     * @param projectId    - идентификатор проекта
+     * @param currentUsers - текущие записи участников проекта
+     * @param userIds      - идентификаторы пользователей, которые должны быть участниками
+     */
+    public void syncProjectUsers(final UUID projectId,
+                                 final Collection<ProjectUserView> currentUsers,
+                                 final Collection<UUID> userIds) {
+        MembersDiff<ProjectUserView> diff = diff(currentUsers,
+            ProjectUserView::getId, ProjectUserView::getUserId, userIds);
+        apply(projectRepository.getReferenceById(projectId), true, diff);
+    }
+
+    /**
+     * Сравнить текущих участников проекта с новым набором пользователей.
+     *
+     * @param currentUsers - текущие записи участников
+     * @param rowId        - идентификатор записи участника
+     * @param userId       - идентификатор пользователя записи участника
+     * @param userIds      - идентификаторы пользователей, которые должны быть участниками
+     * @param <T>          - тип записи участника
+     * @return различия участников
+     */
+    private <T> MembersDiff<T> diff(final Collection<T> currentUsers,
+                                    final Function<T, UUID> rowId,
+                                    final Function<T, UUID> userId,
+                                    final Collection<UUID> userIds) {
+        Set<UUID> requestedUserIds = Set.copyOf(userIds);
+
+        // После обхода текущих участников здесь останутся только добавленные пользователи
+        Set<UUID> addedUserIds = new LinkedHashSet<>(userIds);
+        List<T> kept = new ArrayList<>(addedUserIds.size());
+        List<UUID> removedRowIds = new ArrayList<>();
+        List<UUID> removedUserIds = new ArrayList<>();
+        for (T projectUser : currentUsers) {
+            UUID projectUserId = userId.apply(projectUser);
+            if (addedUserIds.remove(projectUserId)) {
+                kept.add(projectUser);
+            } else {
+                removedRowIds.add(rowId.apply(projectUser));
+                // Повторная запись того же участника удаляется, но сам участник остается
+                if (!requestedUserIds.contains(projectUserId)) {
+                    removedUserIds.add(projectUserId);
+                }
+            }
+        }
+
+        return new MembersDiff<>(kept, removedRowIds, removedUserIds, List.copyOf(addedUserIds));
+    }
+
+    /**
+     * Применить различия участников к базе и индексу участников.
+     *
+     * @param project    - проект
+     * @param persistent - сохранен ли проект; новый проект сохранит участников каскадно
+     * @param diff       - различия участников
+     * @return добавленные записи участников
+     */
+    private List<ProjectUserEntity> apply(final ProjectEntity project,
+                                          final boolean persistent,
+                                          final MembersDiff<?> diff) {
+        if (!diff.removedRowIds().isEmpty()) {
+            projectUserRepository.deleteAllByIdInBatch(diff.removedRowIds());
+            projectMembershipIndex.removeAfterCommit(project.getId(), diff.removedUserIds());
+        }
+
+        List<ProjectUserEntity> addedProjectUsers = diff.addedUserIds().stream()
+            .map(userId -> ProjectUserEntity.builder()
+                .userId(userId)
+                .project(project)
+                .build())
+            .toList();
+
+        if (persistent && !addedProjectUsers.isEmpty()) {
+            projectUserRepository.saveAll(addedProjectUsers);
+        }
+
+        projectMembershipIndex.addAfterCommit(project::getId, diff.addedUserIds());
+        // Закешированная коллекция участников не видит изменений через репозиторий участников
+        if (persistent && (!diff.removedRowIds().isEmpty() || !addedProjectUsers.isEmpty())) {
+            projectCacheInvalidator.evictProjectUsersAfterCommit(project.getId());
+        }
+        return addedProjectUsers;
+    }
+
+    /**
+     * Различия участников проекта.
+     *
+     * @param kept           - неизменившиеся записи участников
+     * @param removedRowIds  - идентификаторы удаляемых записей
+     * @param removedUserIds - идентификаторы пользователей, переставших быть участниками
+     * @param addedUserIds   - идентификаторы добавленных пользователей
+     * @param <T>            - тип записи участника
+     */
+    private record MembersDiff<T>(List<T> kept,
+                                  List<UUID> removedRowIds,
+                                  List<UUID> removedUserIds,
+                                  List<UUID> addedUserIds) {
+    }
+}
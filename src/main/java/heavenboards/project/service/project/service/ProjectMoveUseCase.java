@@ -0,0 +1,259 @@
+package heavenboards.project.service.project.service;
+
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.project.cache.ProjectCacheInvalidator;
+import heavenboards.project.service.project.domain.ProjectChangeType;
+import heavenboards.project.service.project.domain.ProjectCommandRepository;
+import heavenboards.project.service.project.domain.ProjectOutboxRepository;
+import heavenboards.project.service.project.domain.ProjectPosition;
+import heavenboards.project.service.project.domain.ProjectRepository;
+import heavenboards.project.service.project.domain.ProjectVersionView;
+import heavenboards.project.service.project.dto.ProjectMoveRequestTo;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import transfer.contract.domain.common.OperationStatus;
+import transfer.contract.domain.project.ProjectOperationErrorCode;
+import transfer.contract.domain.project.ProjectOperationResultTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Use case переноса проекта между соседними проектами.
+ * Переносимый проект получает вес посередине между весами соседей, поэтому перенос
+ * меняет одну строку. Когда промежуток между соседями заканчивается, веса соседних
+ * проектов пользователя перерасчитываются с шагом.
+ */
+@Service
+@Timed(value = MetricsConfiguration.USE_CASE_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class ProjectMoveUseCase {
+    /**
+     * Репозиторий условных изменений проектов.
+     */
+    private final ProjectCommandRepository projectCommandRepository;
+
+    /**
+     * Репозиторий проектов.
+     */
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Сервис перерасчета весов позиций проектов.
+     */
+    private final ProjectOrderService projectOrderService;
+
+    /**
+     * Сброс кеша второго уровня.
+     */
+    private final ProjectCacheInvalidator projectCacheInvalidator;
+
+    /**
+     * Репозиторий outbox изменений проектов.
+     */
+    private final ProjectOutboxRepository projectOutboxRepository;
+
+    /**
+     * Перенести проект между соседними проектами.
+     *
+     * @param projectId       - идентификатор переносимого проекта
+     * @param request         - соседи проекта после переноса
+     * @param expectedVersion - ожидаемая текущая версия проекта, null - без проверки версии
+     * @return результат операции переноса и новая версия проекта
+     */
+    @Transactional
+    public Versioned<ProjectOperationResultTo> moveProject(final UUID projectId,
+                                                           final ProjectMoveRequestTo request,
+                                                           final Integer expectedVersion) {
+        UUID previousId = request.getPreviousId();
+        UUID nextId = request.getNextId();
+        if (previousId == null && nextId == null
+            || projectId.equals(previousId) || projectId.equals(nextId)
+            || Objects.equals(previousId, nextId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Нужно указать разных соседей проекта, отличных от самого проекта");
+        }
+
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        projectCommandRepository.lockUserProjectOrder(user.getId());
+
+        List<UUID> ids = Stream.of(projectId, previousId, nextId)
+            .filter(Objects::nonNull)
+            .toList();
+        Map<UUID, ProjectPosition> positions = projectCommandRepository
+            .findMemberPositions(ids, user.getId());
+        for (UUID id : ids) {
+            if (!positions.containsKey(id)) {
+                return new Versioned<>(notAMemberResult(id), null);
+            }
+        }
+
+        ProjectPosition project = positions.get(projectId);
+        if (expectedVersion != null && expectedVersion != project.version()) {
+            throw preconditionFailed(projectId);
+        }
+
+        OptionalInt positionWeight = positionBetween(positions.get(previousId),
+            positions.get(nextId));
+        if (positionWeight.isEmpty()) {
+            // Промежуток между соседями закончился - перерасчитываем веса вокруг них сразу
+            projectOrderService.rebalance(user.getId(),
+                previousId != null ? previousId : nextId, projectId);
+            positions = projectCommandRepository.findMemberPositions(ids, user.getId());
+            project = positions.get(projectId);
+            positionWeight = positionBetween(positions.get(previousId), positions.get(nextId));
+            if (positionWeight.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format(
+                    "Нет свободного веса позиции между проектами %s и %s", previousId, nextId));
+            }
+        }
+
+        // Переданная клиентом версия уже сверена с прочитанной, а перерасчет переносимый
+        // проект только блокирует, поэтому ожидаемой версией служит прочитанная
+        Optional<Integer> version = projectCommandRepository.moveIfMember(projectId,
+            positionWeight.getAsInt(), expectedVersion == null ? null : project.version(),
+            user.getId());
+        if (version.isEmpty()) {
+            return new Versioned<>(rejectedMoveResult(projectId, user.getId()), null);
+        }
+
+        projectOutboxRepository.appendForMembers(List.of(projectId), ProjectChangeType.MOVED);
+        projectCacheInvalidator.evictProjectAfterCommit(projectId);
+        if (gapsRunningOut(positions.get(previousId), positionWeight.getAsInt(),
+            positions.get(nextId))) {
+            rebalanceAfterCommit(user.getId(), projectId);
+        }
+
+        return new Versioned<>(ProjectOperationResultTo.builder()
+            .projectId(projectId)
+            .build(), version.get());
+    }
+
+    /**
+     * Вес позиции между соседями.
+     *
+     * @param previous - предыдущий проект, null - перенос в начало
+     * @param next     - следующий проект, null - перенос в конец
+     * @return вес позиции или пусто, если свободного веса между соседями нет
+     */
+    private OptionalInt positionBetween(final ProjectPosition previous,
+                                        final ProjectPosition next) {
+        if (previous != null && next != null
+            && previous.positionWeight() > next.positionWeight()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format(
+                "Проект %s не идет перед проектом %s", previous.id(), next.id()));
+        }
+
+        long weight;
+        if (previous == null) {
+            weight = (long) next.positionWeight() - ProjectOrderService.GAP;
+        } else if (next == null) {
+            weight = (long) previous.positionWeight() + ProjectOrderService.GAP;
+        } else if ((long) next.positionWeight() - previous.positionWeight() > 1) {
+            weight = previous.positionWeight()
+                + ((long) next.positionWeight() - previous.positionWeight()) / 2;
+        } else {
+            return OptionalInt.empty();
+        }
+
+        if (weight < Integer.MIN_VALUE || weight > Integer.MAX_VALUE) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of((int) weight);
+    }
+
+    /**
+     * Заканчиваются ли промежутки вокруг нового веса позиции.
+     *
+     * @param previous       - предыдущий проект
+     * @param positionWeight - новый вес позиции
+     * @param next           - следующий проект
+     * @return нужен ли фоновый перерасчет весов
+     */
+    private boolean gapsRunningOut(final ProjectPosition previous,
+                                   final int positionWeight,
+                                   final ProjectPosition next) {
+        return previous != null && (long) positionWeight - previous.positionWeight()
+            < ProjectOrderService.REBALANCE_THRESHOLD
+            || next != null && (long) next.positionWeight() - positionWeight
+            < ProjectOrderService.REBALANCE_THRESHOLD;
+    }
+
+    /**
+     * Запустить фоновый перерасчет весов вокруг проекта после коммита текущей транзакции.
+     *
+     * @param userId    - идентификатор пользователя
+     * @param projectId - идентификатор перенесенного проекта
+     */
+    private void rebalanceAfterCommit(final UUID userId, final UUID projectId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                projectOrderService.rebalanceInBackground(userId, projectId);
+            }
+        });
+    }
+
+    /**
+     * Результат отклоненного условного переноса.
+     * Перенос отклоняется и тогда, когда пользователя успели исключить из проекта после
+     * чтения позиций, поэтому участие проверяется заново.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return результат операции с ошибкой отсутствия пользователя в проекте
+     * @throws ResponseStatusException с кодом 412, если пользователь остался участником
+     */
+    private ProjectOperationResultTo rejectedMoveResult(final UUID projectId, final UUID userId) {
+        // Удаленный проект не отличаем от чужого, как при чтении позиций
+        boolean member = projectRepository.findVersionView(projectId, userId)
+            .map(ProjectVersionView::getMember)
+            .orElse(false);
+        if (!member) {
+            return notAMemberResult(projectId);
+        }
+
+        throw preconditionFailed(projectId);
+    }
+
+    /**
+     * Ошибка изменения проекта, версия которого не совпала с ожидаемой.
+     *
+     * @param projectId - идентификатор проекта
+     * @return исключение с кодом 412
+     */
+    private ResponseStatusException preconditionFailed(final UUID projectId) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+            String.format("Проект %s уже изменен", projectId));
+    }
+
+    /**
+     * Результат операции с ошибкой отсутствия пользователя в проекте.
+     *
+     * @param projectId - идентификатор проекта
+     * @return результат операции переноса
+     */
+    private ProjectOperationResultTo notAMemberResult(final UUID projectId) {
+        return ProjectOperationResultTo.builder()
+            .status(OperationStatus.FAILED)
+            .errors(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+                .failedProjectId(projectId)
+                .errorCode(ProjectOperationErrorCode.YOU_ARE_NOT_A_MEMBER)
+                .build()))
+            .build();
+    }
+}
@@ -0,0 +1,215 @@
+package heavenboards.project.service.project.service;
+
+import heavenboards.project.service.project.cache.ProjectCacheInvalidator;
+import heavenboards.project.service.project.domain.ProjectChangeType;
+import heavenboards.project.service.project.domain.ProjectCommandRepository;
+import heavenboards.project.service.project.domain.ProjectOrderWindow;
+import heavenboards.project.service.project.domain.ProjectOutboxRepository;
+import heavenboards.project.service.project.domain.ProjectPosition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис перерасчета весов позиций проектов пользователя.
+ * Веса расставляются с шагом, чтобы перенос проекта менял одну строку.
+ *
+ * Вес позиции общий для всех участников проекта, поэтому перерасчитывается только окно
+ * соседних проектов вокруг места переноса: веса окна равномерно расставляются между
+ * весами проектов на его границах. Если шаг получается слишком маленьким, окно
+ * расширяется вдвое, вплоть до всего списка пользователя.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectOrderService {
+    /**
+     * Шаг между весами соседних проектов после перерасчета.
+     */
+    public static final int GAP = 1024;
+
+    /**
+     * Промежуток между весами, при котором после переноса запускается фоновый перерасчет.
+     */
+    public static final int REBALANCE_THRESHOLD = 16;
+
+    /**
+     * Количество проектов с каждой стороны от опорного в первом окне перерасчета.
+     */
+    public static final int WINDOW_RADIUS = 8;
+
+    /**
+     * Минимальный шаг между весами окна, ограниченного с двух сторон.
+     */
+    public static final int MIN_WINDOW_GAP = GAP / 4;
+
+    /**
+     * Репозиторий условных изменений проектов.
+     */
+    private final ProjectCommandRepository projectCommandRepository;
+
+    /**
+     * Сброс кеша второго уровня.
+     */
+    private final ProjectCacheInvalidator projectCacheInvalidator;
+
+    /**
+     * Репозиторий outbox изменений проектов.
+     */
+    private final ProjectOutboxRepository projectOutboxRepository;
+
+    /**
+     * Перерасчитать веса позиций проектов пользователя вокруг опорного проекта
+     * в текущей транзакции.
+     *
+     * Строки окна, его границ и исключенного проекта блокируются одним запросом
+     * в порядке идентификаторов до изменения. Если за время между чтением окна
+     * и блокировкой веса изменились, окно читается заново.
+     *
+     * @param userId     - идентификатор пользователя
+     * @param anchorId   - идентификатор опорного проекта
+     * @param excludedId - идентификатор проекта, который не перерасчитывается, но блокируется
+     *                   вместе с окном, null - без исключений
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebalance(final UUID userId, final UUID anchorId, final UUID excludedId) {
+        projectCommandRepository.lockUserProjectOrder(userId);
+        ProjectPosition anchor = projectCommandRepository
+            .findMemberPositions(List.of(anchorId), userId)
+            .get(anchorId);
+        if (anchor == null) {
+            return;
+        }
+
+        int radius = WINDOW_RADIUS;
+        while (true) {
+            ProjectOrderWindow window = projectCommandRepository
+                .findMemberWindow(userId, anchor, excludedId, radius);
+            Map<UUID, Integer> positionWeights = positionWeights(window);
+            if (positionWeights == null) {
+                if (window.coversAll()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Нет свободных весов позиций для проектов пользователя");
+                }
+                radius *= 2;
+                continue;
+            }
+
+            if (!lock(window, excludedId)) {
+                anchor = projectCommandRepository
+                    .findMemberPositions(List.of(anchorId), userId)
+                    .get(anchorId);
+                if (anchor == null) {
+                    return;
+                }
+                continue;
+            }
+
+            List<UUID> rebalanced = projectCommandRepository.updatePositions(positionWeights);
+            if (!rebalanced.isEmpty()) {
+                projectOutboxRepository.appendForMembers(rebalanced, ProjectChangeType.MOVED);
+                rebalanced.forEach(projectCacheInvalidator::evictProjectAfterCommit);
+            }
+            log.debug("Перерасчитаны веса позиций проектов пользователя {}: {} из {}", userId,
+                rebalanced.size(), positionWeights.size());
+            return;
+        }
+    }
+
+    /**
+     * Перерасчитать веса позиций проектов пользователя вокруг проекта в фоне.
+     * Перерасчет идемпотентен, поэтому повторные запуски для одного проекта безопасны.
+     *
+     * @param userId   - идентификатор пользователя
+     * @param anchorId - идентификатор проекта
+     */
+    @Async
+    @Transactional
+    public void rebalanceInBackground(final UUID userId, final UUID anchorId) {
+        rebalance(userId, anchorId, null);
+    }
+
+    /**
+     * Новые веса позиций проектов окна.
+     * Окно, ограниченное с двух сторон, делит промежуток между границами поровну.
+     * Окно у края списка расставляется с шагом GAP от единственной границы.
+     *
+     * @param window - окно проектов
+     * @return веса по идентификатору проекта в порядке окна или null, если окну
+     * не хватает места
+     */
+    private Map<UUID, Integer> positionWeights(final ProjectOrderWindow window) {
+        List<ProjectPosition> positions = window.positions();
+        int count = positions.size();
+        long first;
+        long step;
+        if (window.lowerBound() != null && window.upperBound() != null) {
+            step = ((long) window.upperBound().positionWeight()
+                - window.lowerBound().positionWeight()) / (count + 1);
+            if (step < MIN_WINDOW_GAP) {
+                return null;
+            }
+            first = window.lowerBound().positionWeight() + step;
+        } else if (window.lowerBound() != null) {
+            step = GAP;
+            first = (long) window.lowerBound().positionWeight() + GAP;
+        } else if (window.upperBound() != null) {
+            step = GAP;
+            first = (long) window.upperBound().positionWeight() - (long) GAP * count;
+        } else {
+            step = GAP;
+            first = GAP;
+        }
+
+        long last = first + step * (count - 1);
+        if (first < Integer.MIN_VALUE || last > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        Map<UUID, Integer> positionWeights = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            positionWeights.put(positions.get(i).id(), (int) (first + step * i));
+        }
+        return positionWeights;
+    }
+
+    /**
+     * Заблокировать строки окна, его границ и исключенного проекта.
+     *
+     * @param window     - окно проектов
+     * @param excludedId - идентификатор исключенного проекта, null - без исключений
+     * @return не изменились ли веса окна и границ с момента чтения
+     */
+    private boolean lock(final ProjectOrderWindow window, final UUID excludedId) {
+        List<ProjectPosition> read = new ArrayList<>(window.positions());
+        if (window.lowerBound() != null) {
+            read.add(window.lowerBound());
+        }
+        if (window.upperBound() != null) {
+            read.add(window.upperBound());
+        }
+
+        List<UUID> ids = new ArrayList<>(read.stream().map(ProjectPosition::id).toList());
+        if (excludedId != null) {
+            ids.add(excludedId);
+        }
+
+        Map<UUID, Integer> locked = projectCommandRepository.lockPositions(ids).stream()
+            .collect(Collectors.toMap(ProjectPosition::id, ProjectPosition::positionWeight));
+        return read.stream().allMatch(position -> Objects.equals(
+            locked.get(position.id()), position.positionWeight()));
+    }
+}
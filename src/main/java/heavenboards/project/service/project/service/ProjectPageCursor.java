@@ -0,0 +1,53 @@
+package heavenboards.project.service.project.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Курсор постраничного получения проектов.
+ * Указывает на последний проект предыдущей страницы в порядке (positionWeight, id).
+ *
+ * @param positionWeight - вес позиции последнего проекта
+ * @param id             - идентификатор последнего проекта
+ */
+public record ProjectPageCursor(int positionWeight, UUID id) {
+    /**
+     * Разделитель полей курсора.
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Закодировать курсор в непрозрачную для клиента строку.
+     *
+     * @return закодированный курсор
+     */
+    public String encode() {
+        String raw = positionWeight + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Раскодировать курсор, полученный от клиента.
+     *
+     * @param cursor - закодированный курсор
+     * @return курсор
+     */
+    public static ProjectPageCursor decode(final String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new ProjectPageCursor(
+                Integer.parseInt(raw.substring(0, separatorIndex)),
+                UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Некорректный курсор страницы %s", cursor));
+        }
+    }
+}
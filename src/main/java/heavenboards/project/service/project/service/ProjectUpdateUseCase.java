@@ -1,13 +1,23 @@
 package heavenboards.project.service.project.service;
 
-import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.project.cache.ProjectCacheInvalidator;
+import heavenboards.project.service.project.domain.ProjectChange;
+import heavenboards.project.service.project.domain.ProjectChangeType;
+import heavenboards.project.service.project.domain.ProjectCommandRepository;
+import heavenboards.project.service.project.domain.ProjectOutboxMessage;
+import heavenboards.project.service.project.domain.ProjectOutboxRepository;
 import heavenboards.project.service.project.domain.ProjectRepository;
-import heavenboards.project.service.project.domain.ProjectUserEntity;
-import heavenboards.project.service.project.mapping.ProjectMapper;
+import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.domain.ProjectUserView;
+import heavenboards.project.service.project.domain.ProjectVersionView;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import transfer.contract.domain.common.OperationStatus;
 import transfer.contract.domain.project.ProjectOperationErrorCode;
 import transfer.contract.domain.project.ProjectOperationResultTo;
@@ -16,7 +26,10 @@ import transfer.contract.domain.user.UserTo;
 import transfer.contract.exception.BaseErrorCode;
 import transfer.contract.exception.ClientApplicationException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -24,8 +37,11 @@ import java.util.stream.Collectors;
 
 /**
  * Use case обновления проекта.
+ * Проект не загружается: проверка участия, проверка версии и запись выполняются
+ * одним условным запросом, затем синхронизируются участники.
  */
 @Service
+@Timed(value = MetricsConfiguration.USE_CASE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class ProjectUpdateUseCase {
     /**
@@ -34,41 +50,170 @@ public class ProjectUpdateUseCase {
     private final ProjectRepository projectRepository;
 
     /**
-     * Маппер для проектов.
+     * Репозиторий условных изменений проектов.
      */
-    private final ProjectMapper projectMapper;
+    private final ProjectCommandRepository projectCommandRepository;
+
+    /**
+     * Репозиторий для сущности связывающей проект и пользователя.
+     */
+    private final ProjectUserRepository projectUserRepository;
+
+    /**
+     * Сервис изменения участников проекта.
+     */
+    private final ProjectMembershipService projectMembershipService;
+
+    /**
+     * Сброс кеша второго уровня.
+     */
+    private final ProjectCacheInvalidator projectCacheInvalidator;
+
+    /**
+     * Репозиторий outbox изменений проектов.
+     */
+    private final ProjectOutboxRepository projectOutboxRepository;
 
     /**
      * Обновить проект.
      *
-     * @param project - данные проекта.
-     * @return результат операции обновления
+     * @param project         - данные проекта.
+     * @param expectedVersion - ожидаемая текущая версия проекта, null - без проверки версии
+     * @return результат операции обновления и новая версия проекта
      */
     @Transactional
-    public ProjectOperationResultTo updateProject(final ProjectTo project) {
-        Optional<ProjectEntity> entity = projectRepository.findById(project.getId());
-        if (entity.isEmpty()) {
-            throw new ClientApplicationException(BaseErrorCode.NOT_FOUND,
-                String.format("Проект с идентификатором %s не найден", project.getId()));
+    public Versioned<ProjectOperationResultTo> updateProject(final ProjectTo project,
+                                                             final Integer expectedVersion) {
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Optional<Integer> version = projectCommandRepository
+            .updateIfMember(change(project, expectedVersion), user.getId());
+        if (version.isEmpty()) {
+            return new Versioned<>(rejectedUpdateResult(project.getId(), user.getId()), null);
         }
 
+        syncProjectUsersAndRecordChanges(List.of(project));
+        projectCacheInvalidator.evictProjectAfterCommit(project.getId());
+        return new Versioned<>(ProjectOperationResultTo.builder()
+            .projectId(project.getId())
+            .build(), version.get());
+    }
+
+    /**
+     * Обновить проекты пачкой.
+     * Условные изменения отправляются одной JDBC-пачкой, участники измененных проектов
+     * читаются общим запросом.
+     *
+     * @param projects - данные проектов
+     * @return результаты операций обновления в порядке проектов
+     */
+    @Transactional
+    public List<ProjectOperationResultTo> updateProjects(final List<ProjectTo> projects) {
         var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Set<UUID> projectUserIds = entity.get().getUsers().stream()
-            .map(ProjectUserEntity::getUserId)
-            .collect(Collectors.toSet());
-        if (!projectUserIds.contains(user.getId())) {
-            return ProjectOperationResultTo.builder()
-                .status(OperationStatus.FAILED)
-                .errors(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
-                    .failedProjectId(project.getId())
-                    .errorCode(ProjectOperationErrorCode.YOU_ARE_NOT_A_MEMBER)
-                    .build()))
-                .build();
+        int[] updatedRows = projectCommandRepository.updateIfMember(projects.stream()
+            .map(project -> change(project, null))
+            .toList(), user.getId());
+
+        List<ProjectOperationResultTo> results = new ArrayList<>(projects.size());
+        List<ProjectTo> updatedProjects = new ArrayList<>(projects.size());
+        for (int i = 0; i < projects.size(); i++) {
+            ProjectTo project = projects.get(i);
+            // Отсутствующий проект не отличаем от чужого, чтобы не раскрывать его существование
+            if (updatedRows[i] == 0) {
+                results.add(notAMemberResult(project.getId()));
+                continue;
+            }
+
+            updatedProjects.add(project);
+            projectCacheInvalidator.evictProjectAfterCommit(project.getId());
+            results.add(ProjectOperationResultTo.builder()
+                .projectId(project.getId())
+                .build());
+        }
+
+        syncProjectUsersAndRecordChanges(updatedProjects);
+        return results;
+    }
+
+    /**
+     * Изменение полей проекта.
+     *
+     * @param project         - данные проекта
+     * @param expectedVersion - ожидаемая текущая версия проекта
+     * @return изменение проекта
+     */
+    private ProjectChange change(final ProjectTo project, final Integer expectedVersion) {
+        return new ProjectChange(project.getId(), project.getName(),
+            project.getPositionWeight(), expectedVersion);
+    }
+
+    /**
+     * Привести участников измененных проектов к переданным и записать изменения в outbox.
+     * Текущие участники всех проектов читаются одним запросом. Изменение касается
+     * и прежних, и новых участников проекта.
+     *
+     * @param projects - данные измененных проектов
+     */
+    private void syncProjectUsersAndRecordChanges(final List<ProjectTo> projects) {
+        if (projects.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<ProjectUserView>> currentUsers = projectUserRepository
+            .findViewsByProjectIds(projects.stream().map(ProjectTo::getId).toList())
+            .stream()
+            .collect(Collectors.groupingBy(ProjectUserView::getProjectId));
+        List<ProjectOutboxMessage> messages = new ArrayList<>(projects.size());
+        for (ProjectTo project : projects) {
+            List<ProjectUserView> projectUsers = currentUsers
+                .getOrDefault(project.getId(), List.of());
+            List<UUID> userIds = project.getUsers().stream()
+                .map(UserTo::getId)
+                .toList();
+            projectMembershipService.syncProjectUsers(project.getId(), projectUsers, userIds);
+
+            Set<UUID> affectedUserIds = new LinkedHashSet<>(userIds);
+            projectUsers.forEach(projectUser -> affectedUserIds.add(projectUser.getUserId()));
+            messages.add(new ProjectOutboxMessage(project.getId(), ProjectChangeType.UPDATED,
+                affectedUserIds));
         }
 
-        ProjectEntity updatedEntity = projectMapper.mapFromTo(entity.get(), project);
+        projectOutboxRepository.append(messages);
+    }
+
+    /**
+     * Результат отклоненного условного обновления.
+     * Причина определяется отдельным запросом только при отказе.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return результат операции с ошибкой отсутствия пользователя в проекте
+     */
+    private ProjectOperationResultTo rejectedUpdateResult(final UUID projectId,
+                                                          final UUID userId) {
+        ProjectVersionView view = projectRepository.findVersionView(projectId, userId)
+            .orElseThrow(() -> new ClientApplicationException(BaseErrorCode.NOT_FOUND,
+                String.format("Проект с идентификатором %s не найден", projectId)));
+        if (!view.getMember()) {
+            return notAMemberResult(projectId);
+        }
+
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, String.format(
+            "Проект %s уже изменен, текущая версия %d", projectId, view.getVersion()));
+    }
+
+    /**
+     * Результат операции с ошибкой отсутствия пользователя в проекте.
+     *
+     * @param projectId - идентификатор проекта
+     * @return результат операции обновления
+     */
+    private ProjectOperationResultTo notAMemberResult(final UUID projectId) {
         return ProjectOperationResultTo.builder()
-            .projectId(updatedEntity.getId())
+            .status(OperationStatus.FAILED)
+            .errors(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+                .failedProjectId(projectId)
+                .errorCode(ProjectOperationErrorCode.YOU_ARE_NOT_A_MEMBER)
+                .build()))
             .build();
     }
 }
@@ -0,0 +1,11 @@
+package heavenboards.project.service.project.service;
+
+/**
+ * Результат с версией проекта.
+ *
+ * @param value   - результат
+ * @param version - версия проекта, null - если проект не изменен или не найден
+ * @param <T>     - тип результата
+ */
+public record Versioned<T>(T value, Integer version) {
+}
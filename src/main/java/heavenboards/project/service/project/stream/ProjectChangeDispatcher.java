@@ -0,0 +1,264 @@
+package heavenboards.project.service.project.stream;
+
+import heavenboards.project.service.project.domain.ProjectChangeLogEntry;
+import heavenboards.project.service.project.domain.ProjectChangeLogRepository;
+import heavenboards.project.service.project.domain.ProjectView;
+import heavenboards.project.service.project.domain.ProjectViewRepository;
+import heavenboards.project.service.project.dto.ProjectStreamEventTo;
+import heavenboards.project.service.project.mapping.ProjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Рассылка изменений проектов подключенным пользователям.
+ * Один опрос журнала изменений на инстанс раздает изменения всем подключениям,
+ * данные измененных проектов читаются один раз на пачку изменений.
+ * Опрос идет в потоке планировщика без пользователя, поэтому события несут данные проекта
+ * без участников и сервис пользователей не вызывают: участников клиент получает запросом
+ * проекта, который отвечает из кеша по entity tag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectChangeDispatcher {
+    /**
+     * Настройки потока изменений.
+     */
+    private final ProjectStreamProperties properties;
+
+    /**
+     * Репозиторий журнала изменений проектов.
+     */
+    private final ProjectChangeLogRepository projectChangeLogRepository;
+
+    /**
+     * Репозиторий для read-only представлений проектов.
+     */
+    private final ProjectViewRepository projectViewRepository;
+
+    /**
+     * Маппер для проектов.
+     */
+    private final ProjectMapper projectMapper;
+
+    /**
+     * Исполнитель задач отправки событий.
+     */
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Подключения по идентификатору пользователя.
+     */
+    private final Map<UUID, Set<ProjectStreamSubscription>> subscriptions =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Блокировка опроса журнала.
+     */
+    private final Lock dispatchLock = new ReentrantLock();
+
+    /**
+     * Порядковый номер последнего разосланного изменения, -1 - опроса еще не было.
+     */
+    private long lastSequence = -1;
+
+    /**
+     * Подключить текущего пользователя к потоку изменений его проектов.
+     *
+     * @param lastEventId - идентификатор последнего полученного события, null - без досылки
+     * @return ответ с потоком событий
+     */
+    public SseEmitter subscribe(final Long lastEventId) {
+        var user = (UserTo) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        ProjectStreamSubscription subscription = new ProjectStreamSubscription(user.getId(),
+            emitter, senders, properties.getMaxPendingEvents(), lastEventId != null);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(exception -> unsubscribe(subscription));
+
+        // Подключение регистрируется до чтения пропущенного, поэтому изменения между
+        // досылкой и рассылкой не теряются, а повторы отбрасываются по номеру
+        subscriptions.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet())
+            .add(subscription);
+        if (lastEventId != null) {
+            try {
+                replay(subscription, lastEventId);
+            } catch (RuntimeException exception) {
+                unsubscribe(subscription);
+                throw exception;
+            }
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Периодически разослать новые изменения из журнала.
+     */
+    @Scheduled(fixedDelayString = "${project.stream.poll-interval:PT1S}")
+    public void dispatch() {
+        dispatchLock.lock();
+        try {
+            if (lastSequence < 0 || subscriptions.isEmpty()) {
+                // Номер читается до повторной проверки подключений: подключение, появившееся
+                // после проверки, читает досылку уже после этого номера, а при найденном
+                // подключении рассылка продолжается с прежнего номера
+                long last = projectChangeLogRepository.findLastSequence();
+                if (lastSequence < 0 || subscriptions.isEmpty()) {
+                    lastSequence = last;
+                    return;
+                }
+            }
+
+            List<ProjectChangeLogEntry> entries;
+            do {
+                entries = projectChangeLogRepository
+                    .findEntriesAfter(lastSequence, properties.getBatchSize());
+                if (!entries.isEmpty()) {
+                    deliver(entries);
+                    lastSequence = entries.getLast().sequence();
+                }
+            } while (entries.size() == properties.getBatchSize());
+        } catch (RuntimeException exception) {
+            log.error("Не удалось разослать изменения проектов", exception);
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * Периодически отправлять heartbeat всем подключениям.
+     */
+    @Scheduled(fixedDelayString = "${project.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions
+            .forEach(ProjectStreamSubscription::heartbeat));
+    }
+
+    /**
+     * Закрыть подключения при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions
+            .forEach(ProjectStreamSubscription::close));
+        senders.shutdown();
+    }
+
+    /**
+     * Дослать подключению изменения после последнего полученного события.
+     * Если пропущенных изменений слишком много или часть из них уже удалена из журнала
+     * по сроку хранения, вместо досылки отправляется reset.
+     *
+     * @param subscription - подключение
+     * @param lastEventId  - идентификатор последнего полученного события
+     */
+    private void replay(final ProjectStreamSubscription subscription, final long lastEventId) {
+        List<ProjectChangeLogEntry> entries = projectChangeLogRepository.findUserEntriesAfter(
+            subscription.getUserId(), lastEventId, properties.getReplayLimit() + 1);
+        if (entries.size() > properties.getReplayLimit()
+            || lastEventId < projectChangeLogRepository.findTruncatedSequence()) {
+            subscription.finishReplayWithReset();
+            return;
+        }
+
+        Map<UUID, ProjectView> views = findViews(entries);
+        subscription.finishReplay(entries.stream()
+            .map(entry -> event(entry, subscription.getUserId(), views))
+            .toList());
+    }
+
+    /**
+     * Разослать изменения подключенным пользователям, которых они касаются.
+     *
+     * @param entries - изменения
+     */
+    private void deliver(final List<ProjectChangeLogEntry> entries) {
+        List<ProjectChangeLogEntry> subscribed = entries.stream()
+            .filter(entry -> entry.userIds().stream().anyMatch(subscriptions::containsKey))
+            .toList();
+        if (subscribed.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, ProjectView> views = findViews(subscribed);
+        for (ProjectChangeLogEntry entry : subscribed) {
+            for (UUID userId : entry.userIds()) {
+                Set<ProjectStreamSubscription> userSubscriptions = subscriptions.get(userId);
+                if (userSubscriptions == null) {
+                    continue;
+                }
+
+                ProjectStreamEventTo event = event(entry, userId, views);
+                userSubscriptions.forEach(subscription -> subscription.send(event));
+            }
+        }
+    }
+
+    /**
+     * Прочитать текущие данные проектов из изменений.
+     *
+     * @param entries - изменения
+     * @return представления проектов по идентификатору, удаленных проектов нет
+     */
+    private Map<UUID, ProjectView> findViews(final List<ProjectChangeLogEntry> entries) {
+        return projectViewRepository.findAllByIds(entries.stream()
+                .map(ProjectChangeLogEntry::projectId)
+                .collect(Collectors.toSet()), true)
+            .stream()
+            .collect(Collectors.toMap(ProjectView::id, Function.identity()));
+    }
+
+    /**
+     * Событие изменения для пользователя.
+     * Данные проекта передаются, только если пользователь по-прежнему его участник.
+     *
+     * @param entry  - изменение
+     * @param userId - идентификатор пользователя
+     * @param views  - представления проектов
+     * @return событие изменения
+     */
+    private ProjectStreamEventTo event(final ProjectChangeLogEntry entry,
+                                       final UUID userId,
+                                       final Map<UUID, ProjectView> views) {
+        ProjectView view = views.get(entry.projectId());
+        boolean member = view != null && view.userIds().contains(userId);
+        return ProjectStreamEventTo.builder()
+            .sequence(entry.sequence())
+            .projectId(entry.projectId())
+            .changeType(entry.changeType())
+            .project(member ? projectMapper.mapFieldsFromView(view) : null)
+            .build();
+    }
+
+    /**
+     * Отключить подключение от рассылки.
+     *
+     * @param subscription - подключение
+     */
+    private void unsubscribe(final ProjectStreamSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getUserId(), (userId, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+}
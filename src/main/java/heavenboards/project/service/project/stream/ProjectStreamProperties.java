@@ -0,0 +1,35 @@
+package heavenboards.project.service.project.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки потока изменений проектов.
+ */
+@Data
+@ConfigurationProperties(prefix = "project.stream")
+public class ProjectStreamProperties {
+    /**
+     * Время жизни подключения, после которого клиент переподключается.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Максимальное количество изменений, досылаемых при переподключении.
+     * Если пропущено больше, клиент получает событие reset и перечитывает проекты целиком.
+     */
+    private int replayLimit = 1000;
+
+    /**
+     * Максимальное количество неотправленных событий подключения.
+     * Подключение, которое не успевает их читать, закрывается.
+     */
+    private int maxPendingEvents = 1000;
+
+    /**
+     * Размер пачки изменений, читаемых из журнала за один запрос.
+     */
+    private int batchSize = 500;
+}
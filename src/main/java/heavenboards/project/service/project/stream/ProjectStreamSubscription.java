@@ -0,0 +1,261 @@
+package heavenboards.project.service.project.stream;
+
+import heavenboards.project.service.project.dto.ProjectStreamEventTo;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Подключение пользователя к потоку изменений проектов.
+ * События копятся в очереди и отправляются по одному задачей на виртуальном потоке,
+ * поэтому медленный клиент не задерживает рассылку остальным. Пока досылаются
+ * пропущенные изменения, новые события ждут в очереди.
+ */
+class ProjectStreamSubscription {
+    /**
+     * Название события, после которого клиент перечитывает проекты целиком.
+     */
+    static final String RESET_EVENT = "reset";
+
+    /**
+     * Пользователь подключения.
+     */
+    private final UUID userId;
+
+    /**
+     * Ответ с потоком событий.
+     */
+    private final SseEmitter emitter;
+
+    /**
+     * Исполнитель задач отправки.
+     */
+    private final Executor executor;
+
+    /**
+     * Максимальное количество неотправленных событий.
+     */
+    private final int maxPendingEvents;
+
+    /**
+     * Блокировка очереди и состояния подключения.
+     */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Неотправленные события.
+     */
+    private final Deque<Item> queue = new ArrayDeque<>();
+
+    /**
+     * Досылаются ли пропущенные изменения.
+     */
+    private boolean replaying;
+
+    /**
+     * Запущена ли задача отправки.
+     */
+    private boolean draining;
+
+    /**
+     * Закрыто ли подключение.
+     */
+    private boolean closed;
+
+    /**
+     * Порядковый номер последнего отправленного изменения.
+     * Меняется только задачей отправки, которая у подключения одна.
+     */
+    private long lastSequence;
+
+    /**
+     * Создать подключение.
+     *
+     * @param userId           - пользователь подключения
+     * @param emitter          - ответ с потоком событий
+     * @param executor         - исполнитель задач отправки
+     * @param maxPendingEvents - максимальное количество неотправленных событий
+     * @param replaying        - будут ли досылаться пропущенные изменения
+     */
+    ProjectStreamSubscription(final UUID userId,
+                              final SseEmitter emitter,
+                              final Executor executor,
+                              final int maxPendingEvents,
+                              final boolean replaying) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxPendingEvents = maxPendingEvents;
+        this.replaying = replaying;
+    }
+
+    /**
+     * Пользователь подключения.
+     *
+     * @return идентификатор пользователя
+     */
+    UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * Поставить изменение в очередь отправки.
+     *
+     * @param event - событие изменения проекта
+     */
+    void send(final ProjectStreamEventTo event) {
+        enqueue(List.of(changeItem(event)), false);
+    }
+
+    /**
+     * Поставить в очередь heartbeat-комментарий, чтобы прокси не закрывали подключение.
+     */
+    void heartbeat() {
+        enqueue(List.of(new Item(0, () -> SseEmitter.event().comment("heartbeat"))), false);
+    }
+
+    /**
+     * Завершить досылку пропущенных изменений.
+     * Досланные изменения отправляются раньше накопившихся за это время.
+     *
+     * @param events - пропущенные изменения
+     */
+    void finishReplay(final List<ProjectStreamEventTo> events) {
+        enqueue(events.stream().map(this::changeItem).toList(), true);
+    }
+
+    /**
+     * Завершить досылку событием reset, если пропущено слишком много изменений
+     * или часть из них уже удалена из журнала.
+     */
+    void finishReplayWithReset() {
+        enqueue(List.of(new Item(0, () -> SseEmitter.event().name(RESET_EVENT).data(""))), true);
+    }
+
+    /**
+     * Закрыть подключение.
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            queue.clear();
+        } finally {
+            lock.unlock();
+        }
+        emitter.complete();
+    }
+
+    /**
+     * Поставить события в очередь и запустить отправку.
+     *
+     * @param items    - события
+     * @param replayed - являются ли события досланными
+     */
+    private void enqueue(final List<Item> items, final boolean replayed) {
+        boolean overflow;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            if (replayed) {
+                items.reversed().forEach(queue::addFirst);
+                replaying = false;
+            } else {
+                queue.addAll(items);
+            }
+
+            overflow = queue.size() > maxPendingEvents;
+            if (!overflow && !replaying && !draining && !queue.isEmpty()) {
+                draining = true;
+                executor.execute(this::drain);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Клиент переподключится с Last-Event-ID и получит пропущенное досылкой
+        if (overflow) {
+            close();
+        }
+    }
+
+    /**
+     * Отправлять события из очереди, пока она не опустеет.
+     */
+    private void drain() {
+        while (true) {
+            Item item;
+            lock.lock();
+            try {
+                item = queue.pollFirst();
+                if (item == null || closed) {
+                    draining = false;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // Изменение могло прийти и досылкой, и рассылкой - отправляем его один раз
+            if (item.sequence() > 0) {
+                if (item.sequence() <= lastSequence) {
+                    continue;
+                }
+                lastSequence = item.sequence();
+            }
+
+            try {
+                emitter.send(item.event().get());
+            } catch (IOException | IllegalStateException exception) {
+                lock.lock();
+                try {
+                    closed = true;
+                    draining = false;
+                    queue.clear();
+                } finally {
+                    lock.unlock();
+                }
+                emitter.completeWithError(exception);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Событие изменения проекта для очереди.
+     *
+     * @param event - событие изменения проекта
+     * @return событие очереди
+     */
+    private Item changeItem(final ProjectStreamEventTo event) {
+        return new Item(event.getSequence(), () -> SseEmitter.event()
+            .id(String.valueOf(event.getSequence()))
+            .name(event.getChangeType().name())
+            .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Событие очереди отправки.
+     *
+     * @param sequence - порядковый номер изменения, 0 - для служебных событий
+     * @param event    - построитель события
+     */
+    private record Item(long sequence, Supplier<SseEmitter.SseEventBuilder> event) {
+    }
+}
@@ -0,0 +1,110 @@
+package heavenboards.project.service.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import heavenboards.project.service.user.config.UserApiProperties;
+import org.springframework.stereotype.Component;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Локальный кеш пользователей, ограниченный по размеру и времени жизни.
+ */
+@Component
+public class UserCache {
+    /**
+     * Включен ли кеш.
+     */
+    private final boolean enabled;
+
+    /**
+     * Пользователи по идентификатору.
+     */
+    private final Cache<UUID, UserTo> cache;
+
+    /**
+     * Создание кеша по настройкам.
+     *
+     * @param properties - настройки взаимодействия с сервисом пользователей
+     */
+    public UserCache(final UserApiProperties properties) {
+        UserApiProperties.Cache cacheProperties = properties.getCache();
+        this.enabled = cacheProperties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getMaximumSize())
+            .expireAfterWrite(cacheProperties.getExpireAfterWrite())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Получить пользователей по идентификаторам.
+     * Загрузчик вызывается одним набором только для отсутствующих в кеше идентификаторов.
+     *
+     * @param ids    - идентификаторы пользователей
+     * @param loader - загрузчик отсутствующих пользователей
+     * @return найденные пользователи по идентификатору
+     */
+    public Map<UUID, UserTo> getAll(final Collection<UUID> ids,
+                                    final Function<Set<UUID>, Map<UUID, UserTo>> loader) {
+        if (!enabled) {
+            return loader.apply(Set.copyOf(ids));
+        }
+
+        return cache.getAll(ids, missingIds -> loader.apply(Set.copyOf(missingIds)));
+    }
+
+    /**
+     * Получить пользователей, уже лежащих в кеше, без обращения к загрузчику.
+     *
+     * @param ids - идентификаторы пользователей
+     * @return найденные в кеше пользователи по идентификатору
+     */
+    public Map<UUID, UserTo> getAllPresent(final Collection<UUID> ids) {
+        if (!enabled) {
+            return Map.of();
+        }
+
+        return cache.getAllPresent(ids);
+    }
+
+    /**
+     * Удалить пользователя из кеша.
+     *
+     * @param id - идентификатор пользователя
+     */
+    public void invalidate(final UUID id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Очистить кеш.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Текущее количество пользователей в кеше.
+     *
+     * @return количество пользователей
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Статистика попаданий, промахов и вытеснений.
+     *
+     * @return статистика кеша
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,67 @@
+package heavenboards.project.service.user.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import heavenboards.project.service.user.dto.UserCacheStatsTo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Actuator-эндпоинт для управления локальным кешем пользователей.
+ * Сброс кеша - операция администратора, поэтому эндпоинт доступен только через actuator
+ * и по http не открыт, пока не добавлен в management.endpoints.web.exposure.include.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = UserCacheEndpoint.ID)
+public class UserCacheEndpoint {
+    /**
+     * Идентификатор эндпоинта.
+     */
+    public static final String ID = "usercache";
+
+    /**
+     * Локальный кеш пользователей.
+     */
+    private final UserCache userCache;
+
+    /**
+     * Получить статистику кеша.
+     *
+     * @return статистика кеша
+     */
+    @ReadOperation
+    public UserCacheStatsTo getStats() {
+        CacheStats stats = userCache.stats();
+        return UserCacheStatsTo.builder()
+            .size(userCache.size())
+            .hitCount(stats.hitCount())
+            .missCount(stats.missCount())
+            .evictionCount(stats.evictionCount())
+            .hitRate(stats.hitRate())
+            .build();
+    }
+
+    /**
+     * Удалить пользователя из кеша.
+     *
+     * @param id - идентификатор пользователя
+     */
+    @DeleteOperation
+    public void invalidate(final @Selector UUID id) {
+        userCache.invalidate(id);
+    }
+
+    /**
+     * Очистить кеш.
+     */
+    @DeleteOperation
+    public void invalidateAll() {
+        userCache.invalidateAll();
+    }
+}
@@ -0,0 +1,113 @@
+package heavenboards.project.service.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки взаимодействия с сервисом пользователей.
+ */
+@Data
+@ConfigurationProperties(prefix = "microservice.user-api")
+public class UserApiProperties {
+    /**
+     * Максимальное количество идентификаторов в одном запросе к сервису пользователей.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Настройки локального кеша пользователей.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Настройки ограничения вызовов сервиса пользователей.
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+
+    /**
+     * Настройки объединения одновременных запросов пользователей.
+     */
+    private Coalescing coalescing = new Coalescing();
+
+    /**
+     * Настройки повторного запроса при медленном ответе.
+     */
+    private Hedge hedge = new Hedge();
+
+    /**
+     * Настройки локального кеша пользователей.
+     */
+    @Data
+    public static class Cache {
+        /**
+         * Включен ли кеш.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Максимальное количество пользователей в кеше.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Время жизни пользователя в кеше с момента получения.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Настройки ограничения вызовов сервиса пользователей.
+     */
+    @Data
+    public static class Bulkhead {
+        /**
+         * Максимальное количество одновременных вызовов.
+         */
+        private int maxConcurrentCalls = 20;
+
+        /**
+         * Сколько ждать свободного места для вызова.
+         */
+        private Duration maxWait = Duration.ofMillis(50);
+
+        /**
+         * Сколько ждать ответа на один вызов.
+         */
+        private Duration callTimeout = Duration.ofMillis(500);
+    }
+
+    /**
+     * Настройки объединения одновременных запросов пользователей.
+     */
+    @Data
+    public static class Coalescing {
+        /**
+         * Включено ли объединение.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Сколько копить идентификаторы перед общим запросом.
+         */
+        private Duration window = Duration.ofMillis(2);
+    }
+
+    /**
+     * Настройки повторного запроса при медленном ответе.
+     */
+    @Data
+    public static class Hedge {
+        /**
+         * Отправлять ли повторный запрос.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Минимальная задержка повторного запроса.
+         * Фактическая задержка - не меньше 95-го перцентиля времени ответа.
+         */
+        private Duration minDelay = Duration.ofMillis(100);
+    }
+}
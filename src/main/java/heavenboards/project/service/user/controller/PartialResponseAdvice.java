@@ -0,0 +1,72 @@
+package heavenboards.project.service.user.controller;
+
+import heavenboards.project.service.user.service.UserDegradation;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Пометка ответов, в которых пользователи заменены идентификаторами.
+ * Такой ответ запрещается кешировать, иначе клиент продолжит получать неполные данные
+ * после восстановления сервиса пользователей.
+ */
+@ControllerAdvice
+public class PartialResponseAdvice implements ResponseBodyAdvice<Object> {
+    /**
+     * Заголовок частичного ответа, значение - неполные части ответа.
+     */
+    public static final String PARTIAL_RESPONSE_HEADER = "X-Partial-Response";
+
+    /**
+     * Значение заголовка для ответа с пользователями без данных.
+     */
+    public static final String PARTIAL_USERS = "users";
+
+    /**
+     * Применяется ко всем ответам контроллеров.
+     *
+     * @param returnType    - возвращаемый тип метода контроллера
+     * @param converterType - выбранный конвертер
+     * @return true
+     */
+    @Override
+    public boolean supports(final MethodParameter returnType,
+                            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Пометить ответ как частичный, если пользователи были заменены идентификаторами.
+     *
+     * @param body                - тело ответа
+     * @param returnType          - возвращаемый тип метода контроллера
+     * @param selectedContentType - тип содержимого ответа
+     * @param converterType       - выбранный конвертер
+     * @param request             - запрос
+     * @param response            - ответ
+     * @return тело ответа без изменений
+     */
+    @Override
+    public Object beforeBodyWrite(final Object body,
+                                  final MethodParameter returnType,
+                                  final MediaType selectedContentType,
+                                  final Class<? extends HttpMessageConverter<?>> converterType,
+                                  final ServerHttpRequest request,
+                                  final ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+            && UserDegradation.isPartial(servletRequest.getServletRequest())) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(PARTIAL_RESPONSE_HEADER, PARTIAL_USERS);
+            headers.setCacheControl(CacheControl.noStore());
+        }
+
+        return body;
+    }
+}
@@ -0,0 +1,40 @@
+package heavenboards.project.service.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статистика локального кеша пользователей.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCacheStatsTo {
+    /**
+     * Количество пользователей в кеше.
+     */
+    private long size;
+
+    /**
+     * Количество попаданий.
+     */
+    private long hitCount;
+
+    /**
+     * Количество промахов.
+     */
+    private long missCount;
+
+    /**
+     * Количество вытеснений по размеру или времени жизни.
+     */
+    private long evictionCount;
+
+    /**
+     * Доля попаданий.
+     */
+    private double hitRate;
+}
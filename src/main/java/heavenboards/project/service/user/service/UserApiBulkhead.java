@@ -0,0 +1,166 @@
+package heavenboards.project.service.user.service;
+
+import heavenboards.project.service.metrics.RequestCallCounter;
+import heavenboards.project.service.user.config.UserApiProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничитель вызовов сервиса пользователей.
+ * Одновременно выполняется не больше maxConcurrentCalls вызовов, каждый вызов ждется
+ * не дольше callTimeout. Место освобождается, только когда вызов действительно
+ * завершился, поэтому зависшие вызовы не накапливаются сверх ограничения.
+ */
+@Component
+public class UserApiBulkhead {
+    /**
+     * Места для одновременных вызовов.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Сколько ждать свободного места, в наносекундах.
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * Сколько ждать ответа на вызов, в наносекундах.
+     */
+    private final long callTimeoutNanos;
+
+    /**
+     * Исполнитель вызовов.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Создание ограничителя по настройкам.
+     *
+     * @param properties - настройки взаимодействия с сервисом пользователей
+     */
+    public UserApiBulkhead(final UserApiProperties properties) {
+        UserApiProperties.Bulkhead bulkhead = properties.getBulkhead();
+        this.permits = new Semaphore(bulkhead.getMaxConcurrentCalls());
+        this.maxWaitNanos = bulkhead.getMaxWait().toNanos();
+        this.callTimeoutNanos = bulkhead.getCallTimeout().toNanos();
+    }
+
+    /**
+     * Выполнить вызов сервиса пользователей.
+     * Вызов выполняется в отдельном потоке с контекстом безопасности и счетчиками
+     * текущего запроса.
+     *
+     * @param call - вызов
+     * @param <T>  - тип результата
+     * @return результат вызова
+     * @throws UserApiUnavailableException - если нет места для вызова или он не уложился
+     *                                     в таймаут
+     */
+    public <T> T execute(final Callable<T> call) {
+        acquire();
+        AtomicBoolean started = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(releasing(started, new DelegatingSecurityContextCallable<>(
+                RequestCallCounter.propagate(call))));
+        } catch (RejectedExecutionException exception) {
+            permits.release();
+            throw new UserApiUnavailableException(UserApiUnavailableException.Reason.REJECTED,
+                exception);
+        }
+
+        try {
+            return future.get(callTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            cancel(future, started);
+            throw new UserApiUnavailableException(UserApiUnavailableException.Reason.TIMEOUT,
+                exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (InterruptedException exception) {
+            cancel(future, started);
+            Thread.currentThread().interrupt();
+            throw new UserApiUnavailableException(UserApiUnavailableException.Reason.TIMEOUT,
+                exception);
+        }
+    }
+
+    /**
+     * Остановить исполнитель вызовов при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Занять место для вызова.
+     *
+     * @throws UserApiUnavailableException - если место не освободилось за maxWait
+     */
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new UserApiUnavailableException(
+                    UserApiUnavailableException.Reason.REJECTED, null);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UserApiUnavailableException(UserApiUnavailableException.Reason.REJECTED,
+                exception);
+        }
+    }
+
+    /**
+     * Отменить вызов.
+     * Если задача еще не начала выполняться, она уже не начнется и не освободит место,
+     * поэтому место освобождается здесь. Начавшаяся задача освободит место сама.
+     *
+     * @param future  - результат вызова
+     * @param started - начала ли выполняться задача
+     */
+    private void cancel(final Future<?> future, final AtomicBoolean started) {
+        future.cancel(true);
+        if (started.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Задача, освобождающая место после завершения вызова.
+     * Задача, отмененная до начала выполнения, вызов не выполняет.
+     *
+     * @param started - начала ли выполняться задача
+     * @param call    - вызов
+     * @param <T>     - тип результата
+     * @return задача
+     */
+    private <T> Callable<T> releasing(final AtomicBoolean started, final Callable<T> call) {
+        return () -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+
+            try {
+                return call.call();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
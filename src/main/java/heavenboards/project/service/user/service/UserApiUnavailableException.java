@@ -0,0 +1,55 @@
+package heavenboards.project.service.user.service;
+
+import lombok.Getter;
+
+/**
+ * Сервис пользователей не ответил вовремя или вызов не пропущен ограничителем.
+ */
+@Getter
+public class UserApiUnavailableException extends RuntimeException {
+    /**
+     * Причина недоступности.
+     */
+    private final Reason reason;
+
+    /**
+     * Создать исключение.
+     *
+     * @param reason - причина недоступности
+     * @param cause  - исходное исключение
+     */
+    public UserApiUnavailableException(final Reason reason, final Throwable cause) {
+        super("Сервис пользователей недоступен: " + reason.getTag(), cause);
+        this.reason = reason;
+    }
+
+    /**
+     * Причина недоступности сервиса пользователей.
+     */
+    @Getter
+    public enum Reason {
+        /**
+         * Вызов не уложился в таймаут.
+         */
+        TIMEOUT("timeout"),
+
+        /**
+         * Нет свободного места для вызова.
+         */
+        REJECTED("rejected");
+
+        /**
+         * Значение тега метрики.
+         */
+        private final String tag;
+
+        /**
+         * Создать причину.
+         *
+         * @param tag - значение тега метрики
+         */
+        Reason(final String tag) {
+            this.tag = tag;
+        }
+    }
+}
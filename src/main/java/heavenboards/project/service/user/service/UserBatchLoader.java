@@ -0,0 +1,400 @@
+package heavenboards.project.service.user.service;
+
+import heavenboards.project.service.metrics.RequestCallCounter;
+import heavenboards.project.service.user.config.UserApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Загрузка пользователей из сервиса пользователей с объединением одновременных запросов.
+ * Идентификаторы, которые уже запрашиваются другими потоками, повторно не запрашиваются,
+ * а новые копятся в течение короткого окна и запрашиваются общим вызовом. При включенном
+ * повторе медленный вызов дублируется, и используется первый успешный ответ.
+ *
+ * Запросы объединяются независимо от вызывающего: пользователи и так общие для всех
+ * запросов через кеш пользователей. Общий вызов выполняется с контекстом безопасности
+ * открывшего окно запроса.
+ */
+@Component
+public class UserBatchLoader {
+    /**
+     * Название таймера вызовов сервиса пользователей.
+     */
+    public static final String CALL_TIMER = "project.user-api.call";
+
+    /**
+     * Название метрики идентификаторов, полученных из чужих запросов.
+     */
+    public static final String COALESCED_METRIC = "project.user-api.coalesced";
+
+    /**
+     * Название метрики повторных вызовов.
+     */
+    public static final String HEDGED_METRIC = "project.user-api.hedged";
+
+    /**
+     * Перцентиль времени ответа, после которого отправляется повторный вызов.
+     */
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    /**
+     * Api-клиент для сервиса пользователей.
+     */
+    private final UserApi userApi;
+
+    /**
+     * Ограничитель вызовов сервиса пользователей.
+     */
+    private final UserApiBulkhead userApiBulkhead;
+
+    /**
+     * Настройки взаимодействия с сервисом пользователей.
+     */
+    private final UserApiProperties properties;
+
+    /**
+     * Время ответа сервиса пользователей.
+     */
+    private final Timer callTimer;
+
+    /**
+     * Идентификаторы, полученные из уже выполняющихся запросов.
+     */
+    private final Counter coalescedIds;
+
+    /**
+     * Отправленные повторные вызовы.
+     */
+    private final Counter hedgedCalls;
+
+    /**
+     * Исполнитель общих и повторных вызовов.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Запрашиваемые сейчас пользователи по идентификатору.
+     */
+    private final Map<UUID, CompletableFuture<UserTo>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Блокировка окон и добавления в запрашиваемые.
+     */
+    private final Lock windowLock = new ReentrantLock();
+
+    /**
+     * Идентификаторы текущего окна, еще не отправленные в сервис пользователей.
+     */
+    private Map<UUID, CompletableFuture<UserTo>> window = new LinkedHashMap<>();
+
+    /**
+     * Создание загрузчика.
+     *
+     * @param userApi         - api-клиент для сервиса пользователей
+     * @param userApiBulkhead - ограничитель вызовов сервиса пользователей
+     * @param properties      - настройки взаимодействия с сервисом пользователей
+     * @param meterRegistry   - реестр метрик
+     */
+    public UserBatchLoader(final UserApi userApi,
+                           final UserApiBulkhead userApiBulkhead,
+                           final UserApiProperties properties,
+                           final MeterRegistry meterRegistry) {
+        this.userApi = userApi;
+        this.userApiBulkhead = userApiBulkhead;
+        this.properties = properties;
+        this.callTimer = Timer.builder(CALL_TIMER)
+            .description("Время ответа сервиса пользователей")
+            .publishPercentiles(HEDGE_PERCENTILE)
+            .register(meterRegistry);
+        this.coalescedIds = Counter.builder(COALESCED_METRIC)
+            .description("Пользователи, полученные из уже выполняющихся запросов")
+            .register(meterRegistry);
+        this.hedgedCalls = Counter.builder(HEDGED_METRIC)
+            .description("Повторные вызовы сервиса пользователей")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Получить пользователей по идентификаторам.
+     *
+     * @param ids - уникальные идентификаторы пользователей
+     * @return найденные пользователи по идентификатору
+     */
+    public Map<UUID, UserTo> load(final Set<UUID> ids) {
+        if (!properties.getCoalescing().isEnabled()) {
+            return fetch(ids);
+        }
+
+        Map<UUID, CompletableFuture<UserTo>> futures = new HashMap<>(ids.size());
+        Map<UUID, CompletableFuture<UserTo>> fullWindow = null;
+        boolean windowOpened = false;
+        int coalesced = 0;
+        windowLock.lock();
+        try {
+            for (UUID id : ids) {
+                CompletableFuture<UserTo> future = inFlight.get(id);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    inFlight.put(id, future);
+                    windowOpened |= window.isEmpty();
+                    window.put(id, future);
+                } else {
+                    coalesced++;
+                }
+                futures.put(id, future);
+            }
+
+            if (window.size() >= batchSize()) {
+                fullWindow = window;
+                window = new LinkedHashMap<>();
+            }
+        } finally {
+            windowLock.unlock();
+        }
+
+        coalescedIds.increment(coalesced);
+        if (fullWindow != null) {
+            submitFlush(fullWindow, 0);
+        } else if (windowOpened) {
+            submitFlush(null, properties.getCoalescing().getWindow().toNanos());
+        }
+
+        return await(futures);
+    }
+
+    /**
+     * Остановить исполнитель вызовов при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Запустить общий запрос в отдельном потоке с контекстом текущего запроса.
+     *
+     * @param batch      - запрашиваемые пользователи, null - текущее окно после задержки
+     * @param delayNanos - задержка перед запросом
+     */
+    private void submitFlush(final Map<UUID, CompletableFuture<UserTo>> batch,
+                             final long delayNanos) {
+        executor.submit(contextual(() -> {
+            if (batch == null) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } finally {
+                    flush(takeWindow());
+                }
+            } else {
+                flush(batch);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Забрать идентификаторы текущего окна.
+     *
+     * @return запрашиваемые пользователи окна
+     */
+    private Map<UUID, CompletableFuture<UserTo>> takeWindow() {
+        windowLock.lock();
+        try {
+            Map<UUID, CompletableFuture<UserTo>> batch = window;
+            window = new LinkedHashMap<>();
+            return batch;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /**
+     * Запросить пользователей пачками и передать результат ожидающим потокам.
+     *
+     * @param batch - запрашиваемые пользователи
+     */
+    private void flush(final Map<UUID, CompletableFuture<UserTo>> batch) {
+        try {
+            List<UUID> ids = new ArrayList<>(batch.keySet());
+            int batchSize = batchSize();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                try {
+                    Map<UUID, UserTo> users = fetchChunk(new HashSet<>(chunk));
+                    chunk.forEach(id -> batch.get(id).complete(users.get(id)));
+                } catch (RuntimeException exception) {
+                    chunk.forEach(id -> batch.get(id).completeExceptionally(exception));
+                }
+            }
+        } finally {
+            // Ожидающие не должны зависнуть, даже если пачка не запрошена
+            batch.forEach((id, future) -> {
+                future.completeExceptionally(new IllegalStateException(
+                    "Пользователь " + id + " не запрошен"));
+                inFlight.remove(id, future);
+            });
+        }
+    }
+
+    /**
+     * Запросить пользователей в текущем потоке пачками не больше batchSize.
+     *
+     * @param ids - уникальные идентификаторы пользователей
+     * @return найденные пользователи по идентификатору
+     */
+    private Map<UUID, UserTo> fetch(final Set<UUID> ids) {
+        List<UUID> distinctIds = new ArrayList<>(ids);
+        Map<UUID, UserTo> users = new HashMap<>(distinctIds.size());
+        int batchSize = batchSize();
+        for (int from = 0; from < distinctIds.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, distinctIds.size());
+            users.putAll(fetchChunk(new HashSet<>(distinctIds.subList(from, to))));
+        }
+
+        return users;
+    }
+
+    /**
+     * Запросить одну пачку пользователей, с повтором, если он включен.
+     *
+     * @param ids - идентификаторы пачки
+     * @return найденные пользователи по идентификатору
+     */
+    private Map<UUID, UserTo> fetchChunk(final Set<UUID> ids) {
+        List<UserTo> users = properties.getHedge().isEnabled() ? callHedged(ids) : call(ids);
+        Map<UUID, UserTo> usersById = new HashMap<>(users.size());
+        users.forEach(user -> usersById.put(user.getId(), user));
+        return usersById;
+    }
+
+    /**
+     * Вызвать сервис пользователей через ограничитель.
+     *
+     * @param ids - идентификаторы пачки
+     * @return найденные пользователи
+     */
+    private List<UserTo> call(final Set<UUID> ids) {
+        return userApiBulkhead.execute(() -> callTimer
+            .recordCallable(() -> userApi.findUsersByIds(ids)));
+    }
+
+    /**
+     * Вызвать сервис пользователей и повторить вызов, если ответа нет дольше
+     * 95-го перцентиля времени ответа. Используется первый успешный ответ,
+     * второй вызов отменяется. Повтор отправляется и при быстрой ошибке первого вызова.
+     *
+     * @param ids - идентификаторы пачки
+     * @return найденные пользователи
+     */
+    private List<UserTo> callHedged(final Set<UUID> ids) {
+        long delayNanos = hedgeDelayNanos();
+        Callable<List<UserTo>> primary = contextual(() -> call(ids));
+        Callable<List<UserTo>> hedge = contextual(() -> {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+            hedgedCalls.increment();
+            return call(ids);
+        });
+
+        try {
+            return executor.invokeAny(List.of(primary, hedge));
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UserApiUnavailableException(UserApiUnavailableException.Reason.TIMEOUT,
+                exception);
+        }
+    }
+
+    /**
+     * Задержка повторного вызова: 95-й перцентиль времени ответа, но не меньше minDelay.
+     *
+     * @return задержка в наносекундах
+     */
+    private long hedgeDelayNanos() {
+        long delayNanos = properties.getHedge().getMinDelay().toNanos();
+        for (ValueAtPercentile value : callTimer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == HEDGE_PERCENTILE) {
+                delayNanos = Math.max(delayNanos, (long) value.value(TimeUnit.NANOSECONDS));
+            }
+        }
+
+        return delayNanos;
+    }
+
+    /**
+     * Дождаться пользователей из общих запросов.
+     *
+     * @param futures - ожидаемые пользователи по идентификатору
+     * @return найденные пользователи по идентификатору
+     */
+    private Map<UUID, UserTo> await(final Map<UUID, CompletableFuture<UserTo>> futures) {
+        Map<UUID, UserTo> users = new HashMap<>(futures.size());
+        for (Map.Entry<UUID, CompletableFuture<UserTo>> entry : futures.entrySet()) {
+            UserTo user;
+            try {
+                user = entry.getValue().join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw exception;
+            }
+
+            if (user != null) {
+                users.put(entry.getKey(), user);
+            }
+        }
+
+        return users;
+    }
+
+    /**
+     * Максимальное количество идентификаторов в одном вызове.
+     *
+     * @return размер пачки
+     */
+    private int batchSize() {
+        return Math.max(1, properties.getBatchSize());
+    }
+
+    /**
+     * Задача с контекстом безопасности и счетчиками текущего запроса.
+     *
+     * @param task - задача
+     * @param <T>  - тип результата
+     * @return задача для выполнения в другом потоке
+     */
+    private static <T> Callable<T> contextual(final Callable<T> task) {
+        return new DelegatingSecurityContextCallable<>(RequestCallCounter.propagate(task));
+    }
+}
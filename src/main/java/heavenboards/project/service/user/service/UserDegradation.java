@@ -0,0 +1,72 @@
+package heavenboards.project.service.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Учет ответов, в которых пользователи заменены идентификаторами.
+ * Помечает текущий HTTP-запрос как частичный и считает такие случаи по причинам.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDegradation {
+    /**
+     * Название метрики деградированных получений пользователей.
+     */
+    public static final String DEGRADED_METRIC = "project.user-api.degraded";
+
+    /**
+     * Атрибут запроса, которым помечается частичный ответ.
+     */
+    private static final String PARTIAL_ATTRIBUTE = UserDegradation.class.getName() + ".partial";
+
+    /**
+     * Реестр метрик.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Учесть деградацию и пометить текущий запрос, если он есть.
+     *
+     * @param reason - причина недоступности сервиса пользователей
+     */
+    public void degraded(final UserApiUnavailableException.Reason reason) {
+        Counter.builder(DEGRADED_METRIC)
+            .description("Получения пользователей, замененные идентификаторами")
+            .tag("reason", reason.getTag())
+            .register(meterRegistry)
+            .increment();
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PARTIAL_ATTRIBUTE, Boolean.TRUE,
+                RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Заменены ли пользователи идентификаторами при обработке запроса.
+     *
+     * @param request - HTTP-запрос
+     * @return true, если ответ на запрос частичный
+     */
+    public static boolean isPartial(final HttpServletRequest request) {
+        return request.getAttribute(PARTIAL_ATTRIBUTE) != null;
+    }
+
+    /**
+     * Заменены ли пользователи идентификаторами при обработке текущего запроса.
+     *
+     * @return true, если ответ на текущий запрос частичный
+     */
+    public static boolean isCurrentRequestPartial() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(PARTIAL_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
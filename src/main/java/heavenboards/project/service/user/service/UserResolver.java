@@ -0,0 +1,76 @@
+package heavenboards.project.service.user.service;
+
+import heavenboards.project.service.user.cache.UserCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Получение пользователей из сервиса пользователей с локальным кешем.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserResolver {
+    /**
+     * Локальный кеш пользователей.
+     */
+    private final UserCache userCache;
+
+    /**
+     * Загрузка пользователей из сервиса пользователей.
+     */
+    private final UserBatchLoader userBatchLoader;
+
+    /**
+     * Учет частичных ответов.
+     */
+    private final UserDegradation userDegradation;
+
+    /**
+     * Найти пользователей по идентификаторам.
+     * Повторяющиеся идентификаторы схлопываются, у сервиса пользователей
+     * запрашиваются только отсутствующие в кеше пользователи, одновременные запросы
+     * одних и тех же пользователей объединяются.
+     * Если сервис пользователей не ответил вовремя, отсутствующие в кеше пользователи
+     * возвращаются только с идентификатором, а запрос помечается как частичный.
+     *
+     * @param ids - идентификаторы пользователей
+     * @return найденные пользователи по идентификатору
+     */
+    public Map<UUID, UserTo> findUsersByIds(final Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        try {
+            return userCache.getAll(distinctIds, userBatchLoader::load);
+        } catch (UserApiUnavailableException exception) {
+            userDegradation.degraded(exception.getReason());
+            return degradedUsers(distinctIds);
+        }
+    }
+
+    /**
+     * Пользователи из кеша, остальные - только с идентификатором.
+     * Заглушки не кешируются, следующий запрос снова обратится к сервису пользователей.
+     *
+     * @param ids - уникальные идентификаторы пользователей
+     * @return пользователи по идентификатору
+     */
+    private Map<UUID, UserTo> degradedUsers(final Set<UUID> ids) {
+        Map<UUID, UserTo> users = new HashMap<>(userCache.getAllPresent(ids));
+        for (UUID id : ids) {
+            users.computeIfAbsent(id, missingId -> UserTo.builder().id(missingId).build());
+        }
+
+        return users;
+    }
+}
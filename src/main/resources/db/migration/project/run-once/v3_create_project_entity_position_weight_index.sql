@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS project_entity_position_weight_id_idx
+    ON project_entity (position_weight, id);
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS project_user_entity_user_id_project_id_idx
+    ON project_user_entity (user_id, project_id);
+
+CREATE INDEX IF NOT EXISTS project_entity_name_idx
+    ON project_entity (name);
@@ -0,0 +1,2 @@
+ALTER TABLE project_entity
+    ADD COLUMN IF NOT EXISTS version integer NOT NULL DEFAULT 0;
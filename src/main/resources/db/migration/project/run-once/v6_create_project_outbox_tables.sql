@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS project_outbox
+(
+    id bigserial PRIMARY KEY,
+    project_id uuid NOT NULL,
+    change_type varchar(32) NOT NULL,
+    user_ids uuid[] NOT NULL,
+    created_at timestamp with time zone NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS project_change_log
+(
+    sequence bigserial PRIMARY KEY,
+    project_id uuid NOT NULL,
+    change_type varchar(32) NOT NULL,
+    user_ids uuid[] NOT NULL,
+    occurred_at timestamp with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS project_change_log_user_ids_idx
+    ON project_change_log USING gin (user_ids);
+
+CREATE INDEX IF NOT EXISTS project_change_log_occurred_at_idx
+    ON project_change_log (occurred_at);
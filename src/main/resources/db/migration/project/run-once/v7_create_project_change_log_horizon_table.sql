@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS project_change_log_horizon
+(
+    id integer PRIMARY KEY CHECK (id = 1),
+    sequence bigint NOT NULL
+);
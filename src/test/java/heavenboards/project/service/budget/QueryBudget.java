@@ -0,0 +1,41 @@
+package heavenboards.project.service.budget;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Бюджет обращений к базе и сервису пользователей на тест.
+ * Тест падает, если HTTP-запросы теста сделали больше SQL-запросов или вызовов
+ * сервиса пользователей, чем указано. Скрипты @Sql и обращения к репозиториям
+ * из самого теста в SQL-бюджет не входят.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+    /**
+     * Значение, при котором бюджет не проверяется.
+     */
+    int UNLIMITED = -1;
+
+    /**
+     * Максимальное количество SQL-запросов, сделанных при обработке HTTP-запросов теста.
+     *
+     * @return максимальное количество SQL-запросов
+     */
+    int sqlStatements() default UNLIMITED;
+
+    /**
+     * Максимальное количество вызовов сервиса пользователей за тест.
+     * Поиск пользователя при аутентификации запроса не учитывается.
+     *
+     * @return максимальное количество вызовов сервиса пользователей
+     */
+    int userApiCalls() default UNLIMITED;
+}
@@ -0,0 +1,217 @@
+package heavenboards.project.service.budget;
+
+import heavenboards.project.service.metrics.RequestCallMetricsFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import transfer.contract.api.UserApi;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Проверка бюджета обращений к базе и сервису пользователей.
+ * SQL-запросы берутся из метрики запросов на эндпоинт, поэтому считаются только
+ * обращения из обработки HTTP-запросов. Метрика записывается после отправки ответа,
+ * поэтому перед сравнением расширение ждет, пока в ней появятся все HTTP-запросы теста.
+ * Вызовы сервиса пользователей считаются по mock-бину UserApi.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback,
+    AfterTestExecutionCallback {
+    /**
+     * Пространство хранения замеров расширения.
+     */
+    private static final ExtensionContext.Namespace NAMESPACE =
+        ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    /**
+     * Метод UserApi, которым пользователь ищется при аутентификации запроса.
+     */
+    private static final String AUTHENTICATION_METHOD = "findUserByUsername";
+
+    /**
+     * Максимальное время ожидания записи метрик по HTTP-запросам теста.
+     */
+    private static final Duration RECORD_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Интервал проверки записи метрик.
+     */
+    private static final Duration RECORD_POLL_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * Запомнить счетчики перед выполнением теста.
+     *
+     * @param context - контекст теста
+     */
+    @Override
+    public void beforeTestExecution(final ExtensionContext context) {
+        RequestCountingFilter requests = new RequestCountingFilter();
+        RestAssured.filters(requests);
+        context.getStore(NAMESPACE).put(context.getUniqueId(),
+            new Start(measure(context), requests));
+    }
+
+    /**
+     * Сравнить прирост счетчиков за тест с бюджетом.
+     *
+     * @param context - контекст теста
+     */
+    @Override
+    public void afterTestExecution(final ExtensionContext context) {
+        QueryBudget budget = AnnotationSupport
+            .findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+            .orElseThrow();
+        Start start = context.getStore(NAMESPACE).remove(context.getUniqueId(), Start.class);
+        RestAssured.replaceFiltersWith(RestAssured.filters().stream()
+            .filter(filter -> filter != start.requests())
+            .toList());
+        Measurement before = start.measurement();
+        Measurement after = awaitRecorded(context,
+            before.recordedRequests() + start.requests().count());
+
+        long sqlStatements = after.sqlStatements() - before.sqlStatements();
+        long userApiCalls = after.userApiCalls() - before.userApiCalls();
+        assertWithinBudget("SQL-запросов", sqlStatements, budget.sqlStatements());
+        assertWithinBudget("вызовов сервиса пользователей", userApiCalls,
+            budget.userApiCalls());
+    }
+
+    /**
+     * Дождаться, пока метрика запросов запишет ожидаемое количество HTTP-запросов.
+     *
+     * @param context          - контекст теста
+     * @param recordedRequests - ожидаемое количество записанных HTTP-запросов
+     * @return значения счетчиков после записи
+     */
+    private Measurement awaitRecorded(final ExtensionContext context,
+                                      final long recordedRequests) {
+        long deadline = System.nanoTime() + RECORD_TIMEOUT.toNanos();
+        Measurement measurement = measure(context);
+        while (measurement.recordedRequests() < recordedRequests) {
+            Assertions.assertTrue(System.nanoTime() < deadline, String.format(
+                "Метрика записала %d HTTP-запросов из %d",
+                measurement.recordedRequests(), recordedRequests));
+            try {
+                Thread.sleep(RECORD_POLL_INTERVAL);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                Assertions.fail("Ожидание записи метрик прервано", exception);
+            }
+            measurement = measure(context);
+        }
+        return measurement;
+    }
+
+    /**
+     * Снять текущие значения счетчиков.
+     *
+     * @param context - контекст теста
+     * @return значения счетчиков
+     */
+    private Measurement measure(final ExtensionContext context) {
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        Collection<DistributionSummary> summaries = applicationContext
+            .getBean(MeterRegistry.class)
+            .find(RequestCallMetricsFilter.SQL_STATEMENTS_METRIC)
+            .summaries();
+        double sqlStatements = summaries.stream()
+            .mapToDouble(DistributionSummary::totalAmount)
+            .sum();
+        long recordedRequests = summaries.stream()
+            .mapToLong(DistributionSummary::count)
+            .sum();
+        long userApiCalls = Mockito.mockingDetails(applicationContext.getBean(UserApi.class))
+            .getInvocations()
+            .stream()
+            .filter(invocation -> !AUTHENTICATION_METHOD.equals(invocation.getMethod().getName()))
+            .count();
+        return new Measurement((long) sqlStatements, recordedRequests, userApiCalls);
+    }
+
+    /**
+     * Проверить, что прирост счетчика не превышает бюджет.
+     *
+     * @param subject - что считается
+     * @param actual  - прирост счетчика за тест
+     * @param budget  - бюджет
+     */
+    private void assertWithinBudget(final String subject,
+                                    final long actual,
+                                    final int budget) {
+        if (budget == QueryBudget.UNLIMITED) {
+            return;
+        }
+
+        Assertions.assertTrue(actual <= budget, String.format(
+            "Превышен бюджет %s: сделано %d при бюджете %d", subject, actual, budget));
+    }
+
+    /**
+     * Значения счетчиков.
+     *
+     * @param sqlStatements    - SQL-запросы из обработки HTTP-запросов
+     * @param recordedRequests - HTTP-запросы, записанные в метрику
+     * @param userApiCalls     - вызовы сервиса пользователей
+     */
+    private record Measurement(long sqlStatements, long recordedRequests, long userApiCalls) {
+    }
+
+    /**
+     * Состояние на начало теста.
+     *
+     * @param measurement - значения счетчиков
+     * @param requests    - счетчик HTTP-запросов теста
+     */
+    private record Start(Measurement measurement, RequestCountingFilter requests) {
+    }
+
+    /**
+     * Фильтр RestAssured, считающий отправленные тестом HTTP-запросы.
+     */
+    private static final class RequestCountingFilter implements Filter {
+        /**
+         * Количество отправленных запросов.
+         */
+        private final AtomicLong requests = new AtomicLong();
+
+        /**
+         * Посчитать запрос и передать его дальше.
+         *
+         * @param requestSpec  - запрос
+         * @param responseSpec - ожидания к ответу
+         * @param ctx          - контекст фильтров
+         * @return ответ
+         */
+        @Override
+        public Response filter(final FilterableRequestSpecification requestSpec,
+                               final FilterableResponseSpecification responseSpec,
+                               final FilterContext ctx) {
+            requests.incrementAndGet();
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        /**
+         * Количество отправленных запросов.
+         *
+         * @return количество запросов
+         */
+        private long count() {
+            return requests.get();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package heavenboards.project.service.datasource.integration;
+
+import heavenboards.project.service.datasource.ConcurrencyLimitingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import transfer.contract.api.UserApi;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+/**
+ * Тест ограничения одновременно выданных соединений с базой.
+ * Ограничитель с маленьким лимитом создается поверх источника данных приложения,
+ * чтобы соединения фоновых задач приложения не влияли на количество разрешений.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConcurrencyLimitingDataSourceIntegrationTest {
+    /**
+     * Максимальное количество одновременно выданных соединений в тесте.
+     */
+    private static final int MAX_CONCURRENT = 2;
+
+    /**
+     * Время ожидания свободного соединения в тесте.
+     */
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMillis(300);
+
+    /**
+     * Источник данных приложения.
+     */
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Тест оборачивания источника данных приложения в ограничитель.
+     * Поверх ограничителя могут быть другие обертки, поэтому проверяется цепочка оберток.
+     */
+    @Test
+    @DisplayName("Тест оборачивания источника данных приложения в ограничитель")
+    public void applicationDataSourceLimitedTest() throws Exception {
+        Assertions.assertTrue(dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class));
+    }
+
+    /**
+     * Тест освобождения разрешения при закрытии соединения.
+     * Повторное закрытие соединения не должно освобождать разрешение еще раз.
+     */
+    @Test
+    @DisplayName("Тест освобождения разрешения при закрытии соединения")
+    public void permitReleasedOnCloseTest() throws Exception {
+        ConcurrencyLimitingDataSource limited = limitedDataSource();
+
+        Connection first = limited.getConnection();
+        Connection second = limited.getConnection();
+        Assertions.assertEquals(0, limited.availablePermits());
+        Assertions.assertTrue(first.isValid(1));
+
+        first.close();
+        Assertions.assertTrue(first.isClosed());
+        Assertions.assertEquals(1, limited.availablePermits());
+
+        first.close();
+        Assertions.assertEquals(1, limited.availablePermits());
+
+        try (Connection third = limited.getConnection()) {
+            Assertions.assertTrue(third.isValid(1));
+            Assertions.assertEquals(0, limited.availablePermits());
+        }
+        second.close();
+        Assertions.assertEquals(MAX_CONCURRENT, limited.availablePermits());
+    }
+
+    /**
+     * Тест отказа в соединении, если все разрешения заняты дольше времени ожидания.
+     * После отказа разрешение не должно быть потеряно.
+     */
+    @Test
+    @DisplayName("Тест отказа в соединении по таймауту ожидания")
+    public void acquireTimeoutTest() throws Exception {
+        ConcurrencyLimitingDataSource limited = limitedDataSource();
+
+        try (Connection first = limited.getConnection();
+             Connection second = limited.getConnection()) {
+            long started = System.nanoTime();
+            Assertions.assertThrows(SQLTransientConnectionException.class,
+                limited::getConnection);
+            Duration waited = Duration.ofNanos(System.nanoTime() - started);
+
+            Assertions.assertTrue(waited.compareTo(ACQUIRE_TIMEOUT) >= 0);
+            Assertions.assertEquals(0, limited.availablePermits());
+            Assertions.assertEquals(0, limited.waitingThreads());
+        }
+
+        Assertions.assertEquals(MAX_CONCURRENT, limited.availablePermits());
+        try (Connection connection = limited.getConnection()) {
+            Assertions.assertTrue(connection.isValid(1));
+        }
+    }
+
+    /**
+     * Создать ограничитель с маленьким лимитом поверх источника данных приложения.
+     *
+     * @return ограничитель
+     */
+    private ConcurrencyLimitingDataSource limitedDataSource() {
+        return new ConcurrencyLimitingDataSource(dataSource, MAX_CONCURRENT, ACQUIRE_TIMEOUT);
+    }
+}
@@ -1,5 +1,6 @@
 package heavenboards.project.service.project.integration;
 
+import heavenboards.project.service.budget.QueryBudget;
 import security.service.util.test.SecurityTestUtil;
 import io.restassured.RestAssured;
 import io.restassured.http.Header;
@@ -23,7 +24,9 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlConfig;
 import transfer.contract.api.UserApi;
 import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -95,6 +98,99 @@ public class FindAllUserProjectIntegrationTest {
                 UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42"),
                 UUID.fromString("dba22a9b-afe1-4002-8158-98d7d6585dfd")
             )));
+
+        // Участники всех проектов запрашиваются одним вызовом сервиса пользователей
+        Mockito.verify(userApi, Mockito.times(1)).findUsersByIds(Mockito.any());
+    }
+
+    /**
+     * Тест количества обращений к базе и сервису пользователей при множестве проектов.
+     */
+    @Test
+    @DisplayName("Тест бюджета запросов нахождения всех проектов")
+    @Sql(
+        scripts = "classpath:sql/project/createMany.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        config = @SqlConfig(encoding = "UTF-8")
+    )
+    @Sql(
+        scripts = "classpath:sql/clear-all.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+        config = @SqlConfig(encoding = "UTF-8")
+    )
+    @QueryBudget(sqlStatements = 2, userApiCalls = 1)
+    public void findManyUserProjectsBudgetTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).build())
+                .toList());
+
+        Response response = findAllUserProjectResponse();
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        List<ProjectTo> projects = response.jsonPath().getList(".", ProjectTo.class);
+        Assertions.assertEquals(50, projects.size());
+        Assertions.assertTrue(projects.stream()
+            .allMatch(project -> project.getUsers().size() == 3));
+    }
+
+    /**
+     * Тест получения проектов без участников: участники не читаются из базы,
+     * а сервис пользователей не вызывается.
+     */
+    @Test
+    @DisplayName("Тест нахождения всех проектов без участников")
+    @Sql(
+        scripts = "classpath:sql/project/createMany.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        config = @SqlConfig(encoding = "UTF-8")
+    )
+    @Sql(
+        scripts = "classpath:sql/clear-all.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+        config = @SqlConfig(encoding = "UTF-8")
+    )
+    @QueryBudget(sqlStatements = 2, userApiCalls = 0)
+    public void findManyUserProjectsWithoutUsersTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .queryParam("fields", "id,name,positionWeight")
+            .when()
+            .get("/project");
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        List<ProjectTo> projects = response.jsonPath().getList(".", ProjectTo.class);
+        Assertions.assertEquals(50, projects.size());
+        Assertions.assertTrue(projects.stream().allMatch(project -> project.getName() != null
+            && project.getPositionWeight() != null && project.getUsers() == null));
+    }
+
+    /**
+     * Тест получения проектов с неизвестным полем.
+     */
+    @Test
+    @DisplayName("Тест нахождения всех проектов с неизвестным полем")
+    public void findAllUserProjectsUnknownFieldTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .queryParam("fields", "id,boards")
+            .when()
+            .get("/project");
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
     }
 
     /**
@@ -0,0 +1,138 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.dto.ProjectPageTo;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+
+import java.util.UUID;
+
+/**
+ * Тест постраничного получения проектов пользователя.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/create.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class FindUserProjectPageIntegrationTest {
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест обхода проектов пользователя по страницам.
+     */
+    @Test
+    @DisplayName("Тест обхода проектов пользователя по страницам")
+    public void findUserProjectsPageTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+
+        Response firstResponse = findUserProjectPageResponse(null);
+        ProjectPageTo firstPage = firstResponse.getBody().as(ProjectPageTo.class);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), firstResponse.getStatusCode());
+        Assertions.assertEquals(1, firstPage.getProjects().size());
+        Assertions.assertEquals(UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42"),
+            firstPage.getProjects().get(0).getId());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        Response secondResponse = findUserProjectPageResponse(firstPage.getNextCursor());
+        ProjectPageTo secondPage = secondResponse.getBody().as(ProjectPageTo.class);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), secondResponse.getStatusCode());
+        Assertions.assertEquals(1, secondPage.getProjects().size());
+        Assertions.assertEquals(UUID.fromString("dba22a9b-afe1-4002-8158-98d7d6585dfd"),
+            secondPage.getProjects().get(0).getId());
+        Assertions.assertNull(secondPage.getNextCursor());
+    }
+
+    /**
+     * Тест получения страницы с некорректным курсором.
+     */
+    @Test
+    @DisplayName("Тест получения страницы с некорректным курсором")
+    public void invalidCursorTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+
+        Response response = findUserProjectPageResponse("not-a-cursor");
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+    }
+
+    /**
+     * Получить ответ со страницей проектов пользователя размером в один проект.
+     *
+     * @param cursor - курсор страницы
+     * @return ответ со страницей проектов пользователя
+     */
+    private Response findUserProjectPageResponse(final String cursor) {
+        var request = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .queryParam("limit", 1);
+        if (cursor != null) {
+            request = request.queryParam("cursor", cursor);
+        }
+
+        return request
+            .when()
+            .get("/project/page");
+    }
+}
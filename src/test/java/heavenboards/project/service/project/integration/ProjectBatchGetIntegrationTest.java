@@ -0,0 +1,141 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.dto.ProjectBatchGetRequestTo;
+import heavenboards.project.service.project.dto.ProjectBatchGetResultTo;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Тест получения проектов по идентификаторам.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/create.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectBatchGetIntegrationTest {
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест получения найденных и ненайденных проектов одним запросом.
+     */
+    @Test
+    @DisplayName("Тест получения найденных и ненайденных проектов одним запросом")
+    public void batchGetProjectsTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+
+        UUID firstProjectId = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+        UUID secondProjectId = UUID.fromString("dba22a9b-afe1-4002-8158-98d7d6585dfd");
+        UUID missingProjectId = UUID.randomUUID();
+
+        Response response = batchGetProjectsResponse(List.of(
+            secondProjectId, missingProjectId, firstProjectId));
+        ProjectBatchGetResultTo result = response.getBody().as(ProjectBatchGetResultTo.class);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertEquals(List.of(secondProjectId, firstProjectId), result.getProjects()
+            .stream().map(ProjectTo::getId).toList());
+        Assertions.assertEquals(List.of(missingProjectId), result.getMissingIds());
+
+        // Участники всех проектов запрашиваются одним вызовом сервиса пользователей
+        Mockito.verify(userApi, Mockito.times(1)).findUsersByIds(Mockito.any());
+    }
+
+    /**
+     * Тест превышения максимального количества идентификаторов.
+     */
+    @Test
+    @DisplayName("Тест превышения максимального количества идентификаторов")
+    public void tooManyIdsTest() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+
+        List<UUID> ids = Stream.generate(UUID::randomUUID)
+            .limit(ProjectBatchGetRequestTo.MAX_IDS + 1)
+            .toList();
+
+        Response response = batchGetProjectsResponse(ids);
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCode());
+    }
+
+    /**
+     * Получить ответ с проектами по идентификаторам.
+     *
+     * @param ids - идентификаторы проектов
+     * @return ответ с проектами
+     */
+    private Response batchGetProjectsResponse(final List<UUID> ids) {
+        return RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectBatchGetRequestTo.builder()
+                .ids(ids)
+                .build())
+            .when()
+            .post("/project/batch-get");
+    }
+}
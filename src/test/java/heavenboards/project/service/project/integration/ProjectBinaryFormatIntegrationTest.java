@@ -0,0 +1,214 @@
+package heavenboards.project.service.project.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import heavenboards.project.service.codec.CodecConfiguration;
+import heavenboards.project.service.project.dto.ProjectBatchGetRequestTo;
+import heavenboards.project.service.project.dto.ProjectBatchGetResultTo;
+import io.restassured.RestAssured;
+import io.restassured.config.EncoderConfig;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест выбора формата тела запроса и ответа по заголовкам Accept и Content-Type.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectBinaryFormatIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Заголовок Accept браузера.
+     */
+    private static final String BROWSER_ACCEPT =
+        "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест получения проекта в CBOR: данные совпадают с JSON, тело меньше,
+     * а entity tag свой.
+     */
+    @Test
+    @DisplayName("Тест получения проекта в CBOR")
+    public void findProjectCborTest() throws IOException {
+        prepareSecurity();
+
+        Response jsonResponse = findProject(MediaType.APPLICATION_JSON_VALUE);
+        Response cborResponse = findProject(CodecConfiguration.CBOR_VALUE);
+
+        Assertions.assertTrue(cborResponse.getContentType()
+            .startsWith(CodecConfiguration.CBOR_VALUE));
+        Assertions.assertTrue(cborResponse.getHeader(HttpHeaders.VARY)
+            .contains(HttpHeaders.ACCEPT));
+        Assertions.assertEquals("\"0\"", jsonResponse.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("\"0;cbor\"", cborResponse.getHeader(HttpHeaders.ETAG));
+
+        // Entity tag JSON-представления не подтверждает CBOR-представление
+        Response jsonTagResponse = RestAssured
+            .given()
+            .accept(CodecConfiguration.CBOR_VALUE)
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .header(new Header(HttpHeaders.IF_NONE_MATCH, jsonResponse.getHeader(HttpHeaders.ETAG)))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), jsonTagResponse.getStatusCode());
+
+        ProjectTo project = new CBORMapper()
+            .readValue(cborResponse.asByteArray(), ProjectTo.class);
+        Assertions.assertEquals(jsonResponse.as(ProjectTo.class), project);
+        Assertions.assertEquals(3, project.getUsers().size());
+        Assertions.assertTrue(
+            cborResponse.asByteArray().length < jsonResponse.asByteArray().length);
+    }
+
+    /**
+     * Тест получения проектов по идентификаторам с телом запроса и ответа в Smile.
+     */
+    @Test
+    @DisplayName("Тест получения проектов по идентификаторам в Smile")
+    public void batchGetProjectsSmileTest() throws IOException {
+        prepareSecurity();
+        ObjectMapper smileMapper = new SmileMapper();
+        byte[] request = smileMapper.writeValueAsBytes(ProjectBatchGetRequestTo.builder()
+            .ids(List.of(PROJECT_ID))
+            .build());
+
+        // Без charset, который RestAssured иначе добавляет к незнакомому типу содержимого
+        Response response = RestAssured
+            .given()
+            .config(RestAssured.config().encoderConfig(EncoderConfig.encoderConfig()
+                .appendDefaultContentCharsetToContentTypeIfUndefined(false)))
+            .contentType(CodecConfiguration.SMILE_VALUE)
+            .accept(CodecConfiguration.SMILE_VALUE)
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(request)
+            .when()
+            .post("/project/batch-get");
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertTrue(response.getContentType()
+            .startsWith(CodecConfiguration.SMILE_VALUE));
+        ProjectBatchGetResultTo result = smileMapper
+            .readValue(response.asByteArray(), ProjectBatchGetResultTo.class);
+        Assertions.assertEquals(List.of(PROJECT_ID), result.getProjects()
+            .stream().map(ProjectTo::getId).toList());
+    }
+
+    /**
+     * Тест получения проекта браузером и клиентом без заголовка Accept: остается JSON.
+     */
+    @Test
+    @DisplayName("Тест получения проекта в JSON по умолчанию")
+    public void findProjectDefaultJsonTest() {
+        prepareSecurity();
+
+        for (String accept : new String[]{BROWSER_ACCEPT, "*/*"}) {
+            Response response = findProject(accept);
+            Assertions.assertTrue(response.getContentType()
+                .startsWith(MediaType.APPLICATION_JSON_VALUE));
+            Assertions.assertEquals(PROJECT_ID, response.as(ProjectTo.class).getId());
+        }
+    }
+
+    /**
+     * Настроить пользователя, отправляющего запросы, и сервис пользователей.
+     */
+    private void prepareSecurity() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).username("user " + id).build())
+                .toList());
+    }
+
+    /**
+     * Получить проект из тестовых данных в запрошенном формате.
+     *
+     * @param accept - значение заголовка Accept
+     * @return ответ
+     */
+    private Response findProject(final String accept) {
+        Response response = RestAssured
+            .given()
+            .accept(accept)
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response;
+    }
+}
@@ -0,0 +1,227 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.domain.ProjectChangeLogEntry;
+import heavenboards.project.service.project.domain.ProjectChangeLogRepository;
+import heavenboards.project.service.project.domain.ProjectChangeType;
+import heavenboards.project.service.project.dto.ProjectChangePageTo;
+import heavenboards.project.service.project.dto.ProjectChangeTo;
+import heavenboards.project.service.project.outbox.ProjectOutboxPublisher;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест журнала изменений проектов.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+    "project.outbox.enabled=true",
+    "project.outbox.publish-interval=PT1H"
+})
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectChangeFeedIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Участник проекта из тестовых данных, исключаемый при обновлении.
+     */
+    private static final UUID REMOVED_USER_ID =
+        UUID.fromString("6cd9bb02-f8db-4e73-873d-485508e86fe9");
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Публикатор outbox изменений проектов.
+     */
+    @Autowired
+    private ProjectOutboxPublisher projectOutboxPublisher;
+
+    /**
+     * Репозиторий журнала изменений проектов.
+     */
+    @Autowired
+    private ProjectChangeLogRepository projectChangeLogRepository;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест публикации изменений создания и обновления проектов.
+     */
+    @Test
+    @DisplayName("Тест публикации изменений проектов")
+    public void projectChangeFeedTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+
+        Response createResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .name("Feed Project")
+                .positionWeight(2000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .post("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), createResponse.getStatusCode());
+
+        Response updateResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .id(PROJECT_ID)
+                .name("Feed Edit")
+                .positionWeight(1000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .put("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+
+        // До публикации изменения лежат в outbox и читателям не видны
+        Assertions.assertTrue(findChanges(0).getChanges().isEmpty());
+        Assertions.assertEquals(2, projectOutboxPublisher.publish());
+
+        ProjectChangePageTo page = findChanges(0);
+        Assertions.assertEquals(List.of(ProjectChangeType.CREATED, ProjectChangeType.UPDATED),
+            page.getChanges().stream().map(ProjectChangeTo::getChangeType).toList());
+        Assertions.assertEquals(PROJECT_ID, page.getChanges().get(1).getProjectId());
+        Assertions.assertEquals(page.getChanges().get(1).getSequence(), page.getLastSequence());
+        Assertions.assertTrue(findChanges(page.getLastSequence()).getChanges().isEmpty());
+
+        // Исключенный из проекта участник тоже узнает об изменении
+        Assertions.assertEquals(List.of(PROJECT_ID), projectChangeLogRepository
+            .findUserEntriesAfter(REMOVED_USER_ID, 0, 10)
+            .stream()
+            .map(ProjectChangeLogEntry::projectId)
+            .toList());
+    }
+
+    /**
+     * Тест запроса изменений, часть которых уже удалена по сроку хранения.
+     */
+    @Test
+    @DisplayName("Тест reset при запросе удаленных изменений")
+    public void truncatedChangeFeedTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+
+        Response updateResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .id(PROJECT_ID)
+                .name("Feed Edit")
+                .positionWeight(1000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .put("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+        Assertions.assertEquals(1, projectOutboxPublisher.publish());
+        long lastSequence = findChanges(0).getLastSequence();
+
+        Assertions.assertEquals(1, projectChangeLogRepository
+            .deleteOccurredBefore(Instant.now().plusSeconds(1)));
+        Assertions.assertEquals(lastSequence, projectChangeLogRepository.findTruncatedSequence());
+
+        // Клиент не получил удаленное изменение и должен заново прочитать проекты
+        ProjectChangePageTo truncatedPage = findChanges(0);
+        Assertions.assertTrue(truncatedPage.isReset());
+        Assertions.assertTrue(truncatedPage.getChanges().isEmpty());
+        Assertions.assertEquals(lastSequence, truncatedPage.getLastSequence());
+
+        ProjectChangePageTo nextPage = findChanges(truncatedPage.getLastSequence());
+        Assertions.assertFalse(nextPage.isReset());
+        Assertions.assertTrue(nextPage.getChanges().isEmpty());
+    }
+
+    /**
+     * Получить изменения проектов пользователя после порядкового номера.
+     *
+     * @param after - порядковый номер последнего полученного изменения
+     * @return страница изменений
+     */
+    private ProjectChangePageTo findChanges(final long after) {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .queryParam("after", after)
+            .when()
+            .get("/project/changes");
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response.as(ProjectChangePageTo.class);
+    }
+}
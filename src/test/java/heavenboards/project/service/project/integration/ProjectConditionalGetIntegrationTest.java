@@ -0,0 +1,196 @@
+package heavenboards.project.service.project.integration;
+
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+
+import java.util.UUID;
+
+/**
+ * Тест условного получения проектов по entity tag.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/create.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectConditionalGetIntegrationTest {
+    /**
+     * Путь к проекту из тестовых данных.
+     */
+    private static final String PROJECT_PATH = "/project/f91b820e-7721-43ad-b188-1cbd6c0b9d42";
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Jdbc-шаблон для изменения тестовых данных в обход сервиса.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест условного получения проекта.
+     */
+    @Test
+    @DisplayName("Тест условного получения проекта")
+    public void conditionalFindProjectTest() {
+        prepareSecurity();
+
+        Response firstResponse = conditionalGetResponse(PROJECT_PATH, null);
+        String eTag = firstResponse.getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals(HttpStatus.OK.value(), firstResponse.getStatusCode());
+        Assertions.assertEquals("\"0\"", eTag);
+
+        Mockito.clearInvocations(userApi);
+        Response notModifiedResponse = conditionalGetResponse(PROJECT_PATH, eTag);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(),
+            notModifiedResponse.getStatusCode());
+        Assertions.assertEquals(eTag, notModifiedResponse.getHeader(HttpHeaders.ETAG));
+        Mockito.verify(userApi, Mockito.never()).findUsersByIds(Mockito.any());
+
+        jdbcTemplate.update("UPDATE project_entity SET version = version + 1");
+        Response modifiedResponse = conditionalGetResponse(PROJECT_PATH, eTag);
+        Assertions.assertEquals(HttpStatus.OK.value(), modifiedResponse.getStatusCode());
+        Assertions.assertEquals("\"1\"", modifiedResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Тест условного получения проекта без участников.
+     * У неполного представления свой entity tag.
+     */
+    @Test
+    @DisplayName("Тест условного получения проекта без участников")
+    public void conditionalFindProjectFieldsTest() {
+        prepareSecurity();
+        String fieldsPath = PROJECT_PATH + "?fields=name,id";
+
+        Response firstResponse = conditionalGetResponse(fieldsPath, null);
+        Assertions.assertEquals(HttpStatus.OK.value(), firstResponse.getStatusCode());
+        Assertions.assertEquals("\"0;id,name\"", firstResponse.getHeader(HttpHeaders.ETAG));
+        ProjectTo project = firstResponse.as(ProjectTo.class);
+        Assertions.assertNotNull(project.getName());
+        Assertions.assertNull(project.getPositionWeight());
+        Assertions.assertNull(project.getUsers());
+        Mockito.verify(userApi, Mockito.never()).findUsersByIds(Mockito.any());
+
+        // Entity tag полного представления не подтверждает неполное
+        Response fullTagResponse = conditionalGetResponse(fieldsPath, "\"0\"");
+        Assertions.assertEquals(HttpStatus.OK.value(), fullTagResponse.getStatusCode());
+
+        Response notModifiedResponse = conditionalGetResponse(fieldsPath, "\"0;id,name\"");
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(),
+            notModifiedResponse.getStatusCode());
+    }
+
+    /**
+     * Тест условного получения проектов пользователя.
+     */
+    @Test
+    @DisplayName("Тест условного получения проектов пользователя")
+    public void conditionalFindUserProjectsTest() {
+        prepareSecurity();
+
+        Response firstResponse = conditionalGetResponse("/project", null);
+        String eTag = firstResponse.getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals(HttpStatus.OK.value(), firstResponse.getStatusCode());
+        Assertions.assertNotNull(eTag);
+
+        Mockito.clearInvocations(userApi);
+        Response notModifiedResponse = conditionalGetResponse("/project", eTag);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(),
+            notModifiedResponse.getStatusCode());
+        Mockito.verify(userApi, Mockito.never()).findUsersByIds(Mockito.any());
+
+        // Выход пользователя из проекта меняет набор его проектов
+        jdbcTemplate.update("DELETE FROM project_user_entity WHERE project_id = ?",
+            UUID.fromString("dba22a9b-afe1-4002-8158-98d7d6585dfd"));
+        Response modifiedResponse = conditionalGetResponse("/project", eTag);
+        Assertions.assertEquals(HttpStatus.OK.value(), modifiedResponse.getStatusCode());
+        Assertions.assertNotEquals(eTag, modifiedResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Подготовить контекст безопасности.
+     */
+    private void prepareSecurity() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+    }
+
+    /**
+     * Отправить условный GET-запрос и получить ответ.
+     *
+     * @param path        - путь запроса
+     * @param ifNoneMatch - entity tag, уже полученный клиентом
+     * @return ответ
+     */
+    private Response conditionalGetResponse(final String path, final String ifNoneMatch) {
+        var request = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()));
+        if (ifNoneMatch != null) {
+            request = request.header(new Header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+        }
+
+        return request
+            .when()
+            .get(path);
+    }
+}
@@ -1,8 +1,10 @@
 package heavenboards.project.service.project.integration;
 
+import heavenboards.project.service.budget.QueryBudget;
 import heavenboards.project.service.project.domain.ProjectEntity;
 import heavenboards.project.service.project.domain.ProjectRepository;
 import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.dto.ProjectBatchRequestTo;
 import security.service.util.test.SecurityTestUtil;
 import io.restassured.RestAssured;
 import io.restassured.http.Header;
@@ -31,8 +33,15 @@ import transfer.contract.domain.project.ProjectOperationResultTo;
 import transfer.contract.domain.project.ProjectTo;
 import transfer.contract.domain.user.UserTo;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Тест создания проекта.
@@ -47,6 +56,16 @@ import java.util.Optional;
     config = @SqlConfig(encoding = "UTF-8")
 )
 public class ProjectCreateIntegrationTest {
+    /**
+     * Количество параллельных запросов на создание.
+     */
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    /**
+     * Время ожидания ответа на запрос в секундах.
+     */
+    private static final long REQUEST_TIMEOUT_SECONDS = 30;
+
     /**
      * Utility-класс с настройкой security для тестов.
      */
@@ -92,6 +111,7 @@ public class ProjectCreateIntegrationTest {
      */
     @Test
     @DisplayName("Тест валидного создания проекта")
+    @QueryBudget(sqlStatements = 5, userApiCalls = 0)
     public void validProjectCreateTest() {
         securityTestUtil.securityContextHelper();
         UserTo creator = securityTestUtil.getAuthenticatedUser();
@@ -142,6 +162,113 @@ public class ProjectCreateIntegrationTest {
             .build()), errorOperationResult.getErrors());
     }
 
+    /**
+     * Тест параллельного создания проектов с одинаковым названием.
+     * Advisory-блокировка названия пропускает к проверке и вставке один запрос за раз,
+     * поэтому создается ровно один проект, а остальные запросы получают конфликт с ним.
+     */
+    @Test
+    @DisplayName("Тест параллельного создания проектов с одинаковым названием")
+    public void concurrentSameNameCreateTest() throws Exception {
+        securityTestUtil.securityContextHelper();
+        UserTo creator = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(creator);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        List<Future<ProjectOperationResultTo>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Response response = createProjectAndGetResponse(creator);
+                    Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+                    return response.getBody().as(ProjectOperationResultTo.class);
+                }));
+            }
+            start.countDown();
+
+            List<ProjectOperationResultTo> results = new ArrayList<>();
+            for (Future<ProjectOperationResultTo> future : futures) {
+                results.add(future.get(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+
+            List<UUID> createdIds = results.stream()
+                .filter(result -> result.getStatus() == OperationStatus.OK)
+                .map(ProjectOperationResultTo::getProjectId)
+                .toList();
+            Assertions.assertEquals(1, createdIds.size());
+            Assertions.assertEquals(1, projectRepository.count());
+            Assertions.assertTrue(results.stream()
+                .filter(result -> result.getStatus() == OperationStatus.FAILED)
+                .allMatch(result -> result.getErrors().equals(List.of(
+                    ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+                        .failedProjectId(createdIds.getFirst())
+                        .errorCode(ProjectOperationErrorCode.NAME_ALREADY_EXIST)
+                        .build()))));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Тест пакетного создания проектов с повторяющимися названиями.
+     */
+    @Test
+    @DisplayName("Тест пакетного создания проектов с повторяющимися названиями")
+    @QueryBudget(sqlStatements = 10, userApiCalls = 0)
+    public void batchProjectCreateTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo creator = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(creator);
+
+        ProjectOperationResultTo existingProject = createProjectAndGetResponse(creator)
+            .getBody().as(ProjectOperationResultTo.class);
+
+        Response response = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectBatchRequestTo.builder()
+                .projects(List.of(
+                    ProjectTo.builder()
+                        .name("Project Two")
+                        .positionWeight(2000)
+                        .users(List.of(creator))
+                        .build(),
+                    ProjectTo.builder()
+                        .name("Project One")
+                        .positionWeight(3000)
+                        .users(List.of(creator))
+                        .build(),
+                    ProjectTo.builder()
+                        .name("Project Two")
+                        .positionWeight(4000)
+                        .users(List.of(creator))
+                        .build()))
+                .build())
+            .when()
+            .post("/project/batch");
+        List<ProjectOperationResultTo> results = response
+            .jsonPath().getList(".", ProjectOperationResultTo.class);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(OperationStatus.OK, results.get(0).getStatus());
+        Assertions.assertTrue(projectRepository.existsById(results.get(0).getProjectId()));
+        Assertions.assertEquals(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+            .failedProjectId(existingProject.getProjectId())
+            .errorCode(ProjectOperationErrorCode.NAME_ALREADY_EXIST)
+            .build()), results.get(1).getErrors());
+        Assertions.assertEquals(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+            .failedProjectId(results.get(0).getProjectId())
+            .errorCode(ProjectOperationErrorCode.NAME_ALREADY_EXIST)
+            .build()), results.get(2).getErrors());
+        Assertions.assertEquals(2, projectRepository.count());
+    }
+
     /**
      * Оправить запрос на создание проекта и получить ответ.
      *
@@ -0,0 +1,162 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.user.controller.PartialResponseAdvice;
+import heavenboards.project.service.user.service.UserDegradation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест ответов при медленном сервисе пользователей.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = "microservice.user-api.bulkhead.call-timeout=200ms")
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectDegradedUsersIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Задержка ответа медленного сервиса пользователей, в миллисекундах.
+     */
+    private static final long SLOW_RESPONSE_MILLIS = 5_000;
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Реестр метрик.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест получения проекта с участниками без данных, если сервис пользователей
+     * не ответил вовремя.
+     */
+    @Test
+    @DisplayName("Тест частичного ответа при медленном сервисе пользователей")
+    public void slowUserApiProjectTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).username("user " + id).build())
+                .toList());
+
+        Response fullResponse = findProject();
+        Assertions.assertNull(
+            fullResponse.getHeader(PartialResponseAdvice.PARTIAL_RESPONSE_HEADER));
+        Assertions.assertNotNull(fullResponse.getHeader(HttpHeaders.ETAG));
+        Assertions.assertTrue(fullResponse.as(ProjectTo.class).getUsers()
+            .stream()
+            .allMatch(user -> user.getUsername() != null));
+
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(SLOW_RESPONSE_MILLIS);
+            return List.of();
+        }).when(userApi).findUsersByIds(Mockito.any());
+
+        Response partialResponse = findProject();
+        Assertions.assertEquals(PartialResponseAdvice.PARTIAL_USERS,
+            partialResponse.getHeader(PartialResponseAdvice.PARTIAL_RESPONSE_HEADER));
+        Assertions.assertNull(partialResponse.getHeader(HttpHeaders.ETAG));
+        Assertions.assertTrue(partialResponse.getTime() < SLOW_RESPONSE_MILLIS);
+
+        // Участники остаются в ответе, но только с идентификаторами
+        List<UserTo> users = partialResponse.as(ProjectTo.class).getUsers();
+        Assertions.assertEquals(3, users.size());
+        Assertions.assertTrue(users.stream()
+            .allMatch(user -> user.getId() != null && user.getUsername() == null));
+
+        Counter degraded = meterRegistry.find(UserDegradation.DEGRADED_METRIC)
+            .tag("reason", "timeout")
+            .counter();
+        Assertions.assertNotNull(degraded);
+        Assertions.assertEquals(1, degraded.count());
+    }
+
+    /**
+     * Получить проект из тестовых данных.
+     *
+     * @return ответ
+     */
+    private Response findProject() {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response;
+    }
+}
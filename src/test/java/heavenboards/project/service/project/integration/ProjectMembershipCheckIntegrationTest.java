@@ -0,0 +1,213 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.dto.ProjectMembershipCheckRequestTo;
+import heavenboards.project.service.project.dto.ProjectMembershipTo;
+import heavenboards.project.service.project.membership.ProjectMembershipIndex;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест проверки участия пользователя в проекте.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "project.membership-index.enabled=true")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/create.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectMembershipCheckIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Идентификатор участника проекта из тестовых данных.
+     */
+    private static final UUID MEMBER_ID = UUID.fromString("4b15db5a-d772-4826-aec7-2772fb036e1d");
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Индекс участников проектов в памяти.
+     */
+    @Autowired
+    private ProjectMembershipIndex projectMembershipIndex;
+
+    /**
+     * Шаблон для изменения данных в обход приложения.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест проверки участия пользователя в проекте.
+     */
+    @Test
+    @DisplayName("Тест проверки участия пользователя в проекте")
+    public void checkMembershipTest() {
+        prepare();
+
+        Response memberResponse = checkMembershipResponse(PROJECT_ID, MEMBER_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), memberResponse.getStatusCode());
+        Assertions.assertTrue(memberResponse.getBody().as(ProjectMembershipTo.class).getMember());
+
+        Response strangerResponse = checkMembershipResponse(PROJECT_ID, UUID.randomUUID());
+        Assertions.assertEquals(HttpStatus.OK.value(), strangerResponse.getStatusCode());
+        Assertions.assertFalse(strangerResponse.getBody()
+            .as(ProjectMembershipTo.class).getMember());
+    }
+
+    /**
+     * Тест проверки участия пользователей в проектах одним запросом.
+     */
+    @Test
+    @DisplayName("Тест проверки участия пользователей в проектах одним запросом")
+    public void checkMembershipsTest() {
+        prepare();
+
+        UUID missingProjectId = UUID.randomUUID();
+        Response response = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectMembershipCheckRequestTo.builder()
+                .memberships(List.of(
+                    membership(PROJECT_ID, MEMBER_ID),
+                    membership(missingProjectId, MEMBER_ID)))
+                .build())
+            .when()
+            .post("/project/membership-check");
+        List<ProjectMembershipTo> result = List.of(response.getBody()
+            .as(ProjectMembershipTo[].class));
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertEquals(List.of(PROJECT_ID, missingProjectId), result.stream()
+            .map(ProjectMembershipTo::getProjectId).toList());
+        Assertions.assertEquals(List.of(true, false), result.stream()
+            .map(ProjectMembershipTo::getMember).toList());
+    }
+
+    /**
+     * Тест применения удаления участника, сделанного другим инстансом.
+     */
+    @Test
+    @DisplayName("Тест применения удаления участника, сделанного другим инстансом")
+    public void applyRemoteMemberRemovalTest() {
+        prepare();
+        Assertions.assertTrue(projectMembershipIndex.isMember(PROJECT_ID, MEMBER_ID));
+
+        // Другой инстанс удаляет участника и публикует изменение в журнал
+        jdbcTemplate.update("DELETE FROM project_user_entity WHERE project_id = ? AND user_id = ?",
+            PROJECT_ID, MEMBER_ID);
+        jdbcTemplate.update("INSERT INTO project_change_log"
+                + "(project_id, change_type, user_ids, occurred_at) "
+                + "VALUES (?, 'UPDATED', ARRAY[CAST(? AS uuid)], now())",
+            PROJECT_ID, MEMBER_ID);
+        projectMembershipIndex.syncChanges();
+
+        Response response = checkMembershipResponse(PROJECT_ID, MEMBER_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertFalse(response.getBody().as(ProjectMembershipTo.class).getMember());
+    }
+
+    /**
+     * Подготовить контекст безопасности и перестроить индекс по тестовым данным.
+     */
+    private void prepare() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+        projectMembershipIndex.rebuild();
+    }
+
+    /**
+     * Пара проект-пользователь для проверки.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return пара для проверки
+     */
+    private ProjectMembershipTo membership(final UUID projectId, final UUID userId) {
+        return ProjectMembershipTo.builder()
+            .projectId(projectId)
+            .userId(userId)
+            .build();
+    }
+
+    /**
+     * Получить ответ с участием пользователя в проекте.
+     *
+     * @param projectId - идентификатор проекта
+     * @param userId    - идентификатор пользователя
+     * @return ответ с участием пользователя
+     */
+    private Response checkMembershipResponse(final UUID projectId, final UUID userId) {
+        return RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + projectId + "/members/" + userId);
+    }
+}
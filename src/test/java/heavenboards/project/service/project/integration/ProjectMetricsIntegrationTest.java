@@ -0,0 +1,140 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.metrics.MetricsConfiguration;
+import heavenboards.project.service.metrics.RequestCallMetricsFilter;
+import heavenboards.project.service.project.service.ProjectFindUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Тест метрик обработки запросов.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectMetricsIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Шаблон пути получения проекта.
+     */
+    private static final String FIND_PROJECT_URI = "/api/v1/project/{id}";
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Реестр метрик.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест метрик use case и количества SQL-запросов эндпоинта.
+     */
+    @Test
+    @DisplayName("Тест метрик получения проекта")
+    public void findProjectMetricsTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).build())
+                .toList());
+
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+
+        Timer useCaseTimer = meterRegistry.find(MetricsConfiguration.USE_CASE_TIMER)
+            .tag("class", ProjectFindUseCase.class.getName())
+            .timer();
+        Assertions.assertNotNull(useCaseTimer);
+        Assertions.assertTrue(useCaseTimer.count() > 0);
+
+        DistributionSummary sqlStatements = meterRegistry
+            .find(RequestCallMetricsFilter.SQL_STATEMENTS_METRIC)
+            .tags("method", "GET", "uri", FIND_PROJECT_URI)
+            .summary();
+        Assertions.assertNotNull(sqlStatements);
+        Assertions.assertTrue(sqlStatements.max() > 0);
+
+        DistributionSummary remoteCalls = meterRegistry
+            .find(RequestCallMetricsFilter.REMOTE_CALLS_METRIC)
+            .tags("method", "GET", "uri", FIND_PROJECT_URI)
+            .summary();
+        Assertions.assertNotNull(remoteCalls);
+        Assertions.assertEquals(0, remoteCalls.max());
+    }
+}
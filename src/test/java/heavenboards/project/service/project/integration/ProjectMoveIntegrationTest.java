@@ -0,0 +1,307 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.domain.ProjectCommandRepository;
+import heavenboards.project.service.project.domain.ProjectEntity;
+import heavenboards.project.service.project.domain.ProjectRepository;
+import heavenboards.project.service.project.dto.ProjectMoveRequestTo;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.common.OperationStatus;
+import transfer.contract.domain.project.ProjectOperationErrorCode;
+import transfer.contract.domain.project.ProjectOperationResultTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест переноса проекта между соседними проектами.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(
+    scripts = "classpath:sql/project/createForMove.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectMoveIntegrationTest {
+    /**
+     * Первый проект пользователя, вес 1000.
+     */
+    private static final UUID FIRST_PROJECT_ID =
+        UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Второй проект пользователя, вес 1001.
+     */
+    private static final UUID SECOND_PROJECT_ID =
+        UUID.fromString("dba22a9b-afe1-4002-8158-98d7d6585dfd");
+
+    /**
+     * Третий проект пользователя, вес 2000.
+     */
+    private static final UUID THIRD_PROJECT_ID =
+        UUID.fromString("0c0e6d0a-3b53-4f1e-9a43-5ac0c6f1b8f3");
+
+    /**
+     * Количество проектов в тесте перерасчета окна.
+     */
+    private static final int WINDOW_TEST_PROJECTS = 30;
+
+    /**
+     * Базовый вес проектов в тесте перерасчета окна, после проектов из тестовых данных.
+     */
+    private static final int WINDOW_TEST_BASE = 1_000_000;
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Репозиторий для проектов.
+     */
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    /**
+     * Репозиторий условных изменений проектов.
+     */
+    @SpyBean
+    private ProjectCommandRepository projectCommandRepository;
+
+    /**
+     * Jdbc-шаблон для изменения тестовых данных в обход сервиса.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест переноса проекта в начало списка.
+     */
+    @Test
+    @DisplayName("Тест переноса проекта в начало списка")
+    public void moveProjectToStartTest() {
+        prepareSecurity();
+
+        Response response = moveProjectResponse(THIRD_PROJECT_ID, ProjectMoveRequestTo.builder()
+            .nextId(FIRST_PROJECT_ID)
+            .build());
+        ProjectOperationResultTo result = response.getBody().as(ProjectOperationResultTo.class);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertEquals(OperationStatus.OK, result.getStatus());
+        Assertions.assertEquals("\"1\"", response.getHeader(HttpHeaders.ETAG));
+
+        // Меняется только переносимый проект
+        Assertions.assertEquals(1000 - 1024, findProject(THIRD_PROJECT_ID).getPositionWeight());
+        Assertions.assertEquals(0, findProject(FIRST_PROJECT_ID).getVersion());
+        Assertions.assertEquals(0, findProject(SECOND_PROJECT_ID).getVersion());
+    }
+
+    /**
+     * Тест переноса проекта между соседями без свободного веса.
+     */
+    @Test
+    @DisplayName("Тест переноса проекта между соседями без свободного веса")
+    public void moveProjectWithoutGapTest() {
+        prepareSecurity();
+
+        Response response = moveProjectResponse(THIRD_PROJECT_ID, ProjectMoveRequestTo.builder()
+            .previousId(FIRST_PROJECT_ID)
+            .nextId(SECOND_PROJECT_ID)
+            .build());
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+
+        // Веса перерасчитаны с шагом, проект встал посередине между соседями
+        int firstWeight = findProject(FIRST_PROJECT_ID).getPositionWeight();
+        int secondWeight = findProject(SECOND_PROJECT_ID).getPositionWeight();
+        int thirdWeight = findProject(THIRD_PROJECT_ID).getPositionWeight();
+        Assertions.assertEquals(1024, firstWeight);
+        Assertions.assertEquals(2048, secondWeight);
+        Assertions.assertEquals(1536, thirdWeight);
+    }
+
+    /**
+     * Тест перерасчета весов только в окне вокруг соседей.
+     * Проекты пользователя идут с шагом 1024, кроме пары без промежутка. Окно из восьми
+     * проектов с каждой стороны уже расставлено с шагом 1024, поэтому меняется только
+     * второй проект пары и переносимый проект.
+     */
+    @Test
+    @DisplayName("Тест перерасчета весов только в окне вокруг соседей")
+    public void moveProjectRebalancesWindowTest() {
+        prepareSecurity();
+        UUID userId = securityTestUtil.getAuthenticatedUser().getId();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 1; i <= WINDOW_TEST_PROJECTS; i++) {
+            UUID id = UUID.randomUUID();
+            int positionWeight = WINDOW_TEST_BASE + (i == 16 ? 15 * 1024 + 1 : i * 1024);
+            jdbcTemplate.update("INSERT INTO project_entity(id, name, position_weight) "
+                + "VALUES (?, ?, ?)", id, "window " + i, positionWeight);
+            jdbcTemplate.update("INSERT INTO project_user_entity(id, user_id, project_id) "
+                + "VALUES (?, ?, ?)", UUID.randomUUID(), userId, id);
+            ids.add(id);
+        }
+
+        UUID movedId = ids.getLast();
+        Response response = moveProjectResponse(movedId, ProjectMoveRequestTo.builder()
+            .previousId(ids.get(14))
+            .nextId(ids.get(15))
+            .build());
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+
+        Assertions.assertEquals(WINDOW_TEST_BASE + 16 * 1024,
+            findProject(ids.get(15)).getPositionWeight());
+        Assertions.assertEquals(1, findProject(ids.get(15)).getVersion());
+        Assertions.assertEquals(WINDOW_TEST_BASE + 15 * 1024 + 512,
+            findProject(movedId).getPositionWeight());
+        for (int i = 0; i < WINDOW_TEST_PROJECTS - 1; i++) {
+            if (i != 15) {
+                Assertions.assertEquals(0, findProject(ids.get(i)).getVersion());
+            }
+        }
+        Assertions.assertEquals(0, findProject(FIRST_PROJECT_ID).getVersion());
+    }
+
+    /**
+     * Тест переноса проекта к соседу, в котором пользователь не состоит.
+     */
+    @Test
+    @DisplayName("Тест переноса проекта к чужому соседу")
+    public void moveProjectNextToForeignProjectTest() {
+        prepareSecurity();
+
+        UUID foreignProjectId = UUID.randomUUID();
+        Response response = moveProjectResponse(THIRD_PROJECT_ID, ProjectMoveRequestTo.builder()
+            .nextId(foreignProjectId)
+            .build());
+        ProjectOperationResultTo result = response.getBody().as(ProjectOperationResultTo.class);
+
+        Assertions.assertEquals(OperationStatus.FAILED, result.getStatus());
+        Assertions.assertEquals(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+            .failedProjectId(foreignProjectId)
+            .errorCode(ProjectOperationErrorCode.YOU_ARE_NOT_A_MEMBER)
+            .build()), result.getErrors());
+        Assertions.assertEquals(2000, findProject(THIRD_PROJECT_ID).getPositionWeight());
+    }
+
+    /**
+     * Тест переноса проекта, из которого пользователя исключили после чтения позиций.
+     * Перенос без If-Match отклоняется не как конфликт версий, а как перенос чужого проекта.
+     */
+    @Test
+    @DisplayName("Тест переноса проекта после исключения из него")
+    public void moveProjectAfterMembershipRemovedTest() {
+        prepareSecurity();
+        Mockito.doAnswer(invocation -> {
+            jdbcTemplate.update("DELETE FROM project_user_entity WHERE project_id = ?",
+                THIRD_PROJECT_ID);
+            return invocation.callRealMethod();
+        }).when(projectCommandRepository).moveIfMember(Mockito.eq(THIRD_PROJECT_ID),
+            Mockito.anyInt(), Mockito.any(), Mockito.any());
+
+        Response response = moveProjectResponse(THIRD_PROJECT_ID, ProjectMoveRequestTo.builder()
+            .nextId(FIRST_PROJECT_ID)
+            .build());
+        ProjectOperationResultTo result = response.getBody().as(ProjectOperationResultTo.class);
+
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertEquals(OperationStatus.FAILED, result.getStatus());
+        Assertions.assertEquals(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+            .failedProjectId(THIRD_PROJECT_ID)
+            .errorCode(ProjectOperationErrorCode.YOU_ARE_NOT_A_MEMBER)
+            .build()), result.getErrors());
+        Assertions.assertEquals(2000, findProject(THIRD_PROJECT_ID).getPositionWeight());
+    }
+
+    /**
+     * Подготовить контекст безопасности.
+     */
+    private void prepareSecurity() {
+        securityTestUtil.securityContextHelper();
+        Mockito.when(userApi.findUserByUsername(Mockito.any()))
+            .thenReturn(securityTestUtil.getAuthenticatedUser());
+    }
+
+    /**
+     * Найти проект в базе.
+     *
+     * @param projectId - идентификатор проекта
+     * @return сущность проекта
+     */
+    private ProjectEntity findProject(final UUID projectId) {
+        return projectRepository.findById(projectId).orElseThrow();
+    }
+
+    /**
+     * Отправить запрос на перенос проекта и получить ответ.
+     *
+     * @param projectId - идентификатор проекта
+     * @param request   - соседи проекта после переноса
+     * @return ответ
+     */
+    private Response moveProjectResponse(final UUID projectId,
+                                         final ProjectMoveRequestTo request) {
+        return RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(request)
+            .when()
+            .post("/project/" + projectId + "/move");
+    }
+}
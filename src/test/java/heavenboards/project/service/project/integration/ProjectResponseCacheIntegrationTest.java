@@ -0,0 +1,293 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.cache.ProjectResponseCache;
+import heavenboards.project.service.user.controller.PartialResponseAdvice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест кеша закодированных ответов с проектом.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+    "project.response-cache.enabled=true",
+    "project.codec.gzip.min-size=0",
+    "microservice.user-api.bulkhead.call-timeout=200ms"
+})
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectResponseCacheIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Задержка ответа медленного сервиса пользователей, в миллисекундах.
+     */
+    private static final long SLOW_RESPONSE_MILLIS = 2_000;
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Кеш закодированных ответов с проектом.
+     */
+    @Autowired
+    private ProjectResponseCache projectResponseCache;
+
+    /**
+     * Реестр метрик.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тестовые данные вставлены в обход сервиса, ответы прошлых тестов должны быть сброшены.
+     */
+    @BeforeEach
+    public void invalidateCache() {
+        projectResponseCache.invalidateAll();
+    }
+
+    /**
+     * Тест повторного чтения проекта из кеша и чтения новой версии после изменения проекта.
+     */
+    @Test
+    @DisplayName("Тест чтения ответа из кеша и новой версии после изменения")
+    public void cachedProjectUpdateTest() {
+        UserTo requestSender = prepareSecurity();
+        mockUsers();
+        double hitsBefore = cacheHits();
+
+        Response firstResponse = findProject();
+        Response secondResponse = findProject();
+        Assertions.assertEquals("gzip", secondResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(firstResponse.getHeader(HttpHeaders.ETAG),
+            secondResponse.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals(firstResponse.as(ProjectTo.class),
+            secondResponse.as(ProjectTo.class));
+
+        // Второй ответ взят из кеша без обращения к сервису пользователей
+        Mockito.verify(userApi, Mockito.times(1)).findUsersByIds(Mockito.any());
+        Assertions.assertEquals(1, projectResponseCache.size());
+        Assertions.assertEquals(hitsBefore + 1, cacheHits());
+        Assertions.assertTrue(
+            meterRegistry.get(ProjectResponseCache.HIT_RATIO_METRIC).gauge().value() > 0);
+
+        Response updateResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .id(PROJECT_ID)
+                .name("Cached Edit")
+                .positionWeight(1000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .put("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+
+        // Ответ прошлой версии не удаляется, но новая версия читается мимо него
+        ProjectTo updatedProject = findProject().as(ProjectTo.class);
+        Assertions.assertEquals("Cached Edit", updatedProject.getName());
+        Assertions.assertEquals(1, updatedProject.getUsers().size());
+        Assertions.assertEquals(2, projectResponseCache.size());
+        Assertions.assertEquals(hitsBefore + 1, cacheHits());
+    }
+
+    /**
+     * Тест entity tag сжатого ответа: он отличается от entity tag несжатого,
+     * а ответ 304 выбирается по тем же заголовкам, что и ответ 200.
+     */
+    @Test
+    @DisplayName("Тест entity tag сжатого и несжатого ответа")
+    public void codingETagTest() {
+        prepareSecurity();
+        mockUsers();
+
+        Response gzipResponse = findProject();
+        String gzipETag = gzipResponse.getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals("gzip", gzipResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("\"0;gzip\"", gzipETag);
+
+        Response notModifiedResponse = conditionalFindProject(true, gzipETag);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(),
+            notModifiedResponse.getStatusCode());
+        Assertions.assertEquals(gzipETag, notModifiedResponse.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals(gzipResponse.getHeaders().getValues(HttpHeaders.VARY),
+            notModifiedResponse.getHeaders().getValues(HttpHeaders.VARY));
+
+        // Клиент без gzip не получает 304 по entity tag сжатого тела
+        Response identityResponse = conditionalFindProject(false, gzipETag);
+        Assertions.assertEquals(HttpStatus.OK.value(), identityResponse.getStatusCode());
+        Assertions.assertNull(identityResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals("\"0\"", identityResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Тест частичного ответа: он не кешируется, и после восстановления сервиса
+     * пользователей приходят полные данные.
+     */
+    @Test
+    @DisplayName("Тест частичного ответа без кеширования")
+    public void partialResponseNotCachedTest() {
+        prepareSecurity();
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> {
+                Thread.sleep(SLOW_RESPONSE_MILLIS);
+                return List.of();
+            });
+
+        Response partialResponse = findProject();
+        Assertions.assertEquals(PartialResponseAdvice.PARTIAL_USERS,
+            partialResponse.getHeader(PartialResponseAdvice.PARTIAL_RESPONSE_HEADER));
+        Assertions.assertEquals(0, projectResponseCache.size());
+
+        mockUsers();
+        Response fullResponse = findProject();
+        Assertions.assertNull(
+            fullResponse.getHeader(PartialResponseAdvice.PARTIAL_RESPONSE_HEADER));
+        Assertions.assertTrue(fullResponse.as(ProjectTo.class).getUsers()
+            .stream()
+            .allMatch(user -> user.getUsername() != null));
+    }
+
+    /**
+     * Настроить пользователя, отправляющего запросы.
+     *
+     * @return пользователь, отправляющий запросы
+     */
+    private UserTo prepareSecurity() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        return requestSender;
+    }
+
+    /**
+     * Настроить быстрый сервис пользователей.
+     */
+    private void mockUsers() {
+        Mockito.doAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).username("user " + id).build())
+                .toList())
+            .when(userApi).findUsersByIds(Mockito.any());
+    }
+
+    /**
+     * Количество попаданий в кеш ответов.
+     *
+     * @return количество попаданий
+     */
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", ProjectResponseCache.CACHE_NAME)
+            .tag("result", "hit")
+            .functionCounter()
+            .count();
+    }
+
+    /**
+     * Получить проект из тестовых данных.
+     *
+     * @return ответ
+     */
+    private Response findProject() {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response;
+    }
+
+    /**
+     * Условно получить проект из тестовых данных.
+     *
+     * @param gzip        - принимает ли клиент gzip
+     * @param ifNoneMatch - entity tag, уже полученный клиентом
+     * @return ответ
+     */
+    private Response conditionalFindProject(final boolean gzip, final String ifNoneMatch) {
+        // Без декодеров RestAssured не отправляет Accept-Encoding
+        DecoderConfig decoderConfig = gzip ? DecoderConfig.decoderConfig()
+            : DecoderConfig.decoderConfig().noContentDecoders();
+        return RestAssured
+            .given()
+            .config(RestAssured.config().decoderConfig(decoderConfig))
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .header(new Header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+            .when()
+            .get("/project/" + PROJECT_ID);
+    }
+}
@@ -0,0 +1,235 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.cache.ProjectCacheConfiguration;
+import heavenboards.project.service.project.cache.ProjectCacheEndpoint;
+import heavenboards.project.service.project.dto.ProjectCacheRegionStatsTo;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Тест кеша второго уровня проектов.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+    "project.second-level-cache.enabled=true",
+    "management.endpoints.web.exposure.include=" + ProjectCacheEndpoint.ID
+})
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectSecondLevelCacheIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Идентификатор записи участника, удаляемой в обход сервиса.
+     */
+    private static final UUID REMOVED_MEMBER_ID =
+        UUID.fromString("1933084d-5a6a-4437-a9a4-ccd3ece0bd15");
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Jdbc-шаблон для изменений в обход сервиса.
+     */
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест чтения проекта из кеша и сброса кеша при изменении проекта.
+     */
+    @Test
+    @DisplayName("Тест чтения проекта из кеша и сброса кеша при изменении")
+    public void cachedProjectUpdateTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).build())
+                .toList());
+
+        // Тестовые данные вставлены в обход сервиса, кеш прошлых тестов должен быть пуст
+        Assertions.assertEquals(HttpStatus.NO_CONTENT.value(), RestAssured
+            .given()
+            .when()
+            .delete(endpointUrl())
+            .getStatusCode());
+
+        Assertions.assertEquals(3, findProject().getUsers().size());
+        Assertions.assertEquals(3, findProject().getUsers().size());
+        ProjectCacheRegionStatsTo projectStats = findProjectRegionStats();
+        Assertions.assertTrue(projectStats.getHitCount() > 0);
+
+        Response updateResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .id(PROJECT_ID)
+                .name("Cached Edit")
+                .positionWeight(1000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .put("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+
+        ProjectTo updatedProject = findProject();
+        Assertions.assertEquals("Cached Edit", updatedProject.getName());
+        Assertions.assertEquals(List.of(requestSender.getId()), updatedProject.getUsers()
+            .stream()
+            .map(UserTo::getId)
+            .toList());
+    }
+
+    /**
+     * Тест чтения проекта, измененного в обход кеша.
+     * Так выглядит изменение другим инстансом или старая строка, положенная в кеш
+     * после сброса: закешированный проект старше версии в базе и должен быть перечитан.
+     */
+    @Test
+    @DisplayName("Тест чтения проекта, измененного в обход кеша")
+    public void staleCachedProjectTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> UserTo.builder().id(id).build())
+                .toList());
+        Assertions.assertEquals(HttpStatus.NO_CONTENT.value(), RestAssured
+            .given()
+            .when()
+            .delete(endpointUrl())
+            .getStatusCode());
+
+        Assertions.assertEquals("godsystem", findProject().getName());
+        Assertions.assertEquals(3, findProject().getUsers().size());
+
+        jdbcTemplate.update("UPDATE project_entity SET name = 'Remote Edit', "
+            + "version = version + 1 WHERE id = ?", PROJECT_ID);
+        jdbcTemplate.update("DELETE FROM project_user_entity WHERE id = ?", REMOVED_MEMBER_ID);
+
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        Assertions.assertEquals("\"1\"", response.getHeader(HttpHeaders.ETAG));
+        ProjectTo project = response.as(ProjectTo.class);
+        Assertions.assertEquals("Remote Edit", project.getName());
+        Assertions.assertEquals(2, project.getUsers().size());
+    }
+
+    /**
+     * Получить проект из тестовых данных.
+     *
+     * @return проект
+     */
+    private ProjectTo findProject() {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response.as(ProjectTo.class);
+    }
+
+    /**
+     * Получить статистику региона кеша проектов.
+     *
+     * @return статистика региона проектов
+     */
+    private ProjectCacheRegionStatsTo findProjectRegionStats() {
+        return RestAssured
+            .given()
+            .when()
+            .get(endpointUrl())
+            .jsonPath()
+            .getList(".", ProjectCacheRegionStatsTo.class)
+            .stream()
+            .filter(stats -> ProjectCacheConfiguration.PROJECT_REGION.equals(stats.getRegion()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    /**
+     * Адрес actuator-эндпоинта кеша проектов.
+     *
+     * @return адрес эндпоинта
+     */
+    private String endpointUrl() {
+        return "http://localhost:" + port + "/actuator/" + ProjectCacheEndpoint.ID;
+    }
+}
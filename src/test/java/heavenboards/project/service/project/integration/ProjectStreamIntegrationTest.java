@@ -0,0 +1,330 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.project.domain.ProjectChangeLogRepository;
+import heavenboards.project.service.project.outbox.ProjectOutboxPublisher;
+import heavenboards.project.service.project.stream.ProjectChangeDispatcher;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тест потока изменений проектов пользователя.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+    "project.outbox.enabled=true",
+    "project.outbox.publish-interval=PT1H",
+    "project.stream.poll-interval=PT1H"
+})
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectStreamIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Сколько ждать событие потока, в секундах.
+     */
+    private static final long EVENT_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Публикатор outbox изменений проектов.
+     */
+    @Autowired
+    private ProjectOutboxPublisher projectOutboxPublisher;
+
+    /**
+     * Рассылка изменений проектов.
+     */
+    @Autowired
+    private ProjectChangeDispatcher projectChangeDispatcher;
+
+    /**
+     * Репозиторий журнала изменений проектов.
+     */
+    @SpyBean
+    private ProjectChangeLogRepository projectChangeLogRepository;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест досылки пропущенных изменений и рассылки новых.
+     */
+    @Test
+    @DisplayName("Тест потока изменений проектов")
+    public void projectStreamTest() throws Exception {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenReturn(List.of(requestSender));
+
+        Response createResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .name("Stream Project")
+                .positionWeight(2000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .post("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), createResponse.getStatusCode());
+        projectOutboxPublisher.publish();
+
+        // Клиент переподключается с начала журнала и получает пропущенное создание
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            client.sendAsync(streamRequest(0), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add));
+
+            Assertions.assertTrue(awaitEventData(lines, "CREATED").contains("Stream Project"));
+
+            Response updateResponse = RestAssured
+                .given()
+                .contentType("application/json")
+                .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+                .body(ProjectTo.builder()
+                    .id(PROJECT_ID)
+                    .name("Stream Edit")
+                    .positionWeight(1000)
+                    .users(List.of(requestSender))
+                    .build())
+                .when()
+                .put("/project");
+            Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+            projectOutboxPublisher.publish();
+
+            // Рассылка идет в потоке планировщика без пользователя и без участников проекта
+            Mockito.clearInvocations(userApi);
+            CompletableFuture.runAsync(projectChangeDispatcher::dispatch).join();
+
+            Assertions.assertTrue(awaitEventData(lines, "UPDATED").contains("Stream Edit"));
+            Mockito.verify(userApi, Mockito.never()).findUsersByIds(Mockito.any());
+        } finally {
+            // close() ждал бы завершения бесконечного потока
+            client.shutdownNow();
+        }
+    }
+
+    /**
+     * Тест переподключения после удаления пропущенных изменений по сроку хранения.
+     */
+    @Test
+    @DisplayName("Тест reset при досылке удаленных изменений")
+    public void truncatedReplayTest() throws Exception {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+
+        Response updateResponse = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectTo.builder()
+                .id(PROJECT_ID)
+                .name("Stream Edit")
+                .positionWeight(1000)
+                .users(List.of(requestSender))
+                .build())
+            .when()
+            .put("/project");
+        Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+        projectOutboxPublisher.publish();
+        projectChangeLogRepository.deleteOccurredBefore(Instant.now().plusSeconds(1));
+
+        // Журнал пуст, но изменение после Last-Event-ID было, поэтому клиент получает reset
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            client.sendAsync(streamRequest(0), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lines::add));
+
+            Assertions.assertNotNull(awaitEventData(lines, "reset"));
+        } finally {
+            client.shutdownNow();
+        }
+    }
+
+    /**
+     * Тест подключения во время опроса журнала без подключений.
+     * Клиент подключается и читает пустую досылку, пока опрос читает номер последнего
+     * изменения, а следующее изменение появляется до конца этого чтения. Опрос не должен
+     * перескочить через изменение, которого не было в досылке.
+     * Тест идет первым: подключения других тестов остаются зарегистрированными
+     * до первой неудачной отправки, а опрос нужен без подключений.
+     */
+    @Test
+    @Order(1)
+    @DisplayName("Тест подключения во время опроса без подключений")
+    public void subscribeDuringIdleDispatchTest() throws Exception {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        CompletableFuture.runAsync(projectChangeDispatcher::dispatch).join();
+        long lastSequence = projectChangeLogRepository.findLastSequence();
+
+        // Досылка читает журнал уже после регистрации подключения
+        CountDownLatch replayed = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            Object entries = invocation.callRealMethod();
+            replayed.countDown();
+            return entries;
+        }).when(projectChangeLogRepository)
+            .findUserEntriesAfter(Mockito.any(), Mockito.anyLong(), Mockito.anyInt());
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            Mockito.doAnswer(invocation -> {
+                client.sendAsync(streamRequest(lastSequence), HttpResponse.BodyHandlers.ofLines())
+                    .thenAccept(response -> response.body().forEach(lines::add));
+                Assertions.assertTrue(replayed.await(EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+                Response updateResponse = RestAssured
+                    .given()
+                    .contentType("application/json")
+                    .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+                    .body(ProjectTo.builder()
+                        .id(PROJECT_ID)
+                        .name("Stream Edit")
+                        .positionWeight(1000)
+                        .users(List.of(requestSender))
+                        .build())
+                    .when()
+                    .put("/project");
+                Assertions.assertEquals(HttpStatus.OK.value(), updateResponse.getStatusCode());
+                projectOutboxPublisher.publish();
+                return invocation.callRealMethod();
+            }).doCallRealMethod().when(projectChangeLogRepository).findLastSequence();
+
+            CompletableFuture.runAsync(projectChangeDispatcher::dispatch).join();
+
+            Assertions.assertTrue(awaitEventData(lines, "UPDATED").contains("Stream Edit"));
+        } finally {
+            client.shutdownNow();
+        }
+    }
+
+    /**
+     * Запрос подключения к потоку изменений.
+     *
+     * @param lastEventId - идентификатор последнего полученного события
+     * @return запрос
+     */
+    private HttpRequest streamRequest(final long lastEventId) {
+        return HttpRequest.newBuilder()
+            .uri(URI.create("http://localhost:" + port + "/api/v1/project/stream"))
+            .header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader())
+            .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+            .header("Last-Event-ID", String.valueOf(lastEventId))
+            .build();
+    }
+
+    /**
+     * Дождаться события потока и получить его данные.
+     *
+     * @param lines     - строки потока
+     * @param eventName - название события
+     * @return строка данных события
+     * @throws InterruptedException - если ожидание прервано
+     */
+    private String awaitEventData(final BlockingQueue<String> lines,
+                                  final String eventName) throws InterruptedException {
+        boolean eventFound = false;
+        while (true) {
+            String line = lines.poll(EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assertions.assertNotNull(line, "Событие " + eventName + " не получено");
+            if (line.equals("event:" + eventName)) {
+                eventFound = true;
+            } else if (eventFound && line.startsWith("data:")) {
+                return line;
+            }
+        }
+    }
+}
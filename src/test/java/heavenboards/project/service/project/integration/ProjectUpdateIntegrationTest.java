@@ -1,9 +1,11 @@
 package heavenboards.project.service.project.integration;
 
+import heavenboards.project.service.budget.QueryBudget;
 import heavenboards.project.service.project.domain.ProjectEntity;
 import heavenboards.project.service.project.domain.ProjectRepository;
 import heavenboards.project.service.project.domain.ProjectUserEntity;
 import heavenboards.project.service.project.domain.ProjectUserRepository;
+import heavenboards.project.service.project.dto.ProjectBatchRequestTo;
 import heavenboards.project.service.project.mapping.ProjectMapper;
 import io.restassured.RestAssured;
 import io.restassured.http.Header;
@@ -21,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlConfig;
@@ -107,6 +110,7 @@ public class ProjectUpdateIntegrationTest {
      */
     @Test
     @DisplayName("Тест валидного обновления проекта")
+    @QueryBudget(sqlStatements = 5)
     public void validProjectUpdateTest() {
         securityTestUtil.securityContextHelper();
         UserTo requestSender = securityTestUtil.getAuthenticatedUser();
@@ -161,6 +165,7 @@ public class ProjectUpdateIntegrationTest {
 
         Assertions.assertEquals(OperationStatus.OK, operationResult.getStatus());
         Assertions.assertEquals(updatableProjectId, operationResult.getProjectId());
+        Assertions.assertEquals("\"1\"", response.getHeader(HttpHeaders.ETAG));
 
         projectEntity = projectRepository
             .findById(updatableProjectId)
@@ -182,6 +187,14 @@ public class ProjectUpdateIntegrationTest {
 
         Assertions.assertFalse(projectUserRepository.existsById(deletedProjectUserId));
 
+        // Неизменившиеся участники сохраняют свои записи, удаленные записи удаляются
+        Assertions.assertTrue(projectUserRepository.existsById(
+            UUID.fromString("1933084d-5a6a-4437-a9a4-ccd3ece0bd15")));
+        Assertions.assertTrue(projectUserRepository.existsById(
+            UUID.fromString("7ecae53e-fa2a-444b-b90f-2ef4649fbf95")));
+        Assertions.assertFalse(projectUserRepository.existsById(
+            UUID.fromString("1caa5748-1930-4336-a345-b0a3dbb99359")));
+
         Optional<UUID> newProjectUserId = projectEntity.getUsers().stream()
             .filter(projectUser -> projectUser.getUserId().equals(newProjectUserUserId))
             .map(ProjectUserEntity::getId)
@@ -228,6 +241,147 @@ public class ProjectUpdateIntegrationTest {
             .build()), operationResult.getErrors());
     }
 
+    /**
+     * Тест обновления проекта, измененного после получения.
+     */
+    @Test
+    @DisplayName("Тест обновления проекта, измененного после получения")
+    public void staleProjectUpdateTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+
+        UUID updatableProjectId = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+        Response findResponse = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + updatableProjectId);
+        String eTag = findResponse.getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals("\"0\"", eTag);
+
+        ProjectTo updatableProject = ProjectTo.builder()
+            .id(updatableProjectId)
+            .name("First Edit")
+            .positionWeight(1000)
+            .users(List.of(requestSender))
+            .build();
+        Response firstResponse = updateProjectAndGetResponse(updatableProject, eTag);
+        Assertions.assertEquals(HttpStatus.OK.value(), firstResponse.getStatusCode());
+        Assertions.assertEquals("\"1\"", firstResponse.getHeader(HttpHeaders.ETAG));
+
+        // Второе изменение основано на той же версии и не должно затереть первое
+        updatableProject.setName("Second Edit");
+        Response secondResponse = updateProjectAndGetResponse(updatableProject, eTag);
+        Assertions.assertEquals(HttpStatus.PRECONDITION_FAILED.value(),
+            secondResponse.getStatusCode());
+
+        ProjectEntity projectEntity = projectRepository
+            .findById(updatableProjectId)
+            .orElseThrow(() -> new ClientApplicationException(BaseErrorCode.NOT_FOUND,
+                String.format("Проект с идентификатором %s не найден", updatableProjectId)));
+        Assertions.assertEquals("First Edit", projectEntity.getName());
+        Assertions.assertEquals(1, projectEntity.getVersion());
+    }
+
+    /**
+     * Тест обновления проекта по entity tag неполного представления.
+     */
+    @Test
+    @DisplayName("Тест обновления проекта по entity tag неполного представления")
+    public void partialTagProjectUpdateTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+
+        UUID updatableProjectId = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+        Response findResponse = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + updatableProjectId + "?fields=id,name");
+        String eTag = findResponse.getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals("\"0;id,name\"", eTag);
+
+        ProjectTo updatableProject = ProjectTo.builder()
+            .id(updatableProjectId)
+            .name("Partial Edit")
+            .positionWeight(1000)
+            .users(List.of(requestSender))
+            .build();
+        Response firstResponse = updateProjectAndGetResponse(updatableProject, eTag);
+        Assertions.assertEquals(HttpStatus.OK.value(), firstResponse.getStatusCode());
+        Assertions.assertEquals("\"1\"", firstResponse.getHeader(HttpHeaders.ETAG));
+
+        Response secondResponse = updateProjectAndGetResponse(updatableProject, eTag);
+        Assertions.assertEquals(HttpStatus.PRECONDITION_FAILED.value(),
+            secondResponse.getStatusCode());
+    }
+
+    /**
+     * Тест пакетного обновления своих, чужих и несуществующих проектов.
+     */
+    @Test
+    @DisplayName("Тест пакетного обновления проектов")
+    @QueryBudget(sqlStatements = 4, userApiCalls = 0)
+    public void batchProjectUpdateTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+
+        UUID updatableProjectId = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+        UUID missingProjectId = UUID.randomUUID();
+        List<UserTo> projectUsers = List.of(
+            requestSender,
+            UserTo.builder()
+                .id(UUID.fromString("6cd9bb02-f8db-4e73-873d-485508e86fe9"))
+                .build()
+        );
+
+        Response response = RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .body(ProjectBatchRequestTo.builder()
+                .projects(List.of(
+                    ProjectTo.builder()
+                        .id(updatableProjectId)
+                        .name("Batch Name")
+                        .positionWeight(3000)
+                        .users(projectUsers)
+                        .build(),
+                    ProjectTo.builder()
+                        .id(missingProjectId)
+                        .name("Missing")
+                        .positionWeight(4000)
+                        .users(projectUsers)
+                        .build()))
+                .build())
+            .when()
+            .put("/project/batch");
+        List<ProjectOperationResultTo> results = response
+            .jsonPath().getList(".", ProjectOperationResultTo.class);
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(OperationStatus.OK, results.get(0).getStatus());
+        Assertions.assertEquals(updatableProjectId, results.get(0).getProjectId());
+        Assertions.assertEquals(List.of(ProjectOperationResultTo.ProjectOperationErrorTo.builder()
+            .failedProjectId(missingProjectId)
+            .errorCode(ProjectOperationErrorCode.YOU_ARE_NOT_A_MEMBER)
+            .build()), results.get(1).getErrors());
+
+        ProjectEntity projectEntity = projectRepository
+            .findById(updatableProjectId)
+            .orElseThrow(() -> new ClientApplicationException(BaseErrorCode.NOT_FOUND,
+                String.format("Проект с идентификатором %s не найден", updatableProjectId)));
+        Assertions.assertEquals("Batch Name", projectEntity.getName());
+        Assertions.assertEquals(3000, projectEntity.getPositionWeight());
+        Assertions.assertEquals(2, projectEntity.getUsers().size());
+    }
+
     /**
      * Оправить запрос на обновление проекта и получить ответ.
      *
@@ -243,4 +397,22 @@ public class ProjectUpdateIntegrationTest {
             .when()
             .put("/project");
     }
+
+    /**
+     * Оправить условный запрос на обновление проекта и получить ответ.
+     *
+     * @param updatedProject - обновленные данные проекта
+     * @param eTag           - entity tag версии, на которой основано изменение
+     * @return ответ
+     */
+    private Response updateProjectAndGetResponse(ProjectTo updatedProject, String eTag) {
+        return RestAssured
+            .given()
+            .contentType("application/json")
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .header(new Header(HttpHeaders.IF_MATCH, eTag))
+            .body(updatedProject)
+            .when()
+            .put("/project");
+    }
 }
@@ -0,0 +1,273 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.user.controller.PartialResponseAdvice;
+import heavenboards.project.service.user.service.UserBatchLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Тест объединения и повтора запросов в сервис пользователей.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+    "microservice.user-api.bulkhead.call-timeout=5s",
+    "microservice.user-api.hedge.enabled=true",
+    "microservice.user-api.hedge.min-delay=1s"
+})
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectUserApiCoalescingIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Количество одновременных запросов проекта.
+     */
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    /**
+     * Время ответа сервиса пользователей, меньше задержки повтора, в миллисекундах.
+     */
+    private static final long RESPONSE_MILLIS = 300;
+
+    /**
+     * Время ответа медленного первого вызова, больше задержки повтора, в миллисекундах.
+     */
+    private static final long SLOW_RESPONSE_MILLIS = 4_000;
+
+    /**
+     * Максимальное время ожидания аутентификации всех запросов, в миллисекундах.
+     */
+    private static final long AUTHENTICATION_TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * Имя второго пользователя, отправляющего запросы.
+     */
+    private static final String OTHER_USERNAME = "other";
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Реестр метрик.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест объединения одновременных запросов одних и тех же пользователей.
+     */
+    @Test
+    @DisplayName("Тест объединения одновременных запросов пользователей")
+    public void coalescedUsersTest() throws Exception {
+        mockRequestSender();
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> {
+                Thread.sleep(RESPONSE_MILLIS);
+                return users(invocation.getArgument(0));
+            });
+        double coalescedBefore = meterRegistry.counter(UserBatchLoader.COALESCED_METRIC).count();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ProjectTo>> projects = IntStream.range(0, CONCURRENT_REQUESTS)
+                .mapToObj(index -> clients.submit(() -> findProject().as(ProjectTo.class)))
+                .toList();
+            for (Future<ProjectTo> project : projects) {
+                Assertions.assertEquals(3, project.get().getUsers().size());
+            }
+        }
+
+        long calls = Mockito.mockingDetails(userApi).getInvocations().stream()
+            .filter(invocation -> invocation.getMethod().getName().equals("findUsersByIds"))
+            .count();
+        Assertions.assertTrue(calls < CONCURRENT_REQUESTS);
+        Assertions.assertTrue(
+            meterRegistry.counter(UserBatchLoader.COALESCED_METRIC).count() > coalescedBefore);
+    }
+
+    /**
+     * Тест объединения одновременных запросов разных пользователей.
+     */
+    @Test
+    @DisplayName("Тест объединения запросов разных пользователей")
+    public void callersMergedTest() throws Exception {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        UserTo otherSender = UserTo.builder()
+            .id(UUID.fromString("6cd9bb02-f8db-4e73-873d-485508e86fe9"))
+            .username(OTHER_USERNAME)
+            .build();
+        // Запросы по очереди аутентифицируются как два разных пользователя
+        CountDownLatch authenticated = new CountDownLatch(CONCURRENT_REQUESTS);
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenAnswer(invocation -> {
+                authenticated.countDown();
+                return authenticated.getCount() % 2 == 0 ? requestSender : otherSender;
+            });
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> {
+                authenticated.await(AUTHENTICATION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                Thread.sleep(RESPONSE_MILLIS);
+                return users(invocation.getArgument(0));
+            });
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ProjectTo>> projects = IntStream.range(0, CONCURRENT_REQUESTS)
+                .mapToObj(index -> clients.submit(() -> findProject().as(ProjectTo.class)))
+                .toList();
+            for (Future<ProjectTo> project : projects) {
+                Assertions.assertEquals(3, project.get().getUsers().size());
+            }
+        }
+
+        long calls = Mockito.mockingDetails(userApi).getInvocations().stream()
+            .filter(invocation -> invocation.getMethod().getName().equals("findUsersByIds"))
+            .count();
+        Assertions.assertEquals(1, calls);
+    }
+
+    /**
+     * Тест повторного запроса, если первый запрос отвечает дольше задержки повтора.
+     */
+    @Test
+    @DisplayName("Тест повторного запроса пользователей")
+    public void hedgedUsersTest() {
+        mockRequestSender();
+        AtomicInteger calls = new AtomicInteger();
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> {
+                if (calls.getAndIncrement() == 0) {
+                    Thread.sleep(SLOW_RESPONSE_MILLIS);
+                }
+                return users(invocation.getArgument(0));
+            });
+        double hedgedBefore = meterRegistry.counter(UserBatchLoader.HEDGED_METRIC).count();
+
+        Response response = findProject();
+        Assertions.assertTrue(response.getTime() < SLOW_RESPONSE_MILLIS);
+        Assertions.assertNull(response.getHeader(PartialResponseAdvice.PARTIAL_RESPONSE_HEADER));
+        Assertions.assertEquals(3, response.as(ProjectTo.class).getUsers().size());
+        Assertions.assertEquals(hedgedBefore + 1,
+            meterRegistry.counter(UserBatchLoader.HEDGED_METRIC).count());
+    }
+
+    /**
+     * Настроить пользователя, отправляющего запросы.
+     */
+    private void mockRequestSender() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+    }
+
+    /**
+     * Пользователи с запрошенными идентификаторами.
+     *
+     * @param ids - идентификаторы пользователей
+     * @return пользователи
+     */
+    private List<UserTo> users(final Collection<UUID> ids) {
+        return ids.stream()
+            .map(id -> UserTo.builder().id(id).username("user " + id).build())
+            .toList();
+    }
+
+    /**
+     * Получить проект из тестовых данных.
+     *
+     * @return ответ
+     */
+    private Response findProject() {
+        return findProject(securityTestUtil.authHeader());
+    }
+
+    /**
+     * Получить проект из тестовых данных от имени пользователя.
+     *
+     * @param authHeader - заголовок авторизации пользователя
+     * @return ответ
+     */
+    private Response findProject(final String authHeader) {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, authHeader))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response;
+    }
+}
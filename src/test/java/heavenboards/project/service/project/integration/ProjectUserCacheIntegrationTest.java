@@ -0,0 +1,188 @@
+package heavenboards.project.service.project.integration;
+
+import heavenboards.project.service.user.cache.UserCacheEndpoint;
+import heavenboards.project.service.user.dto.UserCacheStatsTo;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import security.service.util.test.SecurityTestUtil;
+import transfer.contract.api.UserApi;
+import transfer.contract.domain.project.ProjectTo;
+import transfer.contract.domain.user.UserTo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Тест локального кеша пользователей.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@RequiredArgsConstructor
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+    "microservice.user-api.cache.enabled=true",
+    "management.endpoints.web.exposure.include=" + UserCacheEndpoint.ID
+})
+@Sql(
+    scripts = "classpath:sql/project/createForUpdate.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+@Sql(
+    scripts = "classpath:sql/clear-all.sql",
+    executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD,
+    config = @SqlConfig(encoding = "UTF-8")
+)
+public class ProjectUserCacheIntegrationTest {
+    /**
+     * Идентификатор проекта из тестовых данных.
+     */
+    private static final UUID PROJECT_ID = UUID.fromString("f91b820e-7721-43ad-b188-1cbd6c0b9d42");
+
+    /**
+     * Идентификатор участника проекта, удаляемого из кеша.
+     */
+    private static final UUID INVALIDATED_USER_ID =
+        UUID.fromString("6cd9bb02-f8db-4e73-873d-485508e86fe9");
+
+    /**
+     * Utility-класс с настройкой security для тестов.
+     */
+    @Autowired
+    private SecurityTestUtil securityTestUtil;
+
+    /**
+     * Mock api-клиента для сервиса пользователей.
+     */
+    @MockBean
+    private UserApi userApi;
+
+    /**
+     * Порт приложения.
+     */
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Конфигурация перед тестами.
+     */
+    @BeforeAll
+    public void init() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost:" + port + "/api/v1";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    /**
+     * Тест загрузки из сервиса пользователей только отсутствующих в кеше пользователей.
+     */
+    @Test
+    @DisplayName("Тест загрузки только отсутствующих в кеше пользователей")
+    public void missingUsersLoadedTest() {
+        securityTestUtil.securityContextHelper();
+        UserTo requestSender = securityTestUtil.getAuthenticatedUser();
+        Mockito.when(userApi.findUserByUsername(requestSender.getUsername()))
+            .thenReturn(requestSender);
+        List<Set<UUID>> requestedIds = new CopyOnWriteArrayList<>();
+        Mockito.when(userApi.findUsersByIds(Mockito.any()))
+            .thenAnswer(invocation -> {
+                Collection<UUID> ids = invocation.getArgument(0);
+                requestedIds.add(Set.copyOf(ids));
+                return ids.stream()
+                    .map(id -> UserTo.builder().id(id).build())
+                    .toList();
+            });
+
+        Assertions.assertEquals(HttpStatus.NO_CONTENT.value(), RestAssured
+            .given()
+            .when()
+            .delete(endpointUrl())
+            .getStatusCode());
+
+        Assertions.assertEquals(3, findProject().getUsers().size());
+        Assertions.assertEquals(1, requestedIds.size());
+        Assertions.assertEquals(3, requestedIds.getFirst().size());
+
+        Assertions.assertEquals(3, findProject().getUsers().size());
+        Assertions.assertEquals(1, requestedIds.size());
+
+        Assertions.assertEquals(HttpStatus.NO_CONTENT.value(), RestAssured
+            .given()
+            .when()
+            .delete(endpointUrl() + "/" + INVALIDATED_USER_ID)
+            .getStatusCode());
+
+        Assertions.assertEquals(3, findProject().getUsers().size());
+        Assertions.assertEquals(2, requestedIds.size());
+        Assertions.assertEquals(Set.of(INVALIDATED_USER_ID), requestedIds.get(1));
+
+        UserCacheStatsTo stats = RestAssured
+            .given()
+            .when()
+            .get(endpointUrl())
+            .as(UserCacheStatsTo.class);
+        Assertions.assertEquals(3, stats.getSize());
+        Assertions.assertEquals(5, stats.getHitCount());
+        Assertions.assertEquals(4, stats.getMissCount());
+    }
+
+    /**
+     * Тест недоступности сброса кеша через api сервиса.
+     */
+    @Test
+    @DisplayName("Тест недоступности сброса кеша через api сервиса")
+    public void invalidationNotInApiTest() {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .delete("/user-cache");
+        Assertions.assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCode());
+    }
+
+    /**
+     * Получить проект из тестовых данных.
+     *
+     * @return проект
+     */
+    private ProjectTo findProject() {
+        Response response = RestAssured
+            .given()
+            .header(new Header(HttpHeaders.AUTHORIZATION, securityTestUtil.authHeader()))
+            .when()
+            .get("/project/" + PROJECT_ID);
+        Assertions.assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        return response.as(ProjectTo.class);
+    }
+
+    /**
+     * Адрес actuator-эндпоинта кеша пользователей.
+     *
+     * @return адрес эндпоинта
+     */
+    private String endpointUrl() {
+        return "http://localhost:" + port + "/actuator/" + UserCacheEndpoint.ID;
+    }
+}
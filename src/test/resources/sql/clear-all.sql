@@ -2,3 +2,6 @@
 
 TRUNCATE project_user_entity CASCADE;
 TRUNCATE project_entity CASCADE;
+TRUNCATE project_outbox;
+TRUNCATE project_change_log;
+TRUNCATE project_change_log_horizon;
@@ -0,0 +1,12 @@
+INSERT INTO project_entity(id, name, position_weight)
+VALUES ('f91b820e-7721-43ad-b188-1cbd6c0b9d42', 'godsystem', 1000),
+       ('dba22a9b-afe1-4002-8158-98d7d6585dfd', 'orpheus', 1001),
+       ('0c0e6d0a-3b53-4f1e-9a43-5ac0c6f1b8f3', 'aether', 2000);
+
+INSERT INTO project_user_entity(id, user_id, project_id)
+VALUES ('1933084d-5a6a-4437-a9a4-ccd3ece0bd15', '4b15db5a-d772-4826-aec7-2772fb036e1d',
+        'f91b820e-7721-43ad-b188-1cbd6c0b9d42'),
+       ('3c941789-3197-4928-a182-344116f24bdc', '4b15db5a-d772-4826-aec7-2772fb036e1d',
+        'dba22a9b-afe1-4002-8158-98d7d6585dfd'),
+       ('6f1c2d7e-8a4b-4c3d-9e5f-1a2b3c4d5e6f', '4b15db5a-d772-4826-aec7-2772fb036e1d',
+        '0c0e6d0a-3b53-4f1e-9a43-5ac0c6f1b8f3');
@@ -0,0 +1,10 @@
+INSERT INTO project_entity(id, name, position_weight)
+SELECT gen_random_uuid(), 'project ' || n, n * 1000
+FROM generate_series(1, 50) AS n;
+
+INSERT INTO project_user_entity(id, user_id, project_id)
+SELECT gen_random_uuid(), member.user_id, project.id
+FROM project_entity project
+         CROSS JOIN (VALUES ('4b15db5a-d772-4826-aec7-2772fb036e1d'::uuid),
+                            ('6cd9bb02-f8db-4e73-873d-485508e86fe9'::uuid),
+                            ('752b4e33-5f33-49e7-b21b-e5dda577e49a'::uuid)) AS member(user_id);